@@ -0,0 +1,153 @@
+package benchmark;
+
+import model.EventLog;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+// measures the throughput of operations in the style of JMH: each benchmark runs a number of timed warmup iterations
+// that are thrown away, then timed measurement iterations. Alongside the time, the bytes allocated by the benchmark
+// thread and the garbage collections during each iteration are recorded (like JMH's gc profiler), and all results
+// can be written as JSON in the layout of JMH's JSON result format, so runs can be compared with the same tools.
+public class BenchmarkRunner {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final int warmupIterations;
+    private final int iterations;
+    private final long iterationNanos;
+    private final JSONArray results;
+    private long sink;  // every operation result is added here, so the JIT can not remove the work as unused
+
+    // a unit of work to measure; it returns a value computed from the work, which the runner consumes
+    public interface Operation {
+        long run();
+    }
+
+    // REQUIRES: warmupIterations >= 0, iterations >= 1, iterationMillis >= 1
+    // EFFECTS: creates a runner that uses the given iteration counts and time per iteration for every benchmark
+    public BenchmarkRunner(int warmupIterations, int iterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.results = new JSONArray();
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: runs the warmup and measurement iterations of op, prints a summary line and records the result under
+    // name, with params describing the variant (e.g. which positions were used); returns the mean ops/s
+    public double run(String name, JSONObject params, Operation op) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iterate(op);
+        }
+        double[][] samples = new double[iterations][];
+        for (int i = 0; i < iterations; i++) {
+            samples[i] = iterate(op);
+        }
+        JSONObject result = toJson(name, params, samples);
+        results.put(result);
+        JSONObject score = result.getJSONObject("primaryMetric");
+        JSONObject alloc = result.getJSONObject("secondaryMetrics").getJSONObject("gc.alloc.rate.norm");
+        System.out.printf("%-45s %-20s %14.1f +- %10.1f ops/s %12.1f B/op%n", name, params.toString(),
+                score.getDouble("score"), score.getDouble("scoreError"), alloc.getDouble("score"));
+        return score.getDouble("score");
+    }
+
+    // EFFECTS: runs op repeatedly for one iteration and returns {ops per second, bytes allocated per op, collections,
+    // collection time in ms}. The event log is cleared afterwards, as board moves add to it.
+    private double[] iterate(Operation op) {
+        long bytes = allocatedBytes();
+        long[] gc = collections();
+        long ops = 0;
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long now;
+        do {
+            sink += op.run();
+            ops++;
+            now = System.nanoTime();
+        } while (now < deadline);
+        double seconds = (now - start) / 1e9;
+        double allocated = allocatedBytes() - bytes;
+        long[] gcAfter = collections();
+        EventLog.getInstance().clear();
+        return new double[] {ops / seconds, allocated / ops, gcAfter[0] - gc[0], gcAfter[1] - gc[1]};
+    }
+
+    // EFFECTS: returns the total number of bytes allocated by the current thread so far
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // EFFECTS: returns {number of collections, total collection time in ms} of all garbage collectors so far
+    private static long[] collections() {
+        long[] total = new long[2];
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total[0] += Math.max(gc.getCollectionCount(), 0);
+            total[1] += Math.max(gc.getCollectionTime(), 0);
+        }
+        return total;
+    }
+
+    // EFFECTS: returns the result of a benchmark in the layout of a JMH JSON result entry
+    private JSONObject toJson(String name, JSONObject params, double[][] samples) {
+        JSONObject result = new JSONObject();
+        result.put("benchmark", name);
+        result.put("mode", "thrpt");
+        result.put("threads", 1);
+        result.put("warmupIterations", warmupIterations);
+        result.put("measurementIterations", iterations);
+        result.put("measurementTime", iterationNanos / 1_000_000L + " ms");
+        result.put("params", params);
+        JSONArray raw = new JSONArray();
+        for (double[] sample : samples) {
+            raw.put(sample[0]);
+        }
+        JSONObject primary = metric(samples, 0, "ops/s");
+        primary.put("rawData", new JSONArray().put(raw));
+        result.put("primaryMetric", primary);
+        JSONObject secondary = new JSONObject();
+        secondary.put("gc.alloc.rate.norm", metric(samples, 1, "B/op"));
+        secondary.put("gc.count", metric(samples, 2, "counts"));
+        secondary.put("gc.time", metric(samples, 3, "ms"));
+        result.put("secondaryMetrics", secondary);
+        return result;
+    }
+
+    // EFFECTS: returns the mean of column of samples with the half width of its 99.9% confidence interval (normal
+    // approximation) as the error
+    private static JSONObject metric(double[][] samples, int column, String unit) {
+        double sum = 0;
+        double squares = 0;
+        for (double[] sample : samples) {
+            sum += sample[column];
+            squares += sample[column] * sample[column];
+        }
+        int n = samples.length;
+        double mean = sum / n;
+        double variance = n > 1 ? Math.max(squares - n * mean * mean, 0) / (n - 1) : 0;
+        JSONObject metric = new JSONObject();
+        metric.put("score", mean);
+        metric.put("scoreError", 3.29 * Math.sqrt(variance / n));
+        metric.put("scoreUnit", unit);
+        return metric;
+    }
+
+    // EFFECTS: writes the results of every benchmark run so far to file as a JSON array
+    public void writeJson(String file) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(results.toString(2));
+        }
+    }
+
+    // EFFECTS: returns the sum of all operation results, so that callers can print it and keep the work observable
+    public long getSink() {
+        return sink;
+    }
+}
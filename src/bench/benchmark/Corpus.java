@@ -0,0 +1,94 @@
+package benchmark;
+
+import model.EventLog;
+import model.GameBoard;
+import model.MoveGenerator;
+import model.MoveList;
+import model.exceptions.InvalidFenException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// fixed sets of positions the benchmarks run over, grouped by phase of the game. The positions never change between
+// runs, so results of different runs can be compared.
+public final class Corpus {
+    public static final String[] PHASES = {"opening", "middlegame", "endgame"};
+
+    private static final long GAME_SEED = 0x2545F4914F6CDD1DL;
+
+    private static final String[] OPENING = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3",
+            "rnbqkb1r/pp2pppp/3p1n2/8/3NP3/8/PPP2PPP/RNBQKB1R w KQkq - 1 5",
+            "rnbqkb1r/ppp2ppp/4pn2/3p2B1/2PP4/2N5/PP2PPPP/R2QKBNR b KQkq - 3 4"
+    };
+    private static final String[] MIDDLEGAME = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+            "r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N2N2/PP2BPPP/R2QKB1R w KQ - 0 9",
+            "2rq1rk1/pb1nbppp/1p2pn2/2pp4/2PP4/1P2PN2/PB1NBPPP/2RQ1RK1 w - - 2 11"
+    };
+    private static final String[] ENDGAME = {
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "8/5pk1/6p1/8/3R4/6P1/5PK1/3r4 w - - 0 40",
+            "8/8/1p6/p1p2k2/P1P5/1P3K2/8/8 b - - 0 45",
+            "8/8/4k3/8/2K5/8/3P4/8 w - - 0 60"
+    };
+
+    private Corpus() {}
+
+    // REQUIRES: phase is one of PHASES
+    // EFFECTS: returns a new board for every position of phase
+    public static GameBoard[] boards(String phase) {
+        String[] fens = phase.equals("opening") ? OPENING : phase.equals("middlegame") ? MIDDLEGAME : ENDGAME;
+        GameBoard[] boards = new GameBoard[fens.length];
+        try {
+            for (int i = 0; i < fens.length; i++) {
+                boards[i] = GameBoard.fromFen(fens[i]);
+            }
+        } catch (InvalidFenException e) {
+            throw new IllegalStateException("Corpus position is not valid FEN", e);
+        }
+        return boards;
+    }
+
+    // EFFECTS: returns the moves of a game of at most plies plies from the starting position, where every move is
+    // picked from the legal moves by a fixed pseudo-random sequence, so the game is the same in every run. The game
+    // ends early if the side to move has no legal move. Pawns always promote into queens.
+    public static MoveList game(int plies) {
+        return game(plies, GAME_SEED);
+    }
+
+    // REQUIRES: start != 0
+    // EFFECTS: returns the game of game(plies), with moves picked by the pseudo-random sequence starting at start
+    private static MoveList game(int plies, long start) {
+        GameBoard board = new GameBoard();
+        MoveList result = new MoveList();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        long seed = start;
+        for (int i = 0; i < plies; i++) {
+            int count = MoveGenerator.generate(board, moves);
+            if (count == 0) {
+                break;
+            }
+            seed ^= seed << 13;  // xorshift
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            int move = moves[(int) Long.remainderUnsigned(seed, count)];
+            board.movePiece(MoveGenerator.start(move), MoveGenerator.end(move));
+            result.addMove(board.getLastMove());
+        }
+        EventLog.getInstance().clear();
+        return result;
+    }
+
+    // EFFECTS: returns count different games of at most plies plies each, made as by game(plies) with a different
+    // pseudo-random sequence for each
+    public static List<MoveList> games(int count, int plies) {
+        List<MoveList> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(game(plies, GAME_SEED + i));
+        }
+        return result;
+    }
+}
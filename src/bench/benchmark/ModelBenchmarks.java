@@ -0,0 +1,127 @@
+package benchmark;
+
+import model.GameBoard;
+import model.Move;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Piece;
+import model.Position;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// benchmarks of the model methods the user interface calls for every click and move, each run over every phase of
+// the fixed Corpus. One operation is one pass over all positions of a phase.
+// usage: ModelBenchmarks [output file, default bench-results.json] [quick]
+// "quick" uses short iterations, to check that the benchmarks run rather than to measure them.
+public class ModelBenchmarks {
+
+    // EFFECTS: runs every benchmark on every phase and writes the results as JSON
+    public static void main(String[] args) throws IOException {
+        String output = args.length > 0 ? args[0] : "bench-results.json";
+        boolean quick = args.length > 1 && args[1].equals("quick");
+        BenchmarkRunner runner = quick ? new BenchmarkRunner(1, 2, 100) : new BenchmarkRunner(5, 5, 1000);
+        for (String phase : Corpus.PHASES) {
+            JSONObject params = new JSONObject().put("corpus", phase);
+            GameBoard[] boards = Corpus.boards(phase);
+            List<int[]> moves = movesOf(boards);
+            List<Move> played = playedMoves(boards, moves);
+            runner.run("model.Piece.getLegalMoves", params, () -> legalMoves(boards));
+            runner.run("model.GameBoard.isCheck", params, () -> checks(boards));
+            runner.run("model.GameBoard.movePiece", params, () -> moveAndUndo(boards, moves));
+            runner.run("model.GameBoard.checkStatus", params, () -> statuses(boards));
+            runner.run("model.MoveList.toNotation", params, () -> notation(played));
+        }
+        runner.writeJson(output);
+        System.out.println("Results written to " + output + " (checksum " + runner.getSink() + ")");
+    }
+
+    // EFFECTS: returns the total number of legal moves of every piece of the side to move, found one piece at a time
+    // as the user interface does when a piece is selected
+    private static long legalMoves(GameBoard[] boards) {
+        long total = 0;
+        for (GameBoard board : boards) {
+            for (int square = 0; square < 64; square++) {
+                Piece piece = board.getPiece(square);
+                if (piece != null && piece.getAllegiance().equals(board.getTurn())) {
+                    total += piece.getLegalMoves(board).size();
+                }
+            }
+        }
+        return total;
+    }
+
+    // EFFECTS: returns the number of boards whose side to move is in check
+    private static long checks(GameBoard[] boards) {
+        long total = 0;
+        for (GameBoard board : boards) {
+            total += board.isCheck() ? 1 : 0;
+        }
+        return total;
+    }
+
+    // MODIFIES: boards (restored before returning)
+    // EFFECTS: plays and takes back every move of moves on its board; returns the number of moves made
+    private static long moveAndUndo(GameBoard[] boards, List<int[]> moves) {
+        long total = 0;
+        for (int[] move : moves) {
+            GameBoard board = boards[move[0]];
+            if (board.movePiece(move[1], move[2])) {
+                total++;
+                board.undo();
+            }
+        }
+        return total;
+    }
+
+    // MODIFIES: boards
+    // EFFECTS: returns the number of boards where the game is over
+    private static long statuses(GameBoard[] boards) {
+        long total = 0;
+        for (GameBoard board : boards) {
+            total += board.checkStatus() ? 1 : 0;
+        }
+        return total;
+    }
+
+    // EFFECTS: returns the total length of the notation of every move
+    private static long notation(List<Move> played) {
+        long total = 0;
+        for (Move move : played) {
+            total += MoveList.toNotation(move).length();
+        }
+        return total;
+    }
+
+    // EFFECTS: returns every legal move of every board as {board index, start, end}, with promotions only once as
+    // movePiece always promotes into a queen
+    private static List<int[]> movesOf(GameBoard[] boards) {
+        List<int[]> result = new ArrayList<>();
+        int[] buffer = new int[MoveGenerator.MAX_MOVES];
+        for (int i = 0; i < boards.length; i++) {
+            int count = MoveGenerator.generate(boards[i], buffer);
+            for (int j = 0; j < count; j++) {
+                int promotion = MoveGenerator.promotion(buffer[j]);
+                if (promotion == 0 || promotion == Position.QUEEN) {
+                    result.add(new int[] {i, MoveGenerator.start(buffer[j]), MoveGenerator.end(buffer[j])});
+                }
+            }
+        }
+        return result;
+    }
+
+    // MODIFIES: boards (restored before returning)
+    // EFFECTS: returns the Move objects made by playing each move of moves on its board
+    private static List<Move> playedMoves(GameBoard[] boards, List<int[]> moves) {
+        List<Move> result = new ArrayList<>();
+        for (int[] move : moves) {
+            GameBoard board = boards[move[0]];
+            board.movePiece(move[1], move[2]);
+            result.add(board.getLastMove());
+            board.undo();
+        }
+        return result;
+    }
+}
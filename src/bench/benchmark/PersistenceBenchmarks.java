@@ -0,0 +1,253 @@
+package benchmark;
+
+import model.AlgebraicNotation;
+import model.GameBoard;
+import model.Move;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Piece;
+import model.Position;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import persistence.BinaryArchive;
+import persistence.BinaryConverter;
+import persistence.JsonConverter;
+import persistence.MoveIndexDecoder;
+import persistence.MoveIndexEncoder;
+import persistence.PgnReader;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+// benchmarks of reading saved games, over fixed games of the Corpus of several lengths saved to temporary files.
+// The streaming reads of JsonConverter are measured next to a read that builds the whole JSON tree with org.json
+// first, which is how games were read before, and next to the binary format of BinaryConverter; the bytes allocated
+// per operation show the memory each needs. Opening the last game of a binary archive of ARCHIVE_GAMES games shows
+// that the index finds a game without reading the others. Writing and reading many different games with the move
+// index codec of MoveIndexEncoder is measured in games per second, next to the bits per move it takes, and reading
+// a PGN file of many games with PgnReader in games and megabytes per second.
+// usage: PersistenceBenchmarks [output file, default persistence-results.json] [quick]
+public class PersistenceBenchmarks {
+    private static final int[] PLIES = {40, 120, 400};
+    private static final int ARCHIVE_GAMES = 10000;
+    private static final int CODEC_GAMES = 200;
+    private static final int CODEC_PLIES = 120;
+    private static final int PGN_GAMES = 2000;
+
+    // EFFECTS: runs every benchmark on a saved game of each length and writes the results as JSON
+    public static void main(String[] args) throws IOException {
+        String output = args.length > 0 ? args[0] : "persistence-results.json";
+        boolean quick = args.length > 1 && args[1].equals("quick");
+        BenchmarkRunner runner = quick ? new BenchmarkRunner(1, 2, 100) : new BenchmarkRunner(5, 5, 1000);
+        for (int plies : PLIES) {
+            runGame(runner, Corpus.game(plies));
+        }
+        runCodec(runner);
+        runPgn(runner);
+        runner.writeJson(output);
+        System.out.println("Results written to " + output + " (checksum " + runner.getSink() + ")");
+    }
+
+    // MODIFIES: runner
+    // EFFECTS: measures reading game saved as JSON, as a binary file and as the last game of a binary archive
+    private static void runGame(BenchmarkRunner runner, MoveList game) throws IOException {
+        String path = tempFile(".json");
+        String binary = tempFile(".bin");
+        JsonConverter.saveMoveList(game, path);
+        BinaryConverter.saveMoveList(game, binary);
+        JSONObject params = new JSONObject().put("plies", game.getSize()).put("bytes", new File(path).length());
+        runner.run("persistence.JsonConverter.getMoveList", params, () -> streamMoves(path));
+        runner.run("persistence.JsonConverter.getNotationList", params, () -> streamNotation(path));
+        runner.run("org.json.JSONObject.moves", params, () -> treeMoves(path));
+        params.put("bytes", new File(binary).length());
+        runner.run("persistence.BinaryArchive.getMoveList", params, () -> binaryMoves(binary, 0));
+        String archive = tempFile(".bin");
+        BinaryConverter.saveGames(Collections.nCopies(ARCHIVE_GAMES, game), archive);
+        params.put("bytes", new File(archive).length()).put("games", ARCHIVE_GAMES);
+        runner.run("persistence.BinaryArchive.getMoves", params, () -> archiveMoves(archive, ARCHIVE_GAMES - 1));
+    }
+
+    // MODIFIES: runner
+    // EFFECTS: measures writing and reading CODEC_GAMES different games with the move index codec, and prints the
+    // games per second and bits per move
+    private static void runCodec(BenchmarkRunner runner) {
+        List<MoveList> games = Corpus.games(CODEC_GAMES, CODEC_PLIES);
+        long plies = games.stream().mapToLong(MoveList::getSize).sum();
+        byte[] encoded = encodeGames(games);
+        double bits = 8.0 * encoded.length / plies;
+        JSONObject params = new JSONObject().put("games", CODEC_GAMES).put("plies", plies)
+                .put("bytes", encoded.length).put("bitsPerMove", bits);
+        double writes = runner.run("persistence.MoveIndexEncoder.writeGame", params, () -> encodeGames(games).length);
+        double reads = runner.run("persistence.MoveIndexDecoder.readMoves", params, () -> decodeMoves(encoded));
+        double lists = runner.run("persistence.MoveIndexDecoder.readGame", params, () -> decodeGames(encoded));
+        System.out.printf("move index codec: %.2f bits/move; games/s: %.0f written, %.0f read, %.0f read as move "
+                + "lists%n", bits, writes * CODEC_GAMES, reads * CODEC_GAMES, lists * CODEC_GAMES);
+    }
+
+    // MODIFIES: runner
+    // EFFECTS: measures reading a PGN file of PGN_GAMES different games with PgnReader, and prints the games and
+    // megabytes per second
+    private static void runPgn(BenchmarkRunner runner) throws IOException {
+        String path = tempFile(".pgn");
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+            int number = 0;
+            for (MoveList game : Corpus.games(PGN_GAMES, CODEC_PLIES)) {
+                out.write("[Event \"Corpus\"]\n[Round \"" + ++number + "\"]\n[Result \"*\"]\n\n");
+                out.write(movetext(game) + " *\n\n");
+            }
+        }
+        long bytes = new File(path).length();
+        JSONObject params = new JSONObject().put("games", PGN_GAMES).put("bytes", bytes);
+        double reads = runner.run("persistence.PgnReader.next", params, () -> readPgn(path));
+        System.out.printf("PGN: %.0f games/s, %.1f MB/s%n", reads * PGN_GAMES, reads * bytes / (1 << 20));
+    }
+
+    // EFFECTS: returns the moves of game as PGN movetext in SAN, played from the starting position
+    private static String movetext(MoveList game) {
+        GameBoard board = new GameBoard();
+        StringBuilder text = new StringBuilder();
+        for (Move m : game.getMoveList()) {
+            boolean promotes = m.getPiece().getName().equals("P") && (m.getEnd() < 8 || m.getEnd() >= 56);
+            int move = MoveGenerator.encode(m.getStart(), m.getEnd(), promotes ? Position.QUEEN : 0);
+            text.append(board.getTurn().equals("W") ? board.getFullmoveNumber() + ". " : "")
+                    .append(AlgebraicNotation.toSan(board, move)).append(' ');
+            board.makeMove(move);
+        }
+        return text.toString().trim();
+    }
+
+    // EFFECTS: reads every game of the PGN file in path and returns how many moves they have
+    private static long readPgn(String path) {
+        try (PgnReader reader = PgnReader.open(path)) {
+            long moves = 0;
+            while (reader.hasNext()) {
+                moves += reader.next().getSize();
+            }
+            return moves;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // EFFECTS: returns games written in memory with a MoveIndexEncoder
+    private static byte[] encodeGames(List<MoveList> games) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MoveIndexEncoder encoder = new MoveIndexEncoder(out)) {
+            for (MoveList game : games) {
+                encoder.writeGame(game);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // EFFECTS: reads the encoded moves of every game of encoded with a MoveIndexDecoder and returns their sum
+    private static long decodeMoves(byte[] encoded) {
+        long sum = 0;
+        try (MoveIndexDecoder decoder = new MoveIndexDecoder(new ByteArrayInputStream(encoded))) {
+            for (int[] game = decoder.readMoves(); game != null; game = decoder.readMoves()) {
+                for (int move : game) {
+                    sum += move;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sum;
+    }
+
+    // EFFECTS: reads the move list of every game of encoded with a MoveIndexDecoder and returns how many moves
+    // they have
+    private static long decodeGames(byte[] encoded) {
+        long moves = 0;
+        try (MoveIndexDecoder decoder = new MoveIndexDecoder(new ByteArrayInputStream(encoded))) {
+            for (MoveList game = decoder.readGame(); game != null; game = decoder.readGame()) {
+                moves += game.getSize();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return moves;
+    }
+
+    // EFFECTS: returns the path of a new temporary file with suffix, which is deleted when the program ends
+    private static String tempFile(String suffix) throws IOException {
+        File file = File.createTempFile("game", suffix);
+        file.deleteOnExit();
+        return file.getPath();
+    }
+
+    // EFFECTS: opens the binary file in path, replays its game number game and returns how many moves it has
+    private static long binaryMoves(String path, int game) {
+        try {
+            return new BinaryArchive(path).getMoveList(game).getSize();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // EFFECTS: opens the binary file in path, reads the encoded moves of its game number game and returns their sum
+    private static long archiveMoves(String path, int game) {
+        try {
+            long sum = 0;
+            for (int move : new BinaryArchive(path).getMoves(game)) {
+                sum += move;
+            }
+            return sum;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // EFFECTS: reads the moves saved in path with JsonConverter and returns how many there are
+    private static long streamMoves(String path) {
+        try {
+            return JsonConverter.getMoveList(path).getSize();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // EFFECTS: reads the notation saved in path with JsonConverter and returns how many moves it has
+    private static long streamNotation(String path) {
+        try {
+            return JsonConverter.getNotationList(path).size();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // EFFECTS: reads the moves saved in path by parsing the whole file into a JSON tree first, and returns how many
+    // there are
+    private static long treeMoves(String path) {
+        try {
+            String text = new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+            JSONArray moves = new JSONObject(text).getJSONArray("moves");
+            MoveList result = new MoveList();
+            for (int i = 0; i < moves.length(); i++) {
+                JSONObject move = moves.getJSONObject(i);
+                Piece captured = move.isNull("captured") ? null : toPiece(move.getJSONObject("captured"));
+                result.addMove(new Move(toPiece(move.getJSONObject("piece")), move.getInt("start"),
+                        move.getInt("end"), move.getBoolean("check"), captured));
+            }
+            return result.getSize();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // EFFECTS: returns the piece saved in json
+    private static Piece toPiece(JSONObject json) {
+        return Piece.createPiece(json.getString("allegiance"), json.getInt("position"), json.getBoolean("moved"),
+                json.getString("type"));
+    }
+}
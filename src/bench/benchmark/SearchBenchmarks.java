@@ -0,0 +1,58 @@
+package benchmark;
+
+import engine.ParallelSearch;
+import engine.SearchLimits;
+import model.GameBoard;
+import org.json.JSONObject;
+
+import java.io.IOException;
+
+// time-to-depth scaling of ParallelSearch: every position of the Corpus is searched to a fixed depth with 1, 2, 4, ...
+// threads, starting from an empty transposition table each time. One operation is one search of every position of a
+// phase, so the time to depth is 1 / (ops/s), and the speedup of n threads is their ops/s over that of one thread.
+// usage: SearchBenchmarks [output file, default search-results.json] [max threads, default all processors] [quick]
+// "quick" searches less deep with short iterations, to check that the benchmark runs rather than to measure it.
+public class SearchBenchmarks {
+    private static final int DEPTH = 6;
+    private static final int QUICK_DEPTH = 3;
+
+    // EFFECTS: runs the time-to-depth benchmark for every thread count and phase and writes the results as JSON
+    public static void main(String[] args) throws IOException {
+        String output = args.length > 0 ? args[0] : "search-results.json";
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        boolean quick = args.length > 2 && args[2].equals("quick");
+        int depth = quick ? QUICK_DEPTH : DEPTH;
+        BenchmarkRunner runner = quick ? new BenchmarkRunner(0, 1, 1) : new BenchmarkRunner(1, 3, 1);
+        for (String phase : Corpus.PHASES) {
+            GameBoard[] boards = Corpus.boards(phase);
+            double single = 0;
+            for (int threads = 1; threads <= maxThreads; threads = nextThreads(threads, maxThreads)) {
+                JSONObject params = new JSONObject().put("corpus", phase).put("threads", threads).put("depth", depth);
+                ParallelSearch search = new ParallelSearch(threads);
+                double score = runner.run("engine.ParallelSearch.timeToDepth", params,
+                        () -> searchAll(search, boards, depth));
+                single = threads == 1 ? score : single;
+                System.out.printf("  %s, %d threads: %.1f ms to depth %d, speedup %.2f%n", phase, threads,
+                        1000 / score, depth, score / single);
+            }
+        }
+        runner.writeJson(output);
+        System.out.println("Results written to " + output + " (checksum " + runner.getSink() + ")");
+    }
+
+    // EFFECTS: returns the thread count to measure after threads: the next power of two, or maxThreads itself if it
+    // lies between; a count above maxThreads once maxThreads has been measured
+    private static int nextThreads(int threads, int maxThreads) {
+        return threads < maxThreads ? Math.min(threads * 2, maxThreads) : maxThreads + 1;
+    }
+
+    // EFFECTS: searches every board to depth from an empty transposition table and returns the nodes searched
+    private static long searchAll(ParallelSearch search, GameBoard[] boards, int depth) {
+        long nodes = 0;
+        for (GameBoard board : boards) {
+            search.getTable().clear();
+            nodes += search.search(board, SearchLimits.depth(depth)).getNodes();
+        }
+        return nodes;
+    }
+}
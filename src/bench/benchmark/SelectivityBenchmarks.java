@@ -0,0 +1,71 @@
+package benchmark;
+
+import engine.Search;
+import engine.SearchLimits;
+import engine.SearchOptions;
+import engine.TranspositionTable;
+import model.GameBoard;
+import org.json.JSONObject;
+
+import java.io.IOException;
+
+// node counts and time to depth of a single-threaded Search with each selective search feature on its own, none and
+// all of them, over the positions of the Corpus. The node count of a search to a fixed depth does not depend on the
+// machine, so it shows what each feature prunes; the time shows whether the pruning pays for its own cost. One
+// operation is one search of every position of a phase, each from an empty transposition table.
+// usage: SelectivityBenchmarks [output file, default selectivity-results.json] [quick]
+public class SelectivityBenchmarks {
+    private static final int DEPTH = 7;
+    private static final int QUICK_DEPTH = 3;
+
+    private static final String[] NAMES = {"none", "nullMove", "reductions", "checkExtensions", "all"};
+    private static final SearchOptions[] OPTIONS = {
+            SearchOptions.none(),
+            new SearchOptions(true, false, false),
+            new SearchOptions(false, true, false),
+            new SearchOptions(false, false, true),
+            SearchOptions.all()
+    };
+
+    // EFFECTS: runs the benchmark for every set of options and phase and writes the results as JSON
+    public static void main(String[] args) throws IOException {
+        String output = args.length > 0 ? args[0] : "selectivity-results.json";
+        boolean quick = args.length > 1 && args[1].equals("quick");
+        int depth = quick ? QUICK_DEPTH : DEPTH;
+        BenchmarkRunner runner = quick ? new BenchmarkRunner(0, 1, 1) : new BenchmarkRunner(1, 3, 1);
+        for (String phase : Corpus.PHASES) {
+            GameBoard[] boards = Corpus.boards(phase);
+            for (int i = 0; i < OPTIONS.length; i++) {
+                measure(runner, phase, boards, i, depth);
+            }
+        }
+        runner.writeJson(output);
+        System.out.println("Results written to " + output + " (checksum " + runner.getSink() + ")");
+    }
+
+    // MODIFIES: runner
+    // EFFECTS: counts the nodes and measures the time a search using OPTIONS[option] takes to search boards of phase
+    // to depth, and prints both
+    private static void measure(BenchmarkRunner runner, String phase, GameBoard[] boards, int option, int depth) {
+        TranspositionTable table = new TranspositionTable(TranspositionTable.DEFAULT_MB);
+        Search search = new Search(table);
+        search.setOptions(OPTIONS[option]);
+        long nodes = searchAll(search, table, boards, depth);
+        JSONObject params = new JSONObject().put("corpus", phase).put("options", NAMES[option]).put("depth", depth);
+        double score = runner.run("engine.Search.selectivity", params, () -> searchAll(search, table, boards, depth));
+        System.out.printf("  %s, %s: %d nodes, %.1f ms to depth %d%n", phase, NAMES[option], nodes, 1000 / score,
+                depth);
+    }
+
+    // MODIFIES: table
+    // EFFECTS: searches every board to depth with search, which uses table, from an empty table each time, and returns
+    // the nodes searched
+    private static long searchAll(Search search, TranspositionTable table, GameBoard[] boards, int depth) {
+        long nodes = 0;
+        for (GameBoard board : boards) {
+            table.clear();
+            nodes += search.search(board, SearchLimits.depth(depth)).getNodes();
+        }
+        return nodes;
+    }
+}
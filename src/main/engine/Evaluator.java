@@ -0,0 +1,43 @@
+package engine;
+
+import model.GameBoard;
+import model.PieceSquareTables;
+import model.Position;
+import model.StaticExchange;
+
+// utility class that scores positions for the search, in centipawns from the point of view of the side to move.
+// The score is material and piece placement by PieceSquareTables, which the Position of the board keeps up to date
+// with every move, plus the PawnStructure score, blended from the middlegame score to the endgame score as pieces come
+// off the board.
+public final class Evaluator {
+    private Evaluator() {}
+
+    // EFFECTS: returns the score of board for the side to move
+    public static int evaluate(GameBoard board) {
+        return evaluate(board, PawnStructure.evaluate(board.getPosition()));
+    }
+
+    // MODIFIES: pawns
+    // EFFECTS: returns the score of board for the side to move, looking up its pawn structure in pawns
+    public static int evaluate(GameBoard board, PawnTable pawns) {
+        return evaluate(board, pawns.probe(board.getPosition()));
+    }
+
+    // EFFECTS: returns the score of board for the side to move, given the packed score of its pawn structure
+    private static int evaluate(GameBoard board, long pawnScore) {
+        Position p = board.getPosition();
+        int middlegame = p.middlegameScore() + PawnStructure.middlegame(pawnScore);
+        int endgame = p.endgameScore() + PawnStructure.endgame(pawnScore);
+        int phase = Math.min(p.phase(), PieceSquareTables.MAX_PHASE);
+        int score = (middlegame * phase + endgame * (PieceSquareTables.MAX_PHASE - phase))
+                / PieceSquareTables.MAX_PHASE;
+        return board.getTurn().equals("W") ? score : -score;
+    }
+
+    // REQUIRES: type is one of Position.PAWN to Position.KING
+    // EFFECTS: returns the material value of a piece type in centipawns: that of StaticExchange, so captures are
+    // ordered and pruned by the same values, except 0 for kings, which are never traded
+    public static int value(int type) {
+        return type == Position.KING ? 0 : StaticExchange.value(type);
+    }
+}
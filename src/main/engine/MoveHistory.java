@@ -0,0 +1,60 @@
+package engine;
+
+import model.MoveGenerator;
+
+// what a search has learned about quiet moves, to try the good ones first: the killer moves of each ply (the last two
+// quiet moves that caused a cutoff at that ply, which often refute the sibling positions too) and the history
+// heuristic (how often and how deep each quiet move, by side, start and end square, caused a cutoff anywhere).
+// Every search thread keeps its own MoveHistory.
+public class MoveHistory {
+    private static final int KILLERS = 2;  // killer moves kept per ply
+    private static final int MAX_SCORE = 1 << 24;  // history scores are halved before any reaches this
+
+    private final int[][] killers = new int[Search.MAX_PLY][KILLERS];
+    private final int[] history = new int[2 * 64 * 64];  // by colour, start square and end square
+
+    // REQUIRES: 0 <= ply < Search.MAX_PLY, 0 <= slot < 2
+    // EFFECTS: returns killer move number slot of ply, most recent first, or 0 if there is none
+    public int killer(int ply, int slot) {
+        return killers[ply][slot];
+    }
+
+    // EFFECTS: returns the history score of move played by colour; higher scores caused more and deeper cutoffs
+    public int score(int colour, int move) {
+        return history[index(colour, move)];
+    }
+
+    // REQUIRES: move is a quiet move that caused a cutoff at ply, searched depth plies deep, played by colour
+    // MODIFIES: this
+    // EFFECTS: makes move the first killer of ply and raises its history score by depth squared, so moves that
+    // refute deep searches count for more than those found near the leaves
+    public void reward(int colour, int move, int ply, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = index(colour, move);
+        history[index] += depth * depth;
+        if (history[index] >= MAX_SCORE) {
+            age();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: forgets the killer moves and halves every history score, so that what was learned in earlier searches
+    // still counts but gives way to what is learned in the next one
+    public void age() {
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = 0;
+            plyKillers[1] = 0;
+        }
+        for (int i = 0; i < history.length; i++) {
+            history[i] >>= 1;
+        }
+    }
+
+    // EFFECTS: returns the index of move played by colour in history
+    private static int index(int colour, int move) {
+        return colour << 12 | MoveGenerator.end(move) << 6 | MoveGenerator.start(move);
+    }
+}
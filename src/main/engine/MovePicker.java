@@ -0,0 +1,156 @@
+package engine;
+
+import model.GameBoard;
+import model.MoveGenerator;
+import model.Position;
+import model.StaticExchange;
+
+// hands out the legal moves of a position one at a time, best guesses first, in stages: the move the transposition
+// table remembers as best, then captures by MVV-LVA (most valuable victim first, and of those, least valuable attacker
+// first), then the killer moves of the ply, then the other quiet moves by history score. Each stage's moves are only
+// generated once the stage is reached, and sorted lazily by picking the best remaining move each time, so a cutoff by
+// an early move saves generating and sorting the rest. Moves from other positions (the table move and the killers)
+// are checked to be legal here first. The quiescence search only asks for the captures that do not lose material.
+public class MovePicker {
+    // stages, in the order they are played
+    private static final int TABLE_MOVE = 0;
+    private static final int CAPTURES = 1;
+    private static final int KILLERS = 2;
+    private static final int QUIETS = 3;
+
+    private static final int VICTIM_WEIGHT = 8;  // more than the attacker types, so victims always sort first
+
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private final int[] scores = new int[MoveGenerator.MAX_MOVES];
+    private final int[] killers = new int[2];  // killers handed out, to leave out of the quiet moves
+    private GameBoard board;
+    private MoveHistory history;
+    private int ply;
+    private int tableMove;  // 0 if there is none or it is not legal
+    private int stage;
+    private int lastStage;  // QUIETS, or CAPTURES if only captures are wanted
+    private int count;  // number of moves of the current stage in moves
+    private int index;  // position in the current stage
+
+    // MODIFIES: this
+    // EFFECTS: starts handing out the moves of board, at ply of a search that learned history; tableMove is the move
+    // stored as best for the position, or 0 if there is none. board must not change while the picker is used, other
+    // than by playing a move and taking it back between calls to next.
+    public void init(GameBoard board, int tableMove, MoveHistory history, int ply) {
+        this.board = board;
+        this.history = history;
+        this.ply = ply;
+        this.tableMove = tableMove != 0 && MoveGenerator.isLegal(board, tableMove) ? tableMove : 0;
+        killers[0] = 0;
+        killers[1] = 0;
+        stage = TABLE_MOVE;
+        lastStage = QUIETS;
+        index = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts handing out only the captures of board (as MoveGenerator.generateCaptures defines them), most
+    // valuable victim first, leaving out those that lose material by static exchange evaluation
+    public void initCaptures(GameBoard board) {
+        init(board, 0, null, 0);
+        lastStage = CAPTURES;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next move, encoded as by MoveGenerator, or 0 once every legal move was handed out. Every
+    // legal move is handed out exactly once.
+    public int next() {
+        while (stage <= lastStage) {
+            int move = stage == TABLE_MOVE ? nextTableMove() : stage == KILLERS ? nextKiller() : nextBest();
+            if (move != 0) {
+                return move;
+            }
+            stage++;
+            index = 0;
+            if (stage == CAPTURES) {
+                count = MoveGenerator.generateCaptures(board, moves);
+                scoreCaptures();
+            } else if (stage == QUIETS) {
+                count = MoveGenerator.generateQuiets(board, moves);
+                scoreQuiets();
+            }
+        }
+        return 0;
+    }
+
+    // EFFECTS: returns true if the move next last handed out is one of the quiet moves sorted by history score, the
+    // moves the picker thinks least likely to be best: not the table move, a capture or a killer
+    public boolean isLateMove() {
+        return stage == QUIETS;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the table move the first time it is called in the stage, then 0
+    private int nextTableMove() {
+        return index++ == 0 ? tableMove : 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next killer move of the ply that is legal and quiet here and is not the table move, or 0
+    private int nextKiller() {
+        while (index < killers.length) {
+            int killer = history.killer(ply, index);
+            if (killer != 0 && killer != tableMove && killer != killers[0] && MoveGenerator.isLegal(board, killer)
+                    && MoveGenerator.isQuiet(board, killer)) {
+                killers[index++] = killer;
+                return killer;
+            }
+            index++;
+        }
+        return 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the best scored move of the stage not handed out yet, or 0 if there is none
+    private int nextBest() {
+        while (index < count) {
+            int best = index;
+            for (int i = index + 1; i < count; i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            int move = moves[best];
+            moves[best] = moves[index];
+            scores[best] = scores[index];
+            index++;
+            if (move != tableMove && move != killers[0] && move != killers[1]
+                    && (lastStage != CAPTURES || StaticExchange.evaluate(board, move) >= 0)) {
+                return move;
+            }
+        }
+        return 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: scores the captures in moves by MVV-LVA; a promotion counts as capturing the piece it promotes into
+    private void scoreCaptures() {
+        Position p = board.getPosition();
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int victim = p.codeAt(MoveGenerator.end(move));
+            int victimValue = victim == Position.EMPTY ? 0 : Evaluator.value(victim % 6);
+            if (victim == Position.EMPTY && MoveGenerator.promotion(move) == 0) {
+                victimValue = Evaluator.value(Position.PAWN);  // en passant
+            }
+            if (MoveGenerator.promotion(move) != 0) {
+                victimValue += Evaluator.value(MoveGenerator.promotion(move));
+            }
+            scores[i] = victimValue * VICTIM_WEIGHT - p.codeAt(MoveGenerator.start(move)) % 6;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: scores the quiet moves in moves by their history score
+    private void scoreQuiets() {
+        int colour = Position.colourOf(board.getTurn());
+        for (int i = 0; i < count; i++) {
+            scores[i] = history.score(colour, moves[i]);
+        }
+    }
+}
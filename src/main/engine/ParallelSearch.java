@@ -0,0 +1,120 @@
+package engine;
+
+import model.GameBoard;
+
+// searches with several threads at once in the Lazy SMP style: every thread runs its own Search of the same position
+// on its own copy of the board, and the threads only cooperate through the transposition table they share. Helper
+// threads skip different depths and start with the root moves in a different order, so they search different parts of
+// the tree first; the results they store let the main thread finish each depth sooner. Each thread keeps its own move
+// ordering tables, as they are fields of its Search.
+// The move, score and line returned are those of the main thread; the node count is that of all threads.
+public class ParallelSearch {
+    private final TranspositionTable table;
+    private final Search[] searches;  // searches[0] is the main thread
+
+    // REQUIRES: threads >= 1
+    // EFFECTS: creates a search running on threads threads, with a transposition table of TranspositionTable.DEFAULT_MB
+    public ParallelSearch(int threads) {
+        this(threads, new TranspositionTable(TranspositionTable.DEFAULT_MB));
+    }
+
+    // REQUIRES: threads >= 1
+    // EFFECTS: creates a search running on threads threads that share table
+    public ParallelSearch(int threads, TranspositionTable table) {
+        this.table = table;
+        searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(table, i);
+        }
+    }
+
+    // EFFECTS: searches position within limits on every thread and returns the best move found by the main thread.
+    // The helper threads are stopped once the main thread is done; the node limit applies to each thread on its own.
+    // position is not changed.
+    public SearchResult search(GameBoard position, SearchLimits limits) {
+        table.newSearch();
+        for (Search search : searches) {
+            search.prepare();
+        }
+        SearchResult[] helperResults = new SearchResult[searches.length];
+        Thread[] helpers = new Thread[searches.length];
+        for (int i = 1; i < searches.length; i++) {
+            int index = i;
+            helpers[i] = new Thread(() -> helperResults[index] = searches[index].run(position, limits));
+            helpers[i].setDaemon(true);
+            helpers[i].start();
+        }
+        SearchResult result = searches[0].run(position, limits);
+        long nodes = result.getNodes() + finishHelpers(helpers, helperResults);
+        return new SearchResult(result.getBestMove(), result.getPrincipalVariation(), result.getScore(),
+                result.getDepth(), nodes, result.getMillis());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: asks every thread of a running search to stop as soon as it has finished depth 1
+    public void stop() {
+        for (Search search : searches) {
+            search.stop();
+        }
+    }
+
+    // REQUIRES: no search is running
+    // MODIFIES: this
+    // EFFECTS: makes every thread use the selective search features of options from the next search on
+    public void setOptions(SearchOptions options) {
+        for (Search search : searches) {
+            search.setOptions(options);
+        }
+    }
+
+    // REQUIRES: no search is running
+    // MODIFIES: this
+    // EFFECTS: makes the searches from now on pass the result of each iteration the main thread finishes to listener,
+    // with the nodes searched by every thread so far; null for none
+    public void setListener(Search.Listener listener) {
+        searches[0].setListener(listener == null ? null : result -> listener.iterationFinished(withAllNodes(result)));
+    }
+
+    // EFFECTS: returns the number of threads searching
+    public int getThreads() {
+        return searches.length;
+    }
+
+    // REQUIRES: 0 <= thread < getThreads()
+    // EFFECTS: returns the pawn structure cache of thread number thread (0 is the main thread)
+    public PawnTable getPawnTable(int thread) {
+        return searches[thread].getPawnTable();
+    }
+
+    // EFFECTS: returns the transposition table shared by the threads
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    // EFFECTS: returns result of the main thread with the nodes the helper threads searched so far added to its own
+    private SearchResult withAllNodes(SearchResult result) {
+        long nodes = result.getNodes();
+        for (int i = 1; i < searches.length; i++) {
+            nodes += searches[i].getNodes();
+        }
+        return new SearchResult(result.getBestMove(), result.getPrincipalVariation(), result.getScore(),
+                result.getDepth(), nodes, result.getMillis());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the helper threads, waits for them to end and returns the number of nodes they searched
+    private long finishHelpers(Thread[] helpers, SearchResult[] results) {
+        stop();
+        long nodes = 0;
+        for (int i = 1; i < helpers.length; i++) {
+            try {
+                helpers[i].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return nodes;
+            }
+            nodes += results[i] == null ? 0 : results[i].getNodes();
+        }
+        return nodes;
+    }
+}
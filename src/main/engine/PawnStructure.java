@@ -0,0 +1,94 @@
+package engine;
+
+import model.Position;
+
+// utility class that scores the pawn structure of a position: doubled pawns (more than one pawn of a side on a file),
+// isolated pawns (no pawn of the same side on the files next to it) and passed pawns (no enemy pawn in front of it on
+// its own or the files next to it, so only pieces can stop it, and no pawn of its own in front of it). The score only
+// depends on where the pawns are, so it can be cached by the pawn key of the position, as PawnTable does.
+// Scores are packed into a long holding a middlegame and an endgame score, like the scores of PieceSquareTables.
+public final class PawnStructure {
+    private static final int DOUBLED_MIDDLEGAME = -10;  // for each pawn on a file after the first
+    private static final int DOUBLED_ENDGAME = -20;
+    private static final int ISOLATED_MIDDLEGAME = -10;
+    private static final int ISOLATED_ENDGAME = -15;
+    // bonus of a passed pawn by the number of steps it has made from its starting rank
+    private static final int[] PASSED_MIDDLEGAME = {0, 5, 10, 15, 25, 40};
+    private static final int[] PASSED_ENDGAME = {0, 10, 20, 35, 60, 100};
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long[] FILES = new long[8];
+    private static final long[] ADJACENT_FILES = new long[8];
+    private static final long[][] PASSED_SPANS = new long[2][64];  // squares that must be free of enemy pawns
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            FILES[file] = FILE_A << file;
+            ADJACENT_FILES[file] = (file > 0 ? FILE_A << (file - 1) : 0) | (file < 7 ? FILE_A << (file + 1) : 0);
+        }
+        for (int square = 0; square < 64; square++) {
+            long span = FILES[square % 8] | ADJACENT_FILES[square % 8];
+            long above = (1L << (square - square % 8)) - 1;  // squares on the rows before the row of square
+            long below = -1L << (square - square % 8 + 8);
+            PASSED_SPANS[Position.WHITE][square] = span & above;  // white pawns move to row 0 (rank 8)
+            PASSED_SPANS[Position.BLACK][square] = span & below;
+        }
+    }
+
+    private PawnStructure() {}
+
+    // EFFECTS: returns the packed score of the pawn structure of p from white's point of view
+    public static long evaluate(Position p) {
+        long white = evaluate(p, Position.WHITE);
+        long black = evaluate(p, Position.BLACK);
+        return pack(middlegame(white) - middlegame(black), endgame(white) - endgame(black));
+    }
+
+    // EFFECTS: returns the packed score of the pawns of colour in p, from the point of view of colour
+    private static long evaluate(Position p, int colour) {
+        long own = p.pieces(colour, Position.PAWN);
+        long enemy = p.pieces(1 - colour, Position.PAWN);
+        int doubled = doubledPawns(own);
+        int middlegame = doubled * DOUBLED_MIDDLEGAME;
+        int endgame = doubled * DOUBLED_ENDGAME;
+        for (long pawns = own; pawns != 0; pawns &= pawns - 1) {
+            int square = Long.numberOfTrailingZeros(pawns);
+            if ((own & ADJACENT_FILES[square % 8]) == 0) {
+                middlegame += ISOLATED_MIDDLEGAME;
+                endgame += ISOLATED_ENDGAME;
+            }
+            long span = PASSED_SPANS[colour][square];
+            if ((enemy & span) == 0 && (own & span & FILES[square % 8]) == 0) {
+                int steps = colour == Position.WHITE ? 6 - square / 8 : square / 8 - 1;
+                steps = Math.max(0, Math.min(steps, PASSED_MIDDLEGAME.length - 1));  // test boards may have any rank
+                middlegame += PASSED_MIDDLEGAME[steps];
+                endgame += PASSED_ENDGAME[steps];
+            }
+        }
+        return pack(middlegame, endgame);
+    }
+
+    // EFFECTS: returns a packed score of middlegame and endgame
+    public static long pack(int middlegame, int endgame) {
+        return (long) middlegame << 32 | (endgame & 0xFFFFFFFFL);
+    }
+
+    // EFFECTS: returns the middlegame part of a packed score
+    public static int middlegame(long score) {
+        return (int) (score >> 32);
+    }
+
+    // EFFECTS: returns the endgame part of a packed score
+    public static int endgame(long score) {
+        return (int) score;
+    }
+
+    // EFFECTS: returns the number of pawns among pawns that stand on a file behind another of them
+    private static int doubledPawns(long pawns) {
+        int doubled = 0;
+        for (long file : FILES) {
+            doubled += Math.max(Long.bitCount(pawns & file) - 1, 0);
+        }
+        return doubled;
+    }
+}
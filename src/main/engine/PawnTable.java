@@ -0,0 +1,84 @@
+package engine;
+
+import model.Position;
+
+import java.util.Arrays;
+
+// cache of PawnStructure scores by the pawn key of the position. Pawn structures repeat far more often than positions
+// during a search, as most moves are not pawn moves, so most scores are found here instead of being computed. Each
+// search thread has its own table, so it needs no synchronization. The table counts its probes and hits, so its size
+// can be chosen from the hit rate on real workloads.
+public class PawnTable {
+    public static final int DEFAULT_ENTRIES = 1 << 14;
+
+    private long[] keys;
+    private long[] scores;
+    private int mask;  // number of entries - 1
+    private long probes;
+    private long hits;
+
+    // REQUIRES: entries >= 1
+    // EFFECTS: creates an empty table of entries entries, rounded down to a power of two
+    public PawnTable(int entries) {
+        resize(entries);
+    }
+
+    // REQUIRES: entries >= 1
+    // MODIFIES: this
+    // EFFECTS: replaces the table with an empty one of entries entries, rounded down to a power of two, and resets
+    // the counters
+    public void resize(int entries) {
+        int size = Integer.highestOneBit(entries);
+        keys = new long[size];
+        scores = new long[size];
+        mask = size - 1;
+        clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every entry and resets the counters. A position without pawns has pawn key 0, and an empty
+    // entry holds key 0 with score 0, which is right for it.
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(scores, 0L);
+        probes = 0;
+        hits = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the packed PawnStructure score of p, from the table if it is there and otherwise computed and
+    // stored, replacing whatever was in its entry
+    public long probe(Position p) {
+        long key = p.pawnKey();
+        int index = (int) key & mask;
+        probes++;
+        if (keys[index] == key) {
+            hits++;
+            return scores[index];
+        }
+        long score = PawnStructure.evaluate(p);
+        keys[index] = key;
+        scores[index] = score;
+        return score;
+    }
+
+    // EFFECTS: returns the number of entries
+    public int size() {
+        return keys.length;
+    }
+
+    // EFFECTS: returns the number of probes since the table was created, resized or cleared
+    public long getProbes() {
+        return probes;
+    }
+
+    // EFFECTS: returns the number of probes that found their score in the table
+    public long getHits() {
+        return hits;
+    }
+
+    // EFFECTS: returns the fraction of probes that found their score in the table, or 0 if there were none
+    public double getHitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+}
@@ -0,0 +1,459 @@
+package engine;
+
+import model.GameBoard;
+import model.MoveGenerator;
+import model.Position;
+
+import java.util.Arrays;
+
+// finds the best move of a position with a negamax alpha-beta search. The search deepens one ply at a time
+// (iterative deepening) until the depth, node or time limit is reached, and answers with the best move of the deepest
+// iteration it finished, along with the principal variation (the line both sides are expected to play).
+// A Search keeps its buffers between searches, so it should be reused, but it can only run one search at a time;
+// ParallelSearch runs several of them at once on a shared transposition table.
+public class Search {
+    public static final int MAX_PLY = 128;  // deepest line the search ever looks at
+    public static final int INFINITY = 32000;
+    public static final int MATE = 31000;  // score of giving checkmate right now; mate in n plies scores MATE - n
+    public static final int MATE_BOUND = MATE - MAX_PLY;  // scores at least this far from 0 are mate scores
+
+    private static final int TIME_CHECK_INTERVAL = 1024;  // nodes searched between looks at the clock
+    private static final int SKIP_CYCLE = 3;  // helper threads skip one depth in every SKIP_CYCLE
+    private static final int NULL_MOVE = -1;  // marks a null move in playedMoves
+    private static final int NULL_MOVE_MIN_DEPTH = 3;  // shallowest depth at which a null move is tried
+    private static final int NULL_MOVE_REDUCTION = 2;  // plies a null move is searched less deep than a move, at least
+    private static final int REDUCTION_MIN_DEPTH = 3;  // shallowest depth at which late moves are reduced
+    private static final int REDUCTION_MIN_MOVES = 3;  // moves of a position always searched to full depth
+    private static final int DEEP_REDUCTION_MOVES = 8;  // moves after which late moves are reduced by two plies
+
+    private final int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+    private final MovePicker[] pickers = new MovePicker[MAX_PLY];  // picks the moves of each ply below the root
+    private final MoveHistory history = new MoveHistory();
+    private final PawnTable pawns = new PawnTable(PawnTable.DEFAULT_ENTRIES);
+    private final int[] bestMoves = new int[MAX_PLY];  // best move found at each ply by searchPicked
+    private final int[] playedMoves = new int[MAX_PLY];  // move being searched at each ply, or NULL_MOVE
+    private final boolean[] checks = new boolean[MAX_PLY];  // whether the side to move is in check at each ply
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY];  // pv[ply] is the best line found from ply
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    private final TranspositionTable table;
+    private final int thread;  // 0 for a search of its own or the main thread of a ParallelSearch, 1.. for helpers
+    private SearchOptions options = SearchOptions.all();
+    private Listener listener;  // null if there is none
+    private GameBoard board;
+    private int iteration;  // depth of the iteration being searched
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;  // System.nanoTime() at which to stop, or 0 for no time limit
+    private boolean stopped;  // true once the current iteration has been cut short
+    private volatile boolean stopRequested;
+
+    // receives the result of every iteration a search finishes, to show the progress of a long search
+    public interface Listener {
+        // EFFECTS: is called on the searching thread with the result of the iteration just finished; the search goes
+        // on once it returns, so it should not take long
+        void iterationFinished(SearchResult result);
+    }
+
+    // EFFECTS: creates a search with a transposition table of its own, of TranspositionTable.DEFAULT_MB
+    public Search() {
+        this(new TranspositionTable(TranspositionTable.DEFAULT_MB));
+    }
+
+    // EFFECTS: creates a search that stores its results in table, which other searches may share
+    public Search(TranspositionTable table) {
+        this(table, 0);
+    }
+
+    // REQUIRES: thread >= 0
+    // EFFECTS: creates a search that is thread number thread of a ParallelSearch using table
+    Search(TranspositionTable table, int thread) {
+        this.table = table;
+        this.thread = thread;
+        for (int i = 0; i < MAX_PLY; i++) {
+            pickers[i] = new MovePicker();
+        }
+    }
+
+    // EFFECTS: searches position within limits and returns the best move found. position is not changed; the
+    // search runs on a copy of it, which knows the earlier positions of the game so it can see repetitions.
+    public SearchResult search(GameBoard position, SearchLimits limits) {
+        table.newSearch();
+        prepare();
+        return run(position, limits);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: clears any stop requested, before a search starts
+    void prepare() {
+        stopRequested = false;
+        nodes = 0;
+    }
+
+    // EFFECTS: searches as search does, but without starting a new search of the table or clearing a stop that was
+    // requested since prepare, so that the threads of a ParallelSearch can be started and stopped together
+    SearchResult run(GameBoard position, SearchLimits limits) {
+        long start = System.nanoTime();
+        begin(position, limits, start);
+        int count = generateRootMoves();
+        if (count == 0) {
+            return new SearchResult(null, new int[0], board.isCheck() ? -MATE : 0, 0, 0, 0);
+        }
+        int[] bestLine = {rootMoves[0]};
+        int bestScore = 0;
+        int reached = 0;
+        for (iteration = 1; iteration <= limits.getDepth() && !stopped; iteration = nextIteration(iteration)) {
+            int score = searchRoot(count);
+            if (stopped && iteration > 1) {
+                break;  // an unfinished iteration may not have looked at the best move yet
+            }
+            bestScore = score;
+            bestLine = Arrays.copyOf(pv[0], pvLength[0]);
+            reached = iteration;
+            report(bestLine, bestScore, start);
+            if (Math.abs(score) >= MATE_BOUND) {
+                break;  // no deeper iteration finds a shorter mate
+            }
+        }
+        return result(bestLine, bestScore, reached, start);
+    }
+
+    // EFFECTS: returns the pawn structure cache of this search, kept between searches, to read its hit rate or resize
+    // it while no search is running
+    public PawnTable getPawnTable() {
+        return pawns;
+    }
+
+    // EFFECTS: returns the selective search features this search uses
+    public SearchOptions getOptions() {
+        return options;
+    }
+
+    // REQUIRES: no search is running
+    // MODIFIES: this
+    // EFFECTS: makes the searches from now on use the selective search features of options
+    public void setOptions(SearchOptions options) {
+        this.options = options;
+    }
+
+    // REQUIRES: no search is running
+    // MODIFIES: this
+    // EFFECTS: makes the searches from now on pass the result of each finished iteration to listener; null for none
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // EFFECTS: returns the number of positions searched so far by the running search, or by the last one. Other
+    // threads may read it while the search runs, when it may be a little behind.
+    long getNodes() {
+        return nodes;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: asks a running search to stop as soon as it has finished depth 1; the search still returns a move
+    public void stop() {
+        stopRequested = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: resets the state of the search to start searching position
+    private void begin(GameBoard position, SearchLimits limits, long start) {
+        board = new GameBoard(position);
+        nodes = 0;
+        nodeLimit = limits.getNodes();
+        deadline = limits.getMillis() > 0 ? start + limits.getMillis() * 1_000_000L : 0;
+        stopped = false;
+        history.age();
+    }
+
+    // EFFECTS: passes the result of the iteration just finished, with best line line and score, to the listener if
+    // there is one; start is System.nanoTime() when the search started
+    private void report(int[] line, int score, long start) {
+        if (listener != null) {
+            listener.iterationFinished(result(line, score, iteration, start));
+        }
+    }
+
+    // EFFECTS: returns the result of a search that found line as best, with score, after finishing depth; start is
+    // System.nanoTime() when the search started
+    private SearchResult result(int[] line, int score, int depth, long start) {
+        long millis = (System.nanoTime() - start) / 1_000_000L;
+        return new SearchResult(board.toMove(line[0]), line, score, depth, nodes, millis);
+    }
+
+    // EFFECTS: returns the depth of the iteration after the one of depth. Helper threads of a ParallelSearch each skip
+    // different depths, so they are ahead of the main thread at different depths and fill the table with results
+    // it can use, instead of all searching the same positions in the same order.
+    private int nextIteration(int depth) {
+        int next = depth + 1;
+        while (thread > 0 && (next + thread) % SKIP_CYCLE == 0) {
+            next++;
+        }
+        return next;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the legal moves of the root position into rootMoves and returns how many there are. Pawns
+    // only promote into queens at the root, as GameBoard.movePiece can only play those promotions. Helper threads
+    // start with the moves in a different order, so each looks at different moves first.
+    private int generateRootMoves() {
+        int[] buffer = rootMoves;
+        int generated = MoveGenerator.generate(board, buffer);
+        int count = 0;
+        for (int i = 0; i < generated; i++) {
+            int promotion = MoveGenerator.promotion(buffer[i]);
+            if (promotion == 0 || promotion == Position.QUEEN) {
+                buffer[count++] = buffer[i];
+            }
+        }
+        if (count > 0) {
+            moveToFront(buffer, count, buffer[thread % count]);
+        }
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: searches every root move to the current iteration depth and returns the best score; the best line is
+    // left in pv[0]. A finished iteration moves its best move to the front, to be searched first by the next one.
+    private int searchRoot(int count) {
+        int alpha = -INFINITY;
+        nodes++;
+        for (int i = 0; i < count; i++) {
+            int move = rootMoves[i];
+            playedMoves[0] = move;
+            board.makeMove(move);
+            int score = -negamax(iteration - 1, 1, -INFINITY, -alpha);
+            board.unmakeMove();
+            if (stopped) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                updatePv(0, move);
+            }
+        }
+        if (!stopped) {
+            moveToFront(rootMoves, count, pv[0][0]);
+            table.store(board.getPositionKey(), pv[0][0], alpha, iteration, TranspositionTable.EXACT, 0);
+        }
+        return alpha;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the score of the position at ply for the side to move, searched depth more plies. Only scores
+    // between alpha and beta matter: if the score is at most alpha, some upper bound of it at most alpha is returned,
+    // and as soon as a move scores beta or more, its score is returned without looking at the other moves (the
+    // opponent would not allow this position). Results are kept in the transposition table, so a position reached
+    // again through other moves is not searched again. The selective search features of options make some lines
+    // shallower or deeper than depth.
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        if (board.getHalfmoveClock() >= 100 || board.countRepetitions() > 0) {
+            return 0;  // a position that repeats once is scored as a draw, as the side that can't do better will repeat
+        }
+        checks[ply] = board.isCheck();
+        if (checks[ply] && options.isCheckExtensions()) {
+            depth++;
+        }
+        if (depth == 0 || ply >= MAX_PLY - 1) {
+            return quiescence(ply, alpha, beta);
+        }
+        if (countNode()) {
+            return 0;
+        }
+        long entry = table.probe(board.getPositionKey());
+        if (isCutoff(entry, depth, ply, alpha, beta)) {
+            return TranspositionTable.score(entry, ply);
+        }
+        int nullScore = searchNullMove(depth, ply, beta);
+        return nullScore >= beta ? nullScore : searchMoves(depth, ply, alpha, beta, TranspositionTable.move(entry));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: searches the moves of the position at ply as negamax does, tableMove first, and stores the result in
+    // the transposition table
+    private int searchMoves(int depth, int ply, int alpha, int beta, int tableMove) {
+        pickers[ply].init(board, tableMove, history, ply);
+        int best = searchPicked(depth, ply, alpha, beta, -INFINITY);
+        if (stopped) {
+            return 0;
+        } else if (bestMoves[ply] == 0) {
+            return checks[ply] ? -MATE + ply : 0;  // no legal moves
+        }
+        table.store(board.getPositionKey(), bestMoves[ply], best, depth, bound(best, alpha, beta), ply);
+        return best;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if null-move pruning may be used at ply, passes the turn, searches the position at least
+    // NULL_MOVE_REDUCTION plies less deep than its moves would be with a window just below beta, and returns the
+    // score for the side to move; otherwise returns -INFINITY. If the side to move is still at least beta after giving
+    // the other side a free move, its moves need not be searched.
+    private int searchNullMove(int depth, int ply, int beta) {
+        if (!canPassTurn(depth, ply, beta)) {
+            return -INFINITY;
+        }
+        board.makeNullMove();
+        playedMoves[ply] = NULL_MOVE;
+        int score = -negamax(depth - 1 - NULL_MOVE_REDUCTION - depth / 6, ply + 1, -beta, 1 - beta);
+        board.unmakeNullMove();
+        return score >= MATE_BOUND ? beta : score;  // a mate found after passing the turn is not a real mate
+    }
+
+    // EFFECTS: returns true if null-move pruning may be used at ply: it is turned on, the position is deep enough
+    // from the leaves, the side to move is not in check and has pieces other than pawns (so it is unlikely to be in
+    // zugzwang), the last move was not a null move, beta is not a mate score, and the static evaluation is at least
+    // beta
+    private boolean canPassTurn(int depth, int ply, int beta) {
+        Position p = board.getPosition();
+        int us = Position.colourOf(board.getTurn());
+        long pieces = p.colour(us) & ~p.pieces(us, Position.PAWN) & ~p.pieces(us, Position.KING);
+        return options.isNullMovePruning() && depth >= NULL_MOVE_MIN_DEPTH && !checks[ply]
+                && playedMoves[ply - 1] != NULL_MOVE && Math.abs(beta) < MATE_BOUND && pieces != 0
+                && Evaluator.evaluate(board, pawns) >= beta;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the score of the position at ply for the side to move as negamax does, once the captures that
+    // are available have been played out, so the search never stops halfway through an exchange. The side to move can
+    // stand pat (take the static evaluation) instead of capturing, unless it is in check, when every move is searched.
+    // Captures that lose material by static exchange evaluation are not searched.
+    private int quiescence(int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        if (countNode()) {
+            return 0;
+        }
+        boolean inCheck = board.isCheck();
+        int best = inCheck ? -MATE + ply : Evaluator.evaluate(board, pawns);
+        if (best >= beta || ply >= MAX_PLY - 1) {
+            return best;
+        }
+        if (inCheck) {
+            pickers[ply].init(board, 0, history, ply);
+        } else {
+            pickers[ply].initCaptures(board);
+        }
+        return searchPicked(0, ply, alpha, beta, best);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: searches the moves pickers[ply] hands out, each depth - 1 plies deep or by quiescence search if depth
+    // is 0, and returns the best score, or best if no move scores more; the move with the best score is left in
+    // bestMoves[ply] (0 if none). Stops at the first move that scores beta or more; if it is a quiet move, it is
+    // remembered in the move history, to be tried early in similar positions.
+    private int searchPicked(int depth, int ply, int alpha, int beta, int best) {
+        bestMoves[ply] = 0;
+        int searched = 0;
+        for (int move = pickers[ply].next(); move != 0; move = pickers[ply].next()) {
+            playedMoves[ply] = move;
+            board.makeMove(move);
+            int score = searchChild(depth, ply, Math.max(alpha, best), beta, reduction(depth, ply, searched++));
+            board.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMoves[ply] = move;
+                if (score > alpha) {
+                    updatePv(ply, move);
+                }
+                if (score >= beta) {
+                    rewardCutoff(move, ply, depth);
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    // EFFECTS: returns how many plies less deep to search the move pickers[ply] just handed out, after searched other
+    // moves (late move reductions). Only quiet moves the move ordering put last are reduced, and never in check; the
+    // later the move comes, the more it is reduced.
+    private int reduction(int depth, int ply, int searched) {
+        if (!options.isLateMoveReductions() || depth < REDUCTION_MIN_DEPTH || searched < REDUCTION_MIN_MOVES
+                || checks[ply] || !pickers[ply].isLateMove()) {
+            return 0;
+        }
+        return searched >= DEEP_REDUCTION_MOVES && depth > REDUCTION_MIN_DEPTH ? 2 : 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the score of the move just made at ply for the side that made it, searched depth - 1 plies deep
+    // (or by quiescence search if depth is 0) between alpha and beta. If the move is to be reduced and gives no check,
+    // it is first searched reduction plies less deep with a window just above alpha, and only searched again to full
+    // depth if it scores more than alpha.
+    private int searchChild(int depth, int ply, int alpha, int beta, int reduction) {
+        if (depth == 0) {
+            return -quiescence(ply + 1, -beta, -alpha);
+        }
+        if (reduction > 0 && !board.isCheck()) {
+            int score = -negamax(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha);
+            if (score <= alpha || stopped) {
+                return score;
+            }
+        }
+        return -negamax(depth - 1, ply + 1, -beta, -alpha);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds move to the move history if it is a quiet move, as it caused a cutoff at ply searched depth deep
+    private void rewardCutoff(int move, int ply, int depth) {
+        if (depth > 0 && MoveGenerator.isQuiet(board, move)) {
+            history.reward(Position.colourOf(board.getTurn()), move, ply, depth);
+        }
+    }
+
+    // EFFECTS: returns the kind of score best is for a search between alpha and beta
+    private static int bound(int best, int alpha, int beta) {
+        if (best >= beta) {
+            return TranspositionTable.LOWER;
+        }
+        return best > alpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+    }
+
+    // EFFECTS: returns true if the stored result entry of the position at ply makes searching it to depth between
+    // alpha and beta unnecessary: it was searched at least as deep, and its score is exact or a bound outside the
+    // window
+    private static boolean isCutoff(long entry, int depth, int ply, int alpha, int beta) {
+        if (entry == 0 || TranspositionTable.depth(entry) < depth) {
+            return false;
+        }
+        int score = TranspositionTable.score(entry, ply);
+        int bound = TranspositionTable.bound(entry);
+        return bound == TranspositionTable.EXACT || bound == TranspositionTable.LOWER && score >= beta
+                || bound == TranspositionTable.UPPER && score <= alpha;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts a searched position and returns true if the search has to stop, because a limit was reached or
+    // a stop was requested. Depth 1 is always finished, so the search has a move to answer with.
+    private boolean countNode() {
+        nodes++;
+        if (iteration > 1 && (nodeLimit > 0 && nodes >= nodeLimit || stopRequested
+                || deadline != 0 && nodes % TIME_CHECK_INTERVAL == 0 && System.nanoTime() >= deadline)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes move followed by the best line from ply + 1 the best line from ply
+    private void updatePv(int ply, int move) {
+        pv[ply][0] = move;
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, pvLength[ply + 1]);
+        pvLength[ply] = pvLength[ply + 1] + 1;
+    }
+
+    // MODIFIES: buffer
+    // EFFECTS: if move is one of the first count moves of buffer, moves it to the front, keeping the order of the
+    // other moves
+    private static void moveToFront(int[] buffer, int count, int move) {
+        for (int i = 0; i < count; i++) {
+            if (buffer[i] == move) {
+                System.arraycopy(buffer, 0, buffer, 1, i);
+                buffer[0] = move;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package engine;
+
+// how much a search may do before it has to return a move. A limit of 0 means no limit; the search stops as soon as
+// any of the set limits is reached, and always completes at least depth 1 so it has a move to return.
+public class SearchLimits {
+    private final int depth;  // deepest iteration to search, in plies
+    private final long nodes;  // number of positions that may be searched
+    private final long millis;  // time that may be used, in milliseconds
+
+    // REQUIRES: depth, nodes, millis >= 0
+    // EFFECTS: creates limits of depth plies, nodes positions and millis milliseconds, where 0 is unlimited
+    public SearchLimits(int depth, long nodes, long millis) {
+        this.depth = depth;
+        this.nodes = nodes;
+        this.millis = millis;
+    }
+
+    // REQUIRES: depth >= 1
+    // EFFECTS: returns limits that search to depth plies, with no node or time limit
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    // REQUIRES: millis >= 1
+    // EFFECTS: returns limits that search for millis milliseconds
+    public static SearchLimits time(long millis) {
+        return new SearchLimits(0, 0, millis);
+    }
+
+    // REQUIRES: nodes >= 1
+    // EFFECTS: returns limits that search nodes positions
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(0, nodes, 0);
+    }
+
+    // EFFECTS: returns the deepest iteration to search, which is at most Search.MAX_PLY - 1
+    public int getDepth() {
+        return depth == 0 ? Search.MAX_PLY - 1 : Math.min(depth, Search.MAX_PLY - 1);
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+}
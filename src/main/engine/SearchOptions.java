@@ -0,0 +1,45 @@
+package engine;
+
+// the selective search features a Search uses, each of which can be turned off on its own to measure how many nodes
+// it saves and whether it changes the moves found:
+// - null-move pruning: if the side to move is still at least beta after passing its turn and a shallower search, the
+//   position is cut off without searching its moves. Not done in check, or when the side to move has only pawns left,
+//   as then passing may really be better than any move (zugzwang).
+// - late move reductions: quiet moves the move ordering puts after the table move, captures and killers are searched
+//   less deep first, and only searched again to full depth if they turn out better than expected.
+// - check extensions: a position where the side to move is in check is searched one ply deeper, so checks at the end
+//   of a line are played out instead of being left to the static evaluation.
+public class SearchOptions {
+    private final boolean nullMovePruning;
+    private final boolean lateMoveReductions;
+    private final boolean checkExtensions;
+
+    // EFFECTS: creates options using each feature that is true
+    public SearchOptions(boolean nullMovePruning, boolean lateMoveReductions, boolean checkExtensions) {
+        this.nullMovePruning = nullMovePruning;
+        this.lateMoveReductions = lateMoveReductions;
+        this.checkExtensions = checkExtensions;
+    }
+
+    // EFFECTS: returns options using every feature, which is what a Search uses unless told otherwise
+    public static SearchOptions all() {
+        return new SearchOptions(true, true, true);
+    }
+
+    // EFFECTS: returns options using no feature, for a plain alpha-beta search
+    public static SearchOptions none() {
+        return new SearchOptions(false, false, false);
+    }
+
+    public boolean isNullMovePruning() {
+        return nullMovePruning;
+    }
+
+    public boolean isLateMoveReductions() {
+        return lateMoveReductions;
+    }
+
+    public boolean isCheckExtensions() {
+        return checkExtensions;
+    }
+}
@@ -0,0 +1,75 @@
+package engine;
+
+import model.Move;
+import model.MoveGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// the outcome of a search: the move to play, how good it is, and the line of play the search expects
+public class SearchResult {
+    private final Move bestMove;
+    private final int[] principalVariation;  // moves encoded as by MoveGenerator, starting with the best move
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long millis;
+
+    // EFFECTS: creates a result of a search that reached depth after searching nodes positions in millis milliseconds
+    public SearchResult(Move bestMove, int[] principalVariation, int score, int depth, long nodes, long millis) {
+        this.bestMove = bestMove;
+        this.principalVariation = principalVariation;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.millis = millis;
+    }
+
+    // EFFECTS: returns the best move found, to be played with GameBoard.movePiece(getStart(), getEnd()); null if the
+    // side to move had no legal moves
+    public Move getBestMove() {
+        return bestMove;
+    }
+
+    // EFFECTS: returns the expected line of play from the searched position, encoded as by MoveGenerator
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    // EFFECTS: returns the expected line of play in coordinate notation (e.g. "e2e4")
+    public List<String> getPrincipalVariationNotation() {
+        List<String> result = new ArrayList<>();
+        for (int move : principalVariation) {
+            result.add(MoveGenerator.toCoordinateNotation(move));
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the score of the best move in centipawns for the side to move; scores beyond
+    // Search.MATE_BOUND mean a forced checkmate (positive if the side to move gives it)
+    public int getScore() {
+        return score;
+    }
+
+    // EFFECTS: returns the number of moves until mate (positive if the side to move mates), or 0 if the score is not
+    // a mate score
+    public int getMateIn() {
+        if (Math.abs(score) < Search.MATE_BOUND) {
+            return 0;
+        }
+        int plies = Search.MATE - Math.abs(score);
+        return score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+}
@@ -0,0 +1,139 @@
+package engine;
+
+import java.util.Arrays;
+
+// fixed-size hash table of search results by position key, stored in one packed long[] so that millions of entries
+// cost no objects and no garbage collection work. Each entry is two longs, the data and the key XORed with the data;
+// several search threads can read and write the table at once without locks, because an entry torn by two writes no
+// longer XORs back to its key and is simply treated as a miss.
+// Entries are grouped in buckets of two: the first entry keeps the deepest result (depth-preferred), unless it is
+// from an earlier search, and the second entry takes every result the first one turns down (always-replace).
+public class TranspositionTable {
+    public static final int DEFAULT_MB = 16;
+
+    // kinds of score stored
+    public static final int UPPER = 1;  // the real score is at most the stored score (no move reached alpha)
+    public static final int LOWER = 2;  // the real score is at least the stored score (a move reached beta)
+    public static final int EXACT = 3;
+
+    private static final int BUCKET_LONGS = 4;  // two entries of two longs
+    private static final int GENERATIONS = 64;
+
+    private long[] table;
+    private int bucketMask;  // number of buckets - 1
+    private int generation;  // number of the current search, so entries of older searches can be replaced first
+
+    // REQUIRES: megabytes >= 1
+    // EFFECTS: creates an empty table using at most the given number of megabytes
+    public TranspositionTable(int megabytes) {
+        resize(megabytes);
+    }
+
+    // REQUIRES: megabytes >= 1, no search is using the table
+    // MODIFIES: this
+    // EFFECTS: replaces the table with an empty one using at most the given number of megabytes; the number of
+    // buckets is rounded down to a power of two
+    public void resize(int megabytes) {
+        long buckets = Long.highestOneBit(Math.min((long) megabytes << 15, 1L << 28));  // 32 bytes per bucket
+        table = new long[(int) buckets * BUCKET_LONGS];
+        bucketMask = (int) buckets - 1;
+        generation = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every entry
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks the start of a new search, so the entries of earlier searches are replaced before newer ones
+    public void newSearch() {
+        generation = (generation + 1) % GENERATIONS;
+    }
+
+    // EFFECTS: returns the packed data stored for the position with key, or 0 if there is none; read the parts with
+    // move, score, depth and bound
+    public long probe(long key) {
+        int index = index(key);
+        for (int i = index; i < index + BUCKET_LONGS; i += 2) {
+            long data = table[i + 1];
+            if ((table[i] ^ data) == key && data != 0) {
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    // REQUIRES: 0 <= depth < 256, |score| < Search.INFINITY, bound is UPPER, LOWER or EXACT, 0 <= ply < Search.MAX_PLY
+    // MODIFIES: this
+    // EFFECTS: stores the result of searching the position with key to depth at ply; mate scores are stored as the
+    // distance to mate from the position itself, so they stay right wherever the position is found again
+    public void store(long key, int move, int score, int depth, int bound, int ply) {
+        if (score >= Search.MATE_BOUND) {
+            score += ply;
+        } else if (score <= -Search.MATE_BOUND) {
+            score -= ply;
+        }
+        long data = (move & 0xFFFFL) | (score & 0xFFFFL) << 16 | (long) depth << 32 | (long) bound << 40
+                | (long) generation << 42;
+        int index = index(key);
+        long first = table[index + 1];
+        if ((table[index] ^ first) == key || first == 0 || depth >= depth(first) || generation(first) != generation) {
+            table[index] = key ^ data;
+            table[index + 1] = data;
+        } else {
+            table[index + 2] = key ^ data;
+            table[index + 3] = data;
+        }
+    }
+
+    // EFFECTS: returns how full the table is in permille, counted as the entries of the current search among the
+    // first thousand entries
+    public int hashfull() {
+        int used = 0;
+        int entries = Math.min(1000, table.length / 2);
+        for (int i = 0; i < entries; i++) {
+            long data = table[2 * i + 1];
+            used += data != 0 && generation(data) == generation ? 1 : 0;
+        }
+        return used * 1000 / entries;
+    }
+
+    // EFFECTS: returns the move of packed data, encoded as by MoveGenerator, or 0 if no move was stored
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    // EFFECTS: returns the score of packed data for a position found at ply
+    public static int score(long data, int ply) {
+        int score = (short) (data >>> 16);
+        if (score >= Search.MATE_BOUND) {
+            return score - ply;
+        } else if (score <= -Search.MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    // EFFECTS: returns the depth the stored score was searched to
+    public static int depth(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+
+    // EFFECTS: returns the kind of the stored score: UPPER, LOWER or EXACT
+    public static int bound(long data) {
+        return (int) (data >>> 40) & 3;
+    }
+
+    // EFFECTS: returns the generation of the search that stored data
+    private static int generation(long data) {
+        return (int) (data >>> 42) & (GENERATIONS - 1);
+    }
+
+    // EFFECTS: returns the index of the first long of the bucket of key
+    private int index(long key) {
+        return ((int) (key >>> 32) & bucketMask) * BUCKET_LONGS;
+    }
+}
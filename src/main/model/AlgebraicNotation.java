@@ -0,0 +1,138 @@
+package model;
+
+// utility class that reads and writes moves in Standard Algebraic Notation (SAN), as used by PGN files: the piece
+// letter (none for pawns), as much of the start square as is needed to tell the move apart from moves of other pieces
+// of the same kind to the same square, x for a capture, the end square, =letter for a promotion, and + or # for check
+// or checkmate; castling is O-O or O-O-O. Unlike MoveList.toNotation, both directions work from the board the move
+// is played on, so moves are disambiguated and can be read back.
+public final class AlgebraicNotation {
+    private static final String PIECES = " NBRQK";  // piece letters by Position type; pawns have none
+
+    private AlgebraicNotation() {}
+
+    // REQUIRES: move is a legal move of the side to move on board, encoded as by MoveGenerator
+    // EFFECTS: returns move written in SAN, with + or # if it gives check or checkmate
+    public static String toSan(GameBoard board, int move) {
+        int start = MoveGenerator.start(move);
+        int end = MoveGenerator.end(move);
+        Position p = board.getPosition();
+        int type = p.codeAt(start) % 6;
+        String result;
+        if (type == Position.KING && Math.abs(end - start) == 2) {
+            result = end > start ? "O-O" : "O-O-O";
+        } else {
+            boolean capture = p.isOccupied(end) || type == Position.PAWN && end == board.getEnPassantSquare();
+            String from = type == Position.PAWN ? (capture ? MoveList.fromCoordinate(start).substring(0, 1) : "")
+                    : PIECES.charAt(type) + disambiguation(board, move);
+            int promotion = MoveGenerator.promotion(move);
+            result = from + (capture ? "x" : "") + MoveList.fromCoordinate(end)
+                    + (promotion == 0 ? "" : "=" + PIECES.charAt(promotion));
+        }
+        board.makeMove(move);
+        String check = !board.isCheck() ? "" : MoveGenerator.hasLegalMove(board) ? "+" : "#";
+        board.unmakeMove();
+        return result + check;
+    }
+
+    // EFFECTS: returns the legal move of the side to move on board written in SAN as text, encoded as by
+    // MoveGenerator, or 0 if text is not SAN for exactly one legal move. Check marks and annotations (!, ?) at the end
+    // are ignored, castling may be written with zeros, the = of a promotion may be left out, and a promotion without
+    // a piece letter promotes into a queen.
+    public static int parse(GameBoard board, String text) {
+        String san = stripSuffix(text);
+        if (san.equals("O-O") || san.equals("0-0") || san.equals("O-O-O") || san.equals("0-0-0")) {
+            return castling(board, san.length() == 3);
+        }
+        int type = san.isEmpty() ? 0 : Math.max(0, PIECES.indexOf(san.charAt(0)));
+        int promotion = 0;
+        if (type == Position.PAWN && san.length() > 2 && Character.isUpperCase(san.charAt(san.length() - 1))) {
+            promotion = PIECES.indexOf(san.charAt(san.length() - 1));
+            san = san.substring(0, san.length() - (san.charAt(san.length() - 2) == '=' ? 2 : 1));
+        }
+        String body = san.substring(type == Position.PAWN ? 0 : 1).replace("x", "");
+        if (promotion < 0 || promotion == Position.KING || body.length() < 2) {
+            return 0;
+        }
+        int end = square(body.charAt(body.length() - 2), body.charAt(body.length() - 1));
+        String from = body.substring(0, body.length() - 2);
+        return end < 0 || from.length() > 2 ? 0 : find(board, type, from, end, promotion);
+    }
+
+    // EFFECTS: returns the only legal move of a piece of type to end whose start square matches from (a file, rank,
+    // both or neither), promoting into promotion (queen if 0) if it is a pawn reaching the last rank, or 0 if there is
+    // not exactly one. Only the pieces of that type are tried, so no list of all legal moves is made.
+    private static int find(GameBoard board, int type, String from, int end, int promotion) {
+        long candidates = board.getPosition().pieces(Position.colourOf(board.getTurn()), type);
+        int found = 0;
+        for (; candidates != 0; candidates &= candidates - 1) {
+            int start = Long.numberOfTrailingZeros(candidates);
+            if (matches(start, from) && (MoveGenerator.legalTargets(board, start) & 1L << end) != 0) {
+                if (found != 0) {
+                    return 0;
+                }
+                boolean promotes = type == Position.PAWN && (end < 8 || end >= 56);
+                found = MoveGenerator.encode(start, end, !promotes ? 0 : promotion == 0 ? Position.QUEEN : promotion);
+            }
+        }
+        return found;
+    }
+
+    // EFFECTS: returns true if square lies on every file and rank named in from, e.g. "", "e", "2" or "e2"
+    private static boolean matches(int square, String from) {
+        for (int i = 0; i < from.length(); i++) {
+            char c = from.charAt(i);
+            if (c != 'a' + square % 8 && c != '8' - square / 8) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns the castling move of the side to move on board on the king side if kingSide, or else on the
+    // queen side, or 0 if it is not legal
+    private static int castling(GameBoard board, boolean kingSide) {
+        int start = board.getKingSquare(board.getTurn());
+        int move = MoveGenerator.encode(start, kingSide ? start + 2 : start - 2, 0);
+        return start == 60 || start == 4 ? (MoveGenerator.isLegal(board, move) ? move : 0) : 0;
+    }
+
+    // EFFECTS: returns the part of the start square of move that tells it apart from the other legal moves to the
+    // same square by pieces of the same kind: nothing if there are none, else the file if that is enough, else the
+    // rank if that is enough, else the whole square
+    private static String disambiguation(GameBoard board, int move) {
+        int start = MoveGenerator.start(move);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generate(board, moves);
+        boolean other = false;
+        boolean sameFile = false;
+        boolean sameRank = false;
+        for (int i = 0; i < count; i++) {
+            int square = MoveGenerator.start(moves[i]);
+            if (square != start && MoveGenerator.end(moves[i]) == MoveGenerator.end(move)
+                    && board.getPosition().codeAt(square) == board.getPosition().codeAt(start)) {
+                other = true;
+                sameFile |= square % 8 == start % 8;
+                sameRank |= square / 8 == start / 8;
+            }
+        }
+        String name = MoveList.fromCoordinate(start);
+        return !other ? "" : !sameFile ? name.substring(0, 1) : !sameRank ? name.substring(1) : name;
+    }
+
+    // EFFECTS: returns text without the check, checkmate and annotation marks at its end
+    private static String stripSuffix(String text) {
+        int length = text.length();
+        while (length > 0 && "+#!?".indexOf(text.charAt(length - 1)) >= 0) {
+            length--;
+        }
+        return text.substring(0, length);
+    }
+
+    // EFFECTS: returns the square on file and rank, e.g. 'e' and '4', or -1 if they do not name a square
+    private static int square(char file, char rank) {
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+            return -1;
+        }
+        return (8 - (rank - '0')) * 8 + file - 'a';
+    }
+}
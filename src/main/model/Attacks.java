@@ -0,0 +1,210 @@
+package model;
+
+// utility class with precomputed attack tables; each table entry is a bitboard of the squares a piece standing on
+// that square attacks, using the same square numbering as GameBoard (0 is a8, 63 is h1)
+public final class Attacks {
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];  // PAWN[colour][square]
+    private static final long[][] BETWEEN = new long[64][64];  // squares strictly between two squares on a line
+    private static final long[][] LINE = new long[64][64];  // the whole line through two squares, including both
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    // magic multipliers for sliding attacks, found ahead of time by a random search against this square numbering so
+    // that no search is needed at startup; (blockers * magic) >>> shift is a perfect hash of the relevant blockers
+    private static final long[] ROOK_MAGICS = {
+            0x0080008040002010L, 0x2440400010002000L, 0x0200081040220080L, 0x090010010008A004L,
+            0x6080080002040080L, 0x0100040001000802L, 0x1500028100040E00L, 0x010000210000815AL,
+            0x4023002080010040L, 0x2200400040201000L, 0x001080100080200DL, 0x800200100A004020L,
+            0x0021000801000410L, 0x4152000200941048L, 0x4003000200010004L, 0x4482002408410482L,
+            0x8080024000200040L, 0x0690004000200040L, 0x0000820022001040L, 0x2000090010010020L,
+            0x0002110008010004L, 0x0212808002010400L, 0x0500040010610882L, 0x1001020020408104L,
+            0x2119004200208A01L, 0x1038200080400088L, 0x1800100080200082L, 0x0080080080801000L,
+            0x0400080080800400L, 0x0000020080800400L, 0x0021001900042200L, 0x2000288200030054L,
+            0x4040804000800022L, 0x5000210082004200L, 0x0381002001001042L, 0x0220808804801001L,
+            0x1021001005000800L, 0x8000040080800200L, 0x1010018804000210L, 0x0030140086000B41L,
+            0x8608843040008001L, 0x0002201000444000L, 0x4002820044120022L, 0x801100201001000CL,
+            0x0800040008008080L, 0x4004000201004040L, 0x4112081001040002L, 0x04019840AC020001L,
+            0x0000810044320200L, 0x8000804001002100L, 0x0000200080100080L, 0x00011200410A2200L,
+            0x1008051100880100L, 0x0240020004008080L, 0x804A480190420400L, 0x0000110090440200L,
+            0x2188810021904202L, 0x1440010080102041L, 0xA000120900422001L, 0x00B3003814209001L,
+            0xA006002004081002L, 0xA00D000204000801L, 0x0800408110080204L, 0x0809140904E04082L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x0088020404002208L, 0x1244106228410801L, 0x0021021400400110L, 0x8A182240C0040824L,
+            0x0404042000480080L, 0x0802014420201000L, 0x030A011008854206L, 0x0283084044200808L,
+            0x482111640800A400L, 0x0080902400B88201L, 0x2200040820810110L, 0xAC18480681000000L,
+            0x2180040308400008L, 0x0048082804100002L, 0x0A60206210242000L, 0x000400404210300EL,
+            0x0008C01020084080L, 0x0089400208280081L, 0x0050001119020010L, 0xC0C2002022024040L,
+            0x0004060280A00051L, 0x1804200110082000L, 0x9600490401080808L, 0x000A0080AA190C21L,
+            0x8804040040902400L, 0x0048208004010210L, 0x8008040008084010L, 0x01C0404024010200L,
+            0x0840840002020200L, 0x00880200108A0102L, 0x2504A410010C0201L, 0x0014082044822108L,
+            0x0001114000100410L, 0x0001080202600410L, 0x0002010102100050L, 0x0500A40102100900L,
+            0x08041004802C0082L, 0x0010960880241000L, 0xC028084101004110L, 0x8801004503220104L,
+            0x0062083240000818L, 0x0006020220004321L, 0x0000084058013000L, 0x2128060102400C04L,
+            0x0000282100400400L, 0x8448100090200200L, 0x4002080828804108L, 0x2804080210440220L,
+            0x00008618200E0050L, 0x90022D0110100080L, 0x0009810080900000L, 0x80180C0041109201L,
+            0x0000000803040828L, 0x000B41085121041CL, 0x0004040454040080L, 0xC004010401120044L,
+            0x4102044042301008L, 0x0241002082082012L, 0x8001000422011008L, 0x1200400001084800L,
+            0x10000000C0104111L, 0x4008820803480208L, 0xC11004A012120218L, 0x02C0212240820080L
+    };
+
+    // relevant blocker masks (rays without the board edge), index shifts, and offsets of each square into the tables
+    private static final long[] ROOK_MASKS = new long[64];
+    private static final int[] ROOK_SHIFTS = new int[64];
+    private static final int[] ROOK_OFFSETS = new int[64];
+    private static final long[] BISHOP_MASKS = new long[64];
+    private static final int[] BISHOP_SHIFTS = new int[64];
+    private static final int[] BISHOP_OFFSETS = new int[64];
+
+    private static final long[] ROOK_TABLE =
+            buildSliding(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS);
+    private static final long[] BISHOP_TABLE =
+            buildSliding(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+
+    static {
+        int[][] knightSteps = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+        int[][] kingSteps = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+        for (int square = 0; square < 64; square++) {
+            KNIGHT[square] = steps(square, knightSteps);
+            KING[square] = steps(square, kingSteps);
+            PAWN[Position.WHITE][square] = steps(square, new int[][] {{-1, -1}, {-1, 1}});
+            PAWN[Position.BLACK][square] = steps(square, new int[][] {{1, -1}, {1, 1}});
+            for (int[] d : kingSteps) {
+                buildLines(square, d);
+            }
+        }
+    }
+
+    // MODIFIES: BETWEEN, LINE
+    // EFFECTS: fills in the between and line tables from square to every square in direction d
+    private static void buildLines(int square, int[] d) {
+        long full = slide(square, 0L, new int[][] {d, {-d[0], -d[1]}}, false) | 1L << square;
+        long between = 0L;
+        for (int r = square / 8 + d[0], c = square % 8 + d[1]; r >= 0 && r <= 7 && c >= 0 && c <= 7;
+             r += d[0], c += d[1]) {
+            BETWEEN[square][r * 8 + c] = between;
+            LINE[square][r * 8 + c] = full;
+            between |= 1L << (r * 8 + c);
+        }
+    }
+
+    private Attacks() {}
+
+    // REQUIRES: 0 <= square <= 63
+    // EFFECTS: returns the squares a knight on square attacks
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    // REQUIRES: 0 <= square <= 63
+    // EFFECTS: returns the squares a king on square attacks, not including castling
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    // REQUIRES: 0 <= square <= 63, colour is Position.WHITE or Position.BLACK
+    // EFFECTS: returns the squares a pawn of colour on square attacks (i.e. can capture on)
+    public static long pawn(int colour, int square) {
+        return PAWN[colour][square];
+    }
+
+    // REQUIRES: 0 <= from, to <= 63
+    // EFFECTS: returns the squares strictly between from and to if they share a row, column or diagonal, else 0
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    // REQUIRES: 0 <= from, to <= 63
+    // EFFECTS: returns every square of the row, column or diagonal through from and to (edge to edge), or 0 if they
+    // do not share one
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    // REQUIRES: 0 <= square <= 63
+    // EFFECTS: returns the squares a rook on square attacks, given the set of occupied squares; the first piece met in
+    // each direction (of either colour) is included
+    public static long rook(int square, long occupied) {
+        return ROOK_TABLE[ROOK_OFFSETS[square]
+                + (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    // REQUIRES: 0 <= square <= 63
+    // EFFECTS: returns the squares a bishop on square attacks, given the set of occupied squares
+    public static long bishop(int square, long occupied) {
+        return BISHOP_TABLE[BISHOP_OFFSETS[square]
+                + (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    // REQUIRES: 0 <= square <= 63
+    // EFFECTS: returns the squares a queen on square attacks, given the set of occupied squares
+    public static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    // MODIFIES: masks, shifts, offsets
+    // EFFECTS: fills in the blocker mask, shift and table offset of every square, and returns the attack table holding
+    // the attacks for every subset of blockers of every square at its magic index
+    private static long[] buildSliding(int[][] directions, long[] magics, long[] masks, int[] shifts, int[] offsets) {
+        int size = 0;
+        for (int square = 0; square < 64; square++) {
+            masks[square] = slide(square, 0L, directions, true);
+            shifts[square] = 64 - Long.bitCount(masks[square]);
+            offsets[square] = size;
+            size += 1 << Long.bitCount(masks[square]);
+        }
+        long[] table = new long[size];
+        for (int square = 0; square < 64; square++) {
+            long blockers = 0L;
+            do {  // enumerates every subset of the mask
+                int index = (int) ((blockers * magics[square]) >>> shifts[square]);
+                table[offsets[square] + index] = slide(square, blockers, directions, false);
+                blockers = (blockers - masks[square]) & masks[square];
+            } while (blockers != 0);
+        }
+        return table;
+    }
+
+    // EFFECTS: walks each direction from square until the edge of the board or an occupied square (which is included),
+    // and returns the squares passed. If innerOnly, the last square before the edge is not included, giving the
+    // squares whose occupancy actually matters for the attack.
+    private static long slide(int square, long occupied, int[][] directions, boolean innerOnly) {
+        long result = 0L;
+        for (int[] d : directions) {
+            int r = square / 8 + d[0];
+            int c = square % 8 + d[1];
+            while (r >= 0 && r <= 7 && c >= 0 && c <= 7) {
+                if (innerOnly && (r + d[0] < 0 || r + d[0] > 7 || c + d[1] < 0 || c + d[1] > 7)) {
+                    break;
+                }
+                long bit = 1L << (r * 8 + c);
+                result |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                r += d[0];
+                c += d[1];
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the squares reached by taking each (row, column) step once from square, ignoring steps that
+    // would leave the board
+    private static long steps(int square, int[][] steps) {
+        long result = 0L;
+        int row = square / 8;
+        int col = square % 8;
+        for (int[] step : steps) {
+            int r = row + step[0];
+            int c = col + step[1];
+            if (r >= 0 && r <= 7 && c >= 0 && c <= 7) {
+                result |= 1L << (r * 8 + c);
+            }
+        }
+        return result;
+    }
+}
@@ -1,7 +1,5 @@
 package model;
 
-import java.util.Set;
-
 // Bishop piece
 public class Bishop extends Piece {
     // while bishops are associated with a colour square, this is a consequence of their movement rather than an
@@ -11,10 +9,12 @@ public class Bishop extends Piece {
         super(allegiance, position);
     }
 
-    // EFFECTS: returns list of all squares bishop can move to; note that this includes moves that would leave
+    // EFFECTS: returns bitboard of all squares bishop can move to; note that this includes moves that would leave
     // the bishop's king in check
-    public Set<Integer> getMoves(GameBoard board) {
-        return getMovesDiagonal(board);
+    @Override
+    public long getMoveMask(GameBoard board) {
+        Position p = board.getPosition();
+        return Attacks.bishop(position, p.occupied()) & ~p.colour(colour);
     }
 
     public String getName() {
@@ -1,24 +1,47 @@
 package model;
 
-import model.exceptions.PromotionException;
+import model.exceptions.InvalidFenException;
+import model.exceptions.NotValidSquareException;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 // represents the current game state with all pieces and their locations
 public class GameBoard {
-    private Map<Integer, Piece> pieces;  // list of pieces on board, key is the position of piece
+    private static final String[] PROMOTION_NAMES = {"P", "N", "B", "R", "Q", "K"};  // names by Position type
+    private static final String FEN_PIECES = "PNBRQKpnbrqk";  // FEN letters by Position piece code
+
+    private Piece[] squares;  // piece objects on board, indexed by the position of the piece
+    private Position position;  // bitboards of the pieces on board, always kept in sync with squares
+    private int[] kingSquares;  // square of the king of each colour (indexed by Position colour), or -1 if none
     private String turn; // the side that gets to move next turn; either "W" or "B"
     private String status;  // end result of game, null if not applicable
-    private Move lastMove;  // the most recent move of the game; useful for displays and for en passant
+    private Move lastMove;  // the most recent move of the game; useful for displays
+    private int enPassant;  // square a pawn can move to by capturing en passant, or -1 if there is none
+    private int halfmoveClock;  // plies since the last pawn move or capture
+    private int fullmoveNumber;  // number of the current move, starting at 1 and going up after each move of black
+    private UndoRecord[] history;  // stack of moves made on this board that can be taken back
+    private int historySize;
+    private int firstUndoable;  // index of the first history record that can be taken back (see the copy constructor)
+    private boolean validateKeys;  // if true, the incremental position key is checked against a full recomputation
     private final EventLog log = EventLog.getInstance();
 
     // MODIFIES: this
     // EFFECTS: creates a board with pieces on starting positions, with white to move, and no moves played yet.
     // if empty is set to true, only kings will be put on the board when initialized
     public GameBoard(boolean empty) {
-        pieces = new HashMap<>();
+        this(empty, true);
+    }
+
+    // EFFECTS: creates a board with pieces on starting positions, with white to move, and no moves played yet.
+    public GameBoard() {
+        this(false, true);
+    }
+
+    // EFFECTS: creates a board as GameBoard(empty) does, logging that a new board was created if logged
+    private GameBoard(boolean empty, boolean logged) {
+        squares = new Piece[64];
+        position = new Position();
+        kingSquares = new int[] {-1, -1};
         if (!empty) {
             setup();
         } else {
@@ -27,25 +50,214 @@ public class GameBoard {
         turn = "W";
         status = null;
         lastMove = null;
+        enPassant = -1;
+        halfmoveClock = 0;
+        fullmoveNumber = 1;
+        history = new UndoRecord[16];
+        historySize = 0;
+        if (logged) {
+            log.logEvent(new Event("Created new board"));
+        }
     }
 
-    // EFFECTS: creates a board with pieces on starting positions, with white to move, and no moves played yet.
-    public GameBoard() {
-        pieces = new HashMap<>();
-        setup();
-        turn = "W";
-        status = null;
-        lastMove = null;
+    // EFFECTS: returns a board with pieces on starting positions as new GameBoard() does, without logging its
+    // creation, for code that makes a board for every one of many games read (the event log keeps every event)
+    public static GameBoard startingPosition() {
+        return new GameBoard(false, false);
+    }
+
+    // EFFECTS: creates an independent copy of other, with copies of all of its pieces, so that moves can be made on
+    // both boards at the same time (e.g. by different threads). The copy knows the position keys of the moves made on
+    // other, so repetitions are still detected, but those moves can not be taken back on the copy.
+    public GameBoard(GameBoard other) {
+        squares = new Piece[64];
+        for (int i = 0; i < 64; i++) {
+            squares[i] = other.squares[i] == null ? null : clonePiece(other.squares[i]);
+        }
+        position = new Position(other.position);
+        kingSquares = other.kingSquares.clone();
+        turn = other.turn;
+        status = other.status;
+        lastMove = other.lastMove;
+        enPassant = other.enPassant;
+        halfmoveClock = other.halfmoveClock;
+        fullmoveNumber = other.fullmoveNumber;
+        history = new UndoRecord[Math.max(16, other.historySize * 2)];
+        historySize = 0;
+        while (historySize < other.historySize) {
+            UndoRecord original = other.history[historySize];
+            UndoRecord record = pushRecord();
+            record.key = original.key;
+            record.halfmoveClock = original.halfmoveClock;
+        }
+        firstUndoable = historySize;
+    }
+
+    // EFFECTS: returns a board set up as described by a position in Forsyth-Edwards Notation, e.g.
+    // "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", with no moves played on it. The piece placement
+    // and side to move are required; castling rights, en passant square, halfmove clock and fullmove number default to
+    // none, none, 0 and 1 when left out. Kings and rooks are marked as moved unless a castling right says otherwise.
+    // Like startingPosition, the creation of the board is not logged.
+    // Throws InvalidFenException if fen is not a well-formed FEN position, does not have exactly one king of each side,
+    // or names an en passant square on which no pawn can be taken.
+    public static GameBoard fromFen(String fen) throws InvalidFenException {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 2) {
+            throw new InvalidFenException("FEN needs at least piece placement and side to move: " + fen);
+        }
+        GameBoard board = new GameBoard(true, false);
+        board.removePiece(60);
+        board.removePiece(4);
+        String castling = fields.length > 2 ? fields[2] : "-";
+        board.placePieces(fields[0], castling);
+        for (int side = Position.WHITE; side <= Position.BLACK; side++) {
+            if (Long.bitCount(board.position.pieces(side, Position.KING)) != 1) {
+                throw new InvalidFenException("Each side needs exactly one king: " + fields[0]);
+            }
+        }
+        if (!fields[1].equals("w") && !fields[1].equals("b")) {
+            throw new InvalidFenException("Side to move must be w or b: " + fields[1]);
+        }
+        board.turn = fields[1].equals("w") ? "W" : "B";
+        board.parseCounters(fields);
+        return board;
+    }
+
+    // EFFECTS: returns the FEN en passant square in field; throws InvalidFenException if it is not a square on the
+    // sixth rank of the side to move with an enemy pawn just in front of it, as after that pawn's double step
+    private int parseEnPassant(String field) throws InvalidFenException {
+        int square;
+        try {
+            square = MoveList.toCoordinate(field);
+        } catch (NotValidSquareException e) {
+            throw new InvalidFenException("Invalid en passant square: " + field);
+        }
+        boolean white = turn.equals("W");
+        int pawn = white ? square + 8 : square - 8;
+        if (square / 8 != (white ? 2 : 5)
+                || position.codeAt(pawn) != (white ? Position.BLACK : Position.WHITE) * 6 + Position.PAWN) {
+            throw new InvalidFenException("No pawn can be taken en passant on " + field);
+        }
+        return square;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the en passant square, halfmove clock and fullmove number from the FEN fields, if they are given;
+    // throws InvalidFenException if any of them is not valid
+    private void parseCounters(String[] fields) throws InvalidFenException {
+        if (fields.length > 3 && !fields[3].equals("-")) {
+            enPassant = parseEnPassant(fields[3]);
+        }
+        if (fields.length > 4) {
+            halfmoveClock = parseCounter(fields[4], 0, "halfmove clock");
+        }
+        if (fields.length > 5) {
+            fullmoveNumber = parseCounter(fields[5], 1, "fullmove number");
+        }
+    }
+
+    // EFFECTS: returns the FEN counter in field; throws InvalidFenException, naming the counter name, if it is not a
+    // number of at least min
+    private static int parseCounter(String field, int min, String name) throws InvalidFenException {
+        try {
+            int value = Integer.parseInt(field);
+            if (value >= min) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new InvalidFenException("Invalid " + name + ": " + field);
+    }
+
+    // EFFECTS: returns the position on this board in Forsyth-Edwards Notation, as read by fromFen: piece placement,
+    // side to move, castling rights, en passant square (after any pawn move of two squares, whether or not a capture
+    // is possible), halfmove clock and fullmove number
+    public String toFen() {
+        StringBuilder fen = new StringBuilder();
+        for (int rank = 0; rank < 8; rank++) {
+            int empty = 0;
+            for (int square = rank * 8; square < rank * 8 + 8; square++) {
+                int code = position.codeAt(square);
+                if (code == Position.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                fen.append(empty > 0 ? String.valueOf(empty) : "").append(FEN_PIECES.charAt(code));
+                empty = 0;
+            }
+            fen.append(empty > 0 ? String.valueOf(empty) : "").append(rank < 7 ? "/" : "");
+        }
+        fen.append(turn.equals("W") ? " w " : " b ").append(castlingField()).append(' ')
+                .append(enPassant < 0 ? "-" : MoveList.fromCoordinate(enPassant));
+        return fen.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber).toString();
+    }
+
+    // EFFECTS: returns the castling rights left on the board as the castling field of a FEN position
+    private String castlingField() {
+        int rights = getCastlingRights();
+        String field = ((rights & Zobrist.WHITE_KING_SIDE) != 0 ? "K" : "")
+                + ((rights & Zobrist.WHITE_QUEEN_SIDE) != 0 ? "Q" : "")
+                + ((rights & Zobrist.BLACK_KING_SIDE) != 0 ? "k" : "")
+                + ((rights & Zobrist.BLACK_QUEEN_SIDE) != 0 ? "q" : "");
+        return field.isEmpty() ? "-" : field;
+    }
+
+    // REQUIRES: this board is empty
+    // MODIFIES: this
+    // EFFECTS: adds the pieces of the placement field of a FEN position (rank 8 first), with castling used to decide
+    // which kings and rooks have not moved; throws InvalidFenException if placement does not describe 64 squares
+    private void placePieces(String placement, String castling) throws InvalidFenException {
+        int square = 0;
+        for (char c : placement.toCharArray()) {
+            if (c == '/') {
+                if (square % 8 != 0) {
+                    throw new InvalidFenException("Rank does not have 8 squares: " + placement);
+                }
+            } else if (c >= '1' && c <= '8') {
+                square += c - '0';
+            } else if ("PNBRQKpnbrqk".indexOf(c) >= 0 && square < 64) {
+                String allegiance = Character.isUpperCase(c) ? "W" : "B";
+                String name = String.valueOf(Character.toUpperCase(c));
+                addPiece(Piece.createPiece(allegiance, square, !keepsCastling(name, square, castling), name));
+                square++;
+            } else {
+                throw new InvalidFenException("Invalid piece placement: " + placement);
+            }
+        }
+        if (square != 64) {
+            throw new InvalidFenException("Piece placement does not have 64 squares: " + placement);
+        }
+    }
+
+    // EFFECTS: returns true if a piece named name on square is needed unmoved for one of the FEN castling rights
+    private static boolean keepsCastling(String name, int square, String castling) {
+        if (name.equals("K")) {
+            return square == 60 && (castling.contains("K") || castling.contains("Q"))
+                    || square == 4 && (castling.contains("k") || castling.contains("q"));
+        } else if (name.equals("R")) {
+            return square == 63 && castling.contains("K") || square == 56 && castling.contains("Q")
+                    || square == 7 && castling.contains("k") || square == 0 && castling.contains("q");
+        }
+        return true;  // only kings and rooks use the moved flag for castling
     }
 
     // EFFECTS: returns true if there exists a piece with coordinates equal to pos
     public boolean existsPiece(int pos) {
-        return pieces.get(pos) != null;
+        return pos >= 0 && pos <= 63 && position.isOccupied(pos);
     }
 
     // EFFECTS: returns the piece object on specified square, or null if piece does not exist
     public Piece getPiece(int pos) {
-        return pieces.get(pos);
+        if (pos < 0 || pos > 63) {
+            return null;
+        }
+        return squares[pos];
+    }
+
+    // EFFECTS: returns the bitboard representation of the pieces on this board; it must not be modified
+    public Position getPosition() {
+        return position;
     }
 
     // REQUIRES: nothing
@@ -56,93 +268,352 @@ public class GameBoard {
     // ELSE, method returns false.
     public boolean movePiece(int start, int end) {
         Piece moving = getPiece(start);
-        if (moving == null || !moving.getLegalMoves(this).contains(end)) {
+        if (moving == null || end < 0 || end > 63 || (MoveGenerator.legalTargets(this, start) & (1L << end)) == 0) {
             return false;
         }
         Piece clone = clonePiece(moving);
-        toggleTurn();
-        try {
-            Piece captured = updateBoard(moving, end);
-            if (captured != null) {
-                pieces.remove(captured.getPosition());
-            }
-            pieces.remove(start);
-            moving.setPosition(end);
-            addPiece(moving);
-            lastMove = new Move(clone, start, end, isCheck(), captured);
-        } catch (PromotionException e) {
-            pieces.remove(moving.getPosition());
-            Piece captured = e.getCaptured();
-            lastMove = new Move(clone, start, end, isCheck(), captured);
-        }
+        makeMove(start, end, Position.QUEEN);  // assume that all pawns promote into queens
+        lastMove = new Move(clone, start, end, isCheck(), history[historySize - 1].captured);
         log.logEvent(new Event("Made move: " + MoveList.toNotation(lastMove)));
         return true;
     }
 
-    // REQUIRES: p is in this.pieces, 0 <= end <= 63
+    // REQUIRES: move was produced by MoveGenerator for this position
+    // EFFECTS: returns the Move that movePiece would record for move, without changing the board
+    public Move toMove(int move) {
+        int start = MoveGenerator.start(move);
+        Piece clone = clonePiece(squares[start]);
+        makeMove(move);
+        boolean check = isCheck();
+        Piece captured = history[historySize - 1].captured;
+        unmakeMove();
+        return new Move(clone, start, MoveGenerator.end(move), check, captured);
+    }
+
+    // REQUIRES: there is a piece on start that can move to end (legality is not checked), promotion is one of
+    // Position.KNIGHT, BISHOP, ROOK or QUEEN
+    // MODIFIES: this
+    // EFFECTS: makes the move in place, including castling, en passant and promotion (into the promotion piece type if
+    // a pawn reaches the last rank), and gives the turn to the other player. The move is pushed onto the history so
+    // that unmakeMove can restore the board exactly. lastMove is not changed and nothing is logged; use movePiece for
+    // moves that are part of the game.
+    public void makeMove(int start, int end, int promotion) {
+        UndoRecord record = recordMove(start, end);
+        Piece moving = record.moving;
+        int type = position.codeAt(start) % 6;
+        if (type == Position.PAWN && end == enPassant) {  // the captured pawn is beside the moving one
+            record.capturedSquare = moving.getColour() == Position.WHITE ? end + 8 : end - 8;
+            record.captured = squares[record.capturedSquare];
+        }
+        if (record.captured != null) {
+            removePiece(record.capturedSquare);
+        }
+        changePos(moving, end);
+
+        if (type == Position.PAWN && (end <= 7 || end >= 56)) {
+            record.promoted = Piece.createPiece(moving.getAllegiance(), end, true, PROMOTION_NAMES[promotion]);
+            addPiece(record.promoted);
+        } else if (type == Position.KING && Math.abs(end - start) == 2) {  // castling, so move the rook as well
+            moveCastlingRook(record, start, end);
+        }
+
+        enPassant = type == Position.PAWN && Math.abs(end - start) == 16 ? (start + end) / 2 : -1;
+        // pawn moves and captures can never be undone in a game, so no earlier position can occur again after them
+        halfmoveClock = type == Position.PAWN || record.captured != null ? 0 : halfmoveClock + 1;
+        passTurn();
+        validateKey();
+    }
+
+    // REQUIRES: move was produced by MoveGenerator for this position
+    // MODIFIES: this
+    // EFFECTS: makes an encoded move in place, as makeMove(start, end, promotion) does
+    public void makeMove(int move) {
+        int promotion = MoveGenerator.promotion(move);
+        makeMove(MoveGenerator.start(move), MoveGenerator.end(move), promotion == 0 ? Position.QUEEN : promotion);
+    }
+
+    // REQUIRES: at least one move was made with makeMove (or movePiece) and not yet taken back
+    // MODIFIES: this
+    // EFFECTS: takes back the most recent move, restoring every piece (including its moved flag), the turn, the en
+    // passant square, the halfmove clock and lastMove to what they were before the move was made.
+    public void unmakeMove() {
+        UndoRecord record = history[--historySize];
+        takeBackTurn();
+        enPassant = record.enPassant;
+        halfmoveClock = record.halfmoveClock;
+        lastMove = record.lastMove;
+        if (record.rook != null) {
+            removePiece(record.rookEnd);
+            record.rook.restorePosition(record.rookStart, record.rookWasMoved);
+            addPiece(record.rook);
+        }
+        removePiece(record.end);
+        record.moving.restorePosition(record.start, record.movingWasMoved);
+        addPiece(record.moving);
+        if (record.captured != null) {
+            addPiece(record.captured);
+        }
+        record.moving = null;  // do not keep pieces alive through the reused record
+        record.captured = null;
+        record.promoted = null;
+        record.rook = null;
+        record.lastMove = null;
+        validateKey();
+    }
+
+    // REQUIRES: the side to move is not in check
+    // MODIFIES: this
+    // EFFECTS: gives the turn to the other player without moving a piece (a null move, which is not legal in chess but
+    // lets a search see what the other player could do if it had two moves in a row). The en passant square is cleared
+    // and the halfmove clock starts over, so no repetition is counted across the null move. The null move is pushed
+    // onto the history like a move, and must be taken back with unmakeNullMove.
+    public void makeNullMove() {
+        UndoRecord record = pushRecord();
+        record.enPassant = enPassant;
+        record.halfmoveClock = halfmoveClock;
+        record.key = getPositionKey();
+        record.lastMove = lastMove;
+        enPassant = -1;
+        halfmoveClock = 0;
+        passTurn();
+        validateKey();
+    }
+
+    // REQUIRES: the most recent move made and not yet taken back is a null move made with makeNullMove
+    // MODIFIES: this
+    // EFFECTS: takes back the null move, restoring the turn, the en passant square and the halfmove clock
+    public void unmakeNullMove() {
+        UndoRecord record = history[--historySize];
+        takeBackTurn();
+        enPassant = record.enPassant;
+        halfmoveClock = record.halfmoveClock;
+        lastMove = record.lastMove;
+        record.lastMove = null;
+        validateKey();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: pushes a record of the state of the board before the piece on start moves to end, assuming that the
+    // move captures whatever is on end
+    private UndoRecord recordMove(int start, int end) {
+        UndoRecord record = pushRecord();
+        record.start = start;
+        record.end = end;
+        record.moving = squares[start];
+        record.movingWasMoved = record.moving.isMoved();
+        record.captured = squares[end];
+        record.capturedSquare = end;
+        record.promoted = null;
+        record.rook = null;
+        record.enPassant = enPassant;
+        record.halfmoveClock = halfmoveClock;
+        record.key = getPositionKey();
+        record.lastMove = lastMove;
+        return record;
+    }
+
+    // REQUIRES: the king castled from start to end
+    // MODIFIES: this, record
+    // EFFECTS: moves the rook the king castled with to the other side of the king, and records it for unmakeMove
+    private void moveCastlingRook(UndoRecord record, int start, int end) {
+        record.rookStart = end > start ? end + 1 : end - 2;
+        record.rookEnd = end > start ? end - 1 : end + 1;
+        record.rook = squares[record.rookStart];
+        record.rookWasMoved = record.rook.isMoved();
+        changePos(record.rook, record.rookEnd);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next free record on the history stack, growing the stack if it is full
+    private UndoRecord pushRecord() {
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, historySize * 2);
+        }
+        if (history[historySize] == null) {
+            history[historySize] = new UndoRecord();
+        }
+        return history[historySize++];
+    }
+
+    // EFFECTS: returns the square a pawn can move to by capturing en passant, or -1 if there is none
+    public int getEnPassantSquare() {
+        return enPassant;
+    }
+
+    // EFFECTS: returns the number of plies made since the last pawn move or capture
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    // EFFECTS: returns the number of the current full move, which starts at 1 and goes up after each move of black
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    // EFFECTS: returns how many times the current position occurred before in the moves made on this board. Only
+    // positions with the same side to move since the last pawn move or capture can be the same, so only their keys
+    // in the history are compared, every second ply back to the last irreversible move.
+    public int countRepetitions() {
+        long key = getPositionKey();
+        int count = 0;
+        for (int ply = historySize - 2; ply >= Math.max(0, historySize - halfmoveClock); ply -= 2) {
+            if (history[ply].key == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // EFFECTS: returns true if the current position has occurred at least three times
+    public boolean isThreefoldRepetition() {
+        return countRepetitions() >= 2;
+    }
+
+    // EFFECTS: returns the 64-bit Zobrist key of the current position, covering the pieces on their squares, the side
+    // to move, the castling rights and the en passant file. Positions that are the same for the rules of chess have
+    // the same key. The piece part is kept up to date by every change to the board, so this takes constant time.
+    public long getPositionKey() {
+        return position.key() ^ stateKey();
+    }
+
+    // EFFECTS: returns the position key computed from scratch out of the piece objects on the board, without using
+    // the incrementally maintained key; this is what getPositionKey must always be equal to
+    public long computePositionKey() {
+        long key = 0L;
+        for (int i = 0; i < 64; i++) {
+            Piece p = squares[i];
+            if (p != null) {
+                key ^= Zobrist.piece(p.getColour() * 6 + Position.typeOf(p.getName()), i);
+            }
+        }
+        return key ^ stateKey();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: turns validation of the position key on or off. While it is on, every change to the board recomputes
+    // the key from scratch and throws IllegalStateException if the incremental key differs. This is slow and only
+    // meant for tests.
+    public void setKeyValidation(boolean validate) {
+        validateKeys = validate;
+        validateKey();
+    }
+
+    // EFFECTS: if validation is on, throws IllegalStateException if the incremental key is not the recomputed key
+    private void validateKey() {
+        if (validateKeys && getPositionKey() != computePositionKey()) {
+            throw new IllegalStateException("Position key " + Long.toHexString(getPositionKey())
+                    + " does not match recomputed key " + Long.toHexString(computePositionKey()));
+        }
+    }
+
+    // EFFECTS: returns the part of the position key that is not about where the pieces stand: side to move, castling
+    // rights, and the en passant file if a pawn of the side to move can actually capture there (otherwise the square
+    // makes no difference to the position)
+    private long stateKey() {
+        long key = Zobrist.castling(getCastlingRights());
+        int us = Position.colourOf(turn);
+        if (us == Position.BLACK) {
+            key ^= Zobrist.side();
+        }
+        if (enPassant >= 0 && (Attacks.pawn(1 - us, enPassant) & position.pieces(us, Position.PAWN)) != 0) {
+            key ^= Zobrist.enPassant(enPassant);
+        }
+        return key;
+    }
+
+    // EFFECTS: returns the castling rights left on the board as a combination of the Zobrist castling bits. A side
+    // keeps a right while its king and the rook in that corner are on their starting squares and have not moved.
+    int getCastlingRights() {
+        int rights = 0;
+        if (unmoved(60, Position.WHITE, Position.KING)) {
+            rights |= unmoved(63, Position.WHITE, Position.ROOK) ? Zobrist.WHITE_KING_SIDE : 0;
+            rights |= unmoved(56, Position.WHITE, Position.ROOK) ? Zobrist.WHITE_QUEEN_SIDE : 0;
+        }
+        if (unmoved(4, Position.BLACK, Position.KING)) {
+            rights |= unmoved(7, Position.BLACK, Position.ROOK) ? Zobrist.BLACK_KING_SIDE : 0;
+            rights |= unmoved(0, Position.BLACK, Position.ROOK) ? Zobrist.BLACK_QUEEN_SIDE : 0;
+        }
+        return rights;
+    }
+
+    // EFFECTS: returns true if there is a piece of the given colour and type on square that has never moved
+    private boolean unmoved(int square, int colour, int type) {
+        return position.codeAt(square) == colour * 6 + type && !squares[square].isMoved();
+    }
+
+    // REQUIRES: p is on this board, 0 <= end <= 63
     // MODIFIES: this, p
     // EFFECTS: changes position of the piece and also the key of the piece in the board.
     // call this method when trying to move pieces around in tests
     protected void changePos(Piece p, int end) {
-        pieces.remove(p.getPosition());
+        removePiece(p.getPosition());
         p.setPosition(end);
-        pieces.put(end, p);
+        addPiece(p);
     }
 
     // REQUIRES: board must always have a king; but this should always be the case.
     // EFFECTS: returns true if the side moving is currently in check; otherwise returns false
     public boolean isCheck() {
-        int kingSquare = 63;
+        return isCheck(Position.colourOf(turn));
+    }
+
+    // EFFECTS: returns true if the king of side (Position.WHITE or BLACK) is attacked by an enemy piece
+    private boolean isCheck(int side) {
+        int kingSquare = kingSquares[side];
         // set a default square so game doesn't crash when there is no king, although this should never happen
-        for (Piece p : pieces.values()) {
-            if (p.getName().equals("K") && p.getAllegiance().equals(turn)) {
-                kingSquare = p.getPosition();
-                break;
-            }
-        }
-        for (Piece p : pieces.values()) {
-            if (!p.getAllegiance().equals(turn)) {
-                if (p.getMoves(this).contains(kingSquare)) {
-                    return true;
-                }
-            }
+        return isSquareAttacked(kingSquare < 0 ? 63 : kingSquare, 1 - side);
+    }
+
+    // REQUIRES: 0 <= square <= 63, side is either "W" or "B"
+    // EFFECTS: returns true if any piece of side attacks square (i.e. could capture a piece standing on it)
+    public boolean isSquareAttacked(int square, String side) {
+        return isSquareAttacked(square, Position.colourOf(side));
+    }
+
+    // EFFECTS: returns true if any piece of side (Position.WHITE or BLACK) attacks square
+    boolean isSquareAttacked(int square, int side) {
+        return attackersTo(square, position.occupied(), side) != 0;
+    }
+
+    // EFFECTS: returns the pieces of side that attack square, with sliding attacks blocked by occupied. Instead of
+    // generating the moves of every enemy piece, this looks outward from square: a knight, king or pawn of side can
+    // only attack it from a square it could attack itself, and sliders only along the rays they would see from it.
+    long attackersTo(int square, long occupied, int side) {
+        long queens = position.pieces(side, Position.QUEEN);
+        return (Attacks.knight(square) & position.pieces(side, Position.KNIGHT))
+                | (Attacks.king(square) & position.pieces(side, Position.KING))
+                | (Attacks.pawn(1 - side, square) & position.pieces(side, Position.PAWN))
+                | (Attacks.rook(square, occupied) & (position.pieces(side, Position.ROOK) | queens))
+                | (Attacks.bishop(square, occupied) & (position.pieces(side, Position.BISHOP) | queens));
+    }
+
+    // REQUIRES: side is either "W" or "B"
+    // EFFECTS: returns the square of the king of side, or -1 if that side has no king on the board
+    public int getKingSquare(String side) {
+        return kingSquares[Position.colourOf(side)];
+    }
+
+    // EFFECTS: returns the square of the king of side (Position.WHITE or BLACK), or -1 if it has no king
+    int getKingSquare(int side) {
+        return kingSquares[side];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: gives the turn to the other player after a move, starting the next full move after a move of black
+    private void passTurn() {
+        if (turn.equals("B")) {
+            fullmoveNumber++;
         }
-        return false;
+        toggleTurn();
     }
 
-    // REQUIRES: board must have been initialized to start from a normal starting position
     // MODIFIES: this
-    // EFFECTS: updates board in special cases and returns piece being captured if applicable. Basically moves pieces
-    // in cases outside normal movement or captures. The piece being captured needs to be found in this method due to
-    // en passant tests being here.
-    private Piece updateBoard(Piece moving, int end) throws PromotionException {
-        // whether special moves are legal is determined by the piece class, this method only updates the board
-        if (moving.getName().equals("P") && (end <= 7 || end >= 56)) {  // promotion
-            Piece captured = getPiece(end);
-            removePiece(end);
-            addPiece(new Queen(moving.getAllegiance(), end));
-            throw new PromotionException(captured);
-            // assume that all pawns promote into queens
-        } else if (moving.getName().equals("K") && !moving.isMoved()) { // castling
-            if (end == 62) {
-                // we trust that there is already a rook on 63, since otherwise this would not be legal end move
-                changePos(getPiece(63), 61);
-            } else if (end == 58) {
-                changePos(getPiece(56), 59);
-            } else if (end == 2) {
-                changePos(getPiece(0), 3);
-            } else if (end == 6) {
-                changePos(getPiece(7), 5);
-            }
-        } else if (lastMove != null && lastMove.getPiece().getName().equals("P") && moving.getName().equals("P")) {
-            if (lastMove.getEnd() == end + 8 && moving.getAllegiance().equals("W")) {
-                // en passant for white
-                return getPiece(end + 8);
-            } else if (lastMove.getEnd() == end - 8  && moving.getAllegiance().equals("B")) { // en passant for black
-                return getPiece(end - 8);
-            }
+    // EFFECTS: gives the turn back to the player who made the move being taken back, as passTurn was undone
+    private void takeBackTurn() {
+        toggleTurn();
+        if (turn.equals("B")) {
+            fullmoveNumber--;
         }
-        return getPiece(end);  // may also return null, in which case no piece will be captured
     }
 
     // MODIFIES: this
@@ -166,7 +637,15 @@ public class GameBoard {
     // MODIFIES: this
     // EFFECTS: adds a piece to the board
     public void addPiece(Piece piece) {
-        pieces.put(piece.getPosition(), piece);
+        int pos = piece.getPosition();
+        removePiece(pos);
+        int type = Position.typeOf(piece.getName());
+        squares[pos] = piece;
+        position.put(pos, piece.getColour(), type);
+        if (type == Position.KING) {
+            kingSquares[piece.getColour()] = pos;
+        }
+        validateKey();
     }
 
     // REQUIRES: the piece at the coordinates is not a king
@@ -174,129 +653,75 @@ public class GameBoard {
     // EFFECTS: removes a piece from the board; if piece is king, method will work, but chess can't be played without
     // a king.
     public void removePiece(int position) {
-        pieces.remove(position);
+        int code = this.position.codeAt(position);
+        if (code % 6 == Position.KING && kingSquares[code / 6] == position) {
+            kingSquares[code / 6] = -1;
+        }
+        squares[position] = null;
+        this.position.clear(position);
+        validateKey();
     }
 
     // REQUIRES: there must be a piece at start coordinates, and piece.getMoves().contains(end) value.
     // EFFECTS: returns true if the side moving is in check after move, i.e. if opponent is able to capture
     // king if it were to be making the move; exception will be thrown if there is no piece found at start
     public boolean testCheck(int start, int end) {
-        HashMap<Integer, Piece> original = tempBoard();
-        Piece moving = getPiece(start);
-        try {
-            Piece captured = updateBoard(moving, end);
-            if (captured != null) {
-                pieces.remove(captured.getPosition());
-            }
-        } catch (PromotionException e) {
-            pieces.remove(moving.getPosition());
-        }
-        changePos(moving, end);
-        boolean val = isCheck();
-        this.pieces = original;
+        int side = Position.colourOf(turn);
+        makeMove(start, end, Position.QUEEN);
+        boolean val = isCheck(side);
+        unmakeMove();
         return val;
     }
 
-    // MODIFIES: this
-    // EFFECTS: creates the move on game board with cloned pieces, but saves previous state in return value
-    // i.e. this method replaces board with a deep clone of the board
-    private HashMap<Integer, Piece> tempBoard() {
-        HashMap<Integer, Piece> original = new HashMap<>(this.pieces);
-        this.pieces = new HashMap<>();
-        for (int i : original.keySet()) {
-            addPiece(clonePiece(original.get(i)));
-        }
-        return original;
-    }
-
     // REQUIRES: board is in reachable chess position
     // MODIFIES: this
     // EFFECTS: Checks if the board is in a position that is a checkmate or drawn. Sets status field as follows:
-    // possible end conditions are "Checkmate", "Stalemate, "Draw By Insufficient Material".
-    // The checks for 3 move repetition and 50 move rule will be done in MoveList class instead.
+    // possible end conditions are "Checkmate", "Stalemate, "Draw By Insufficient Material", "Draw By Repetition".
+    // The 50 move rule is not checked.
     // Returns true if game is over, and the reason for ending is logged to event log; method returns false otherwise.
     public boolean checkStatus() {
         if (testInsufficientMaterial()) {
-            status = "Draw By Insufficient Material";
-            log.logEvent(new Event("Game Over: " + status));
-            return true;
+            return endGame("Draw By Insufficient Material");
         } else if (testNoMoves()) {
-            if (isCheck()) {
-                if (turn.equals("W")) {
-                    status = "Black Wins By Checkmate";
-                    log.logEvent(new Event("Game Over: " + status));
-                } else {
-                    status = "White Wins By Checkmate";
-                    log.logEvent(new Event("Game Over: " + status));
-                }
-            } else {
-                status = "Stalemate";
-                log.logEvent(new Event("Game Over: " + status));
+            if (!isCheck()) {
+                return endGame("Stalemate");
             }
-            return true;
+            return endGame(turn.equals("W") ? "Black Wins By Checkmate" : "White Wins By Checkmate");
+        } else if (isThreefoldRepetition()) {
+            return endGame("Draw By Repetition");
         }
         return false;
     }
 
-    // EFFECTS: returns true when the moving side has no possible moves to make
-    private boolean testNoMoves() {
-        if (turn.equals("W")) {
-            for (Piece p : pieces.values()) {
-                if (p.getAllegiance().equals("W") && p.getLegalMoves(this).size() > 0) {
-                    return false;
-                }
-            }
-            return true;
-        }  // no need for else here
-        for (Piece p : pieces.values()) {
-            if (p.getAllegiance().equals("B") && p.getLegalMoves(this).size() > 0) {
-                return false;
-            }
-        }
+    // MODIFIES: this
+    // EFFECTS: sets the status of the game to result, logs that the game is over, and returns true
+    private boolean endGame(String result) {
+        status = result;
+        log.logEvent(new Event("Game Over: " + status));
         return true;
     }
 
-    @SuppressWarnings("methodlength")
-    // My method is only 28 lines long, and I included comments to help make the code less confusing, so it is more
-    // clear why I needed the extra 3 lines. I believe that there is no way of dividing up this method further without
-    // making the code twice as inefficient (such has having 2 methods, one for each side), or more confusing to read.
-    // I added an EFFECTS clause to better explain what this private method is designed to do.
+    // EFFECTS: returns true when the moving side has no possible moves to make
+    private boolean testNoMoves() {
+        return !MoveGenerator.hasLegalMove(this);
+    }
 
     // REQUIRES: nothing
     // EFFECTS: If either side has a Queen, Rook, or pawn, returns false. Furthermore, if there exists the following
     // pieces (or more) of the same colour for either side: 2 bishops, bishop and knight, or 3 knights, return false.
     // Otherwise, return true, as there is not enough material for either side to for a checkmate.
     private boolean testInsufficientMaterial() {
-        ArrayList<String> piecesW = new ArrayList<>();
-        ArrayList<String> piecesB = new ArrayList<>();
-        ArrayList<String> current;
-        for (Piece p : pieces.values()) {
-            // depending on the colour of piece,
-            // we check and add pieces to the array that corresponds to the colour.
-            if (p.getAllegiance().equals("W")) {
-                current = piecesW;
-            } else {
-                current = piecesB;
-            }
-
-            if (p.getName().equals("Q") || p.getName().equals("R") || p.getName().equals("P")) {
+        for (int side = Position.WHITE; side <= Position.BLACK; side++) {
+            if ((position.pieces(side, Position.QUEEN) | position.pieces(side, Position.ROOK)
+                    | position.pieces(side, Position.PAWN)) != 0) {
                 // queen, rook, pawn on board means its not insufficient material
                 return false;
-            } else if (p.getName().equals("B")) {
-                // bishop and any other piece is not insufficient material
-                if (current.size() > 0) {
-                    return false;
-                }
-                current.add("B");
-            } else if (p.getName().equals("N")) {
-                // knight with bishop or 2 other knights is not insufficient material
-                // we don't add kings to the list for this purpose; and because their presence is implied
-                if (current.contains("B")) {
-                    return false;
-                } else if (current.size() > 1) {
-                    return false;
-                }
-                current.add("N");
+            }
+            int bishops = Long.bitCount(position.pieces(side, Position.BISHOP));
+            int knights = Long.bitCount(position.pieces(side, Position.KNIGHT));
+            // a lone bishop, or up to 2 knights, is the most a side can have; kings are implied to be present
+            if (bishops > 1 || (bishops == 1 && knights > 0) || knights > 2) {
+                return false;
             }
         }
         return true;  // it is insufficient material if the method didn't return false earlier.
@@ -308,7 +733,7 @@ public class GameBoard {
     }
 
     public int getNumPieces() {
-        return pieces.size();
+        return position.count();
     }
 
     public String getTurn() {
@@ -345,51 +770,32 @@ public class GameBoard {
 
     // REQUIRES: kings are not already on board
     // MODIFIES: this
-    // EFFECTS: add kings to the board, adds to event log that a new board was created
+    // EFFECTS: add kings to the board
     private void addKings() {
         addPiece(new King("W", 60));
         addPiece(new King("B", 4));
-        log.logEvent(new Event("Created new board"));
     }
 
     public Move getLastMove() {
         return lastMove;
     }
 
-    // REQUIRES: newPreviousMove is the correct move that was played prior to previous move (the second-latest move)
-    // as this is not stored in GameBoard.
+    // REQUIRES: newPreviousMove is the move that was played prior to previous move (the second-latest move)
     // MODIFIES: this
     // EFFECTS: if no moves have been made, this method does nothing; else the board reverts to prior state before last
-    // move was made.
+    // move was made. The board keeps its own history, so newPreviousMove is only kept for compatibility.
     public void undo(Move newPreviousMove) {
-        if (lastMove != null) {
-            preformUndo(newPreviousMove);
-        }
+        undo();
     }
 
     // MODIFIES: this
     // EFFECTS: if no moves have been made, this method does nothing; else the board reverts to prior state before last
-    // move was made. after calling this, GameBoard will act as if no more prior moves exist.
+    // move was made, with lastMove set back to the move before it. Logs the move being undone to the event log.
     public void undo() {
-        // call this version if we don't know what last move was, or there was no prior move (i.e. first move)
-        if (lastMove != null) {
-            preformUndo(null);
-        }
-    }
-
-    // MODIFIES: this
-    // EFFECTS: implements the functionality of the previous 2 undo methods with different signatures
-    // logs to event log of the move being undone.
-    private void preformUndo(Move last) {
-        log.logEvent(new Event("Undoing last move of " + MoveList.toNotation(lastMove)));
-        Piece p = lastMove.getPiece();
-        removePiece(lastMove.getEnd());
-        addPiece(p);
-        if (lastMove.getCaptured() != null) {
-            addPiece(lastMove.getCaptured());
+        if (historySize > firstUndoable && lastMove != null) {
+            log.logEvent(new Event("Undoing last move of " + MoveList.toNotation(lastMove)));
+            unmakeMove();
+            status = null;
         }
-        toggleTurn();
-        lastMove = last;
-        status = null;
     }
 }
@@ -0,0 +1,285 @@
+package model;
+
+// utility class that generates legal moves directly. The pieces giving check, the pinned pieces and the squares that
+// resolve a check are worked out once for a position, and every piece's moves are masked by them, so no move needs
+// to be tried on the board to find out whether it leaves its king in check.
+// Moves are encoded in an int: bits 0-5 are the start square, bits 6-11 the end square, and bits 12-14 the
+// Position type the pawn promotes into (0 if the move is not a promotion).
+public final class MoveGenerator {
+    public static final int MAX_MOVES = 256;  // more than the number of legal moves in any chess position
+
+    private static final int[] PROMOTIONS = {Position.QUEEN, Position.ROOK, Position.BISHOP, Position.KNIGHT};
+
+    // kinds of moves to generate
+    private static final int ALL = 0;
+    private static final int CAPTURES = 1;
+    private static final int QUIETS = 2;
+
+    private MoveGenerator() {}
+
+    // EFFECTS: returns the encoding of a move; promotion is 0 for moves that are not promotions
+    public static int encode(int start, int end, int promotion) {
+        return start | end << 6 | promotion << 12;
+    }
+
+    public static int start(int move) {
+        return move & 63;
+    }
+
+    public static int end(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    // EFFECTS: returns the Position type the move promotes into, or 0 if it is not a promotion
+    public static int promotion(int move) {
+        return move >>> 12;
+    }
+
+    // EFFECTS: returns the move in coordinate notation: start square, end square, and the lowercase letter of the
+    // promotion piece if there is one
+    public static String toCoordinateNotation(int move) {
+        String result = MoveList.fromCoordinate(start(move)) + MoveList.fromCoordinate(end(move));
+        int promotion = promotion(move);
+        return promotion == 0 ? result : result + "pnbrqk".charAt(promotion);
+    }
+
+    // REQUIRES: moves.length >= MAX_MOVES
+    // MODIFIES: moves
+    // EFFECTS: writes every legal move of the side to move into moves, ordered by start square then end square, and
+    // returns the number of moves written. Pawn moves to the last rank are written once per promotion piece.
+    public static int generate(GameBoard board, int[] moves) {
+        return generate(board, moves, ALL);
+    }
+
+    // REQUIRES: moves.length >= MAX_MOVES
+    // MODIFIES: moves
+    // EFFECTS: writes the legal moves of the given kind (ALL, CAPTURES or QUIETS) into moves as generate does, and
+    // returns the number of moves written
+    private static int generate(GameBoard board, int[] moves, int kind) {
+        Position p = board.getPosition();
+        int us = Position.colourOf(board.getTurn());
+        Restrictions r = new Restrictions(board, us);
+        int enPassant = board.getEnPassantSquare();
+        long enemies = p.colour(1 - us);
+        int count = 0;
+        for (long own = p.colour(us); own != 0; own &= own - 1) {
+            int start = Long.numberOfTrailingZeros(own);
+            long targets = legalTargets(board, start, r);
+            boolean pawn = p.codeAt(start) % 6 == Position.PAWN;
+            boolean promotes = pawn && (start / 8 == 1 || start / 8 == 6)
+                    && (targets & (us == Position.WHITE ? 0xFFL : 0xFFL << 56)) != 0;
+            long victims = pawn && enPassant >= 0 ? enemies | 1L << enPassant : enemies;
+            long captures = promotes ? targets : targets & victims;
+            if (kind != ALL) {
+                targets &= kind == CAPTURES ? captures : ~captures;
+            }
+            count = addMoves(moves, count, start, targets, promotes);
+        }
+        return count;
+    }
+
+    // REQUIRES: moves.length >= MAX_MOVES
+    // MODIFIES: moves
+    // EFFECTS: writes the legal captures of the side to move into moves, ordered as by generate, and returns the
+    // number of moves written. Captures here are the moves that change material: captures, en passant captures and
+    // every promotion.
+    public static int generateCaptures(GameBoard board, int[] moves) {
+        return generate(board, moves, CAPTURES);
+    }
+
+    // REQUIRES: moves.length >= MAX_MOVES
+    // MODIFIES: moves
+    // EFFECTS: writes the legal moves of the side to move that generateCaptures leaves out into moves, ordered as by
+    // generate, and returns the number of moves written
+    public static int generateQuiets(GameBoard board, int[] moves) {
+        return generate(board, moves, QUIETS);
+    }
+
+    // MODIFIES: moves
+    // EFFECTS: writes the moves from start to every square of targets into moves from index count on, once per
+    // promotion piece if promotes; returns the new number of moves
+    private static int addMoves(int[] moves, int count, int start, long targets, boolean promotes) {
+        for (; targets != 0; targets &= targets - 1) {
+            int end = Long.numberOfTrailingZeros(targets);
+            if (promotes) {
+                for (int type : PROMOTIONS) {
+                    moves[count++] = encode(start, end, type);
+                }
+            } else {
+                moves[count++] = encode(start, end, 0);
+            }
+        }
+        return count;
+    }
+
+    // EFFECTS: returns true if move is a legal move of the side to move, with a promotion piece exactly when it is a
+    // pawn move to the last rank. Used to check moves remembered from other positions before playing them.
+    public static boolean isLegal(GameBoard board, int move) {
+        int start = start(move);
+        int end = end(move);
+        int code = board.getPosition().codeAt(start);
+        if (code == Position.EMPTY || code / 6 != Position.colourOf(board.getTurn())
+                || (legalTargets(board, start) & 1L << end) == 0) {
+            return false;
+        }
+        int promotion = promotion(move);
+        if (code % 6 == Position.PAWN && (end / 8 == 0 || end / 8 == 7)) {
+            return promotion >= Position.KNIGHT && promotion <= Position.QUEEN;
+        }
+        return promotion == 0;
+    }
+
+    // REQUIRES: move is a legal move of the side to move
+    // EFFECTS: returns true if move is not a capture, en passant capture or promotion, i.e. it is one of the moves
+    // generateQuiets writes
+    public static boolean isQuiet(GameBoard board, int move) {
+        Position p = board.getPosition();
+        int start = start(move);
+        int end = end(move);
+        boolean pawnCapture = p.codeAt(start) % 6 == Position.PAWN && start % 8 != end % 8;
+        return promotion(move) == 0 && !p.isOccupied(end) && !pawnCapture;
+    }
+
+    // EFFECTS: returns true if the side to move has at least one legal move
+    public static boolean hasLegalMove(GameBoard board) {
+        int us = Position.colourOf(board.getTurn());
+        Restrictions r = new Restrictions(board, us);
+        for (long own = board.getPosition().colour(us); own != 0; own &= own - 1) {
+            if (legalTargets(board, Long.numberOfTrailingZeros(own), r) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // REQUIRES: there is a piece on square
+    // EFFECTS: returns the squares the piece on square can legally move to as a bitboard, judged from the side of that
+    // piece (whether or not it is that side's turn), including castling and en passant
+    public static long legalTargets(GameBoard board, int square) {
+        return legalTargets(board, square, new Restrictions(board, board.getPiece(square).getColour()));
+    }
+
+    // EFFECTS: returns the legal targets of the piece on start, given the checks and pins of its side
+    private static long legalTargets(GameBoard board, int start, Restrictions r) {
+        Piece piece = board.getPiece(start);
+        long targets = piece.getMoveMask(board);
+        int type = board.getPosition().codeAt(start) % 6;
+        if (type == Position.KING) {
+            return kingTargets(board, start, targets, r);
+        }
+        long allowed = r.checkMask;
+        if ((r.pinned & (1L << start)) != 0) {  // a pinned piece may only move along the line through its king
+            allowed &= Attacks.line(r.king, start);
+        }
+        int enPassant = board.getEnPassantSquare();
+        if (type == Position.PAWN && enPassant >= 0 && (targets & (1L << enPassant)) != 0) {
+            // en passant removes two pieces from a line, so it is checked separately from checks and pins
+            long result = targets & ~(1L << enPassant) & allowed;
+            return enPassantLegal(board, start, enPassant, r) ? result | 1L << enPassant : result;
+        }
+        return targets & allowed;
+    }
+
+    // EFFECTS: returns the targets of the king on start that are not attacked, plus any legal castling squares
+    private static long kingTargets(GameBoard board, int start, long targets, Restrictions r) {
+        long occupied = board.getPosition().occupied() & ~(1L << start);  // the king can't hide behind itself
+        long result = 0L;
+        for (; targets != 0; targets &= targets - 1) {
+            int end = Long.numberOfTrailingZeros(targets);
+            if (board.attackersTo(end, occupied, r.them) == 0) {
+                result |= 1L << end;
+            }
+        }
+        if (r.checkers == 0 && !board.getPiece(start).isMoved() && start == (r.us == Position.WHITE ? 60 : 4)) {
+            if (canCastle(board, start, start + 3, r)) {
+                result |= 1L << (start + 2);
+            }
+            if (canCastle(board, start, start - 4, r)) {
+                result |= 1L << (start - 2);
+            }
+        }
+        return result;
+    }
+
+    // REQUIRES: the king on king has not moved and is not in check
+    // EFFECTS: returns true if the king can castle with the rook that starts on corner: the rook is there and has not
+    // moved, every square between them is empty, and the king does not pass through or land on an attacked square
+    private static boolean canCastle(GameBoard board, int king, int corner, Restrictions r) {
+        Piece rook = board.getPiece(corner);
+        if (rook == null || rook.isMoved() || rook.getColour() != r.us || !rook.getName().equals("R")) {
+            return false;
+        }
+        if ((board.getPosition().occupied() & Attacks.between(king, corner)) != 0) {
+            return false;
+        }
+        int step = corner > king ? 1 : -1;
+        return !board.isSquareAttacked(king + step, r.them) && !board.isSquareAttacked(king + 2 * step, r.them);
+    }
+
+    // EFFECTS: returns true if the pawn on start capturing en passant onto target leaves its king safe: the move must
+    // either block or remove a check, and removing both pawns from their rank must not open a line to the king
+    private static boolean enPassantLegal(GameBoard board, int start, int target, Restrictions r) {
+        if (r.king < 0) {
+            return true;
+        }
+        int captured = r.us == Position.WHITE ? target + 8 : target - 8;
+        if ((r.checkMask & (1L << target | 1L << captured)) == 0) {
+            return false;
+        }
+        Position p = board.getPosition();
+        long occupied = (p.occupied() & ~(1L << start) & ~(1L << captured)) | 1L << target;
+        long queens = p.pieces(r.them, Position.QUEEN);
+        return (Attacks.rook(r.king, occupied) & (p.pieces(r.them, Position.ROOK) | queens)) == 0
+                && (Attacks.bishop(r.king, occupied) & (p.pieces(r.them, Position.BISHOP) | queens)) == 0;
+    }
+
+    // the checks and pins that restrict the moves of one side in a position
+    private static final class Restrictions {
+        final int us;
+        final int them;
+        final int king;  // square of the king of us, or -1 if there is none
+        final long checkers;  // enemy pieces giving check
+        final long checkMask;  // squares a piece other than the king must move to, to resolve any check
+        final long pinned;  // pieces of us that cannot leave the line between their king and an enemy slider
+
+        // EFFECTS: works out the checks and pins on side us
+        Restrictions(GameBoard board, int us) {
+            Position p = board.getPosition();
+            this.us = us;
+            this.them = 1 - us;
+            king = board.getKingSquare(us);
+            if (king < 0) {  // boards set up for testing may not have a king, then nothing is restricted
+                checkers = 0L;
+                checkMask = -1L;
+                pinned = 0L;
+                return;
+            }
+            checkers = board.attackersTo(king, p.occupied(), them);
+            if (checkers == 0) {
+                checkMask = -1L;
+            } else if (Long.bitCount(checkers) == 1) {
+                checkMask = checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+            } else {
+                checkMask = 0L;  // in double check, only the king can move
+            }
+            pinned = findPinned(p);
+        }
+
+        // EFFECTS: returns the pieces of us that are the only piece between their king and an enemy slider
+        private long findPinned(Position p) {
+            long enemies = p.colour(them);
+            long queens = p.pieces(them, Position.QUEEN);
+            // sliders that would attack the king if our own pieces were not in the way
+            long snipers = (Attacks.rook(king, enemies) & (p.pieces(them, Position.ROOK) | queens))
+                    | (Attacks.bishop(king, enemies) & (p.pieces(them, Position.BISHOP) | queens));
+            long result = 0L;
+            for (; snipers != 0; snipers &= snipers - 1) {
+                long between = Attacks.between(king, Long.numberOfTrailingZeros(snipers)) & p.occupied();
+                if (Long.bitCount(between) == 1) {
+                    result |= between & p.colour(us);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,9 +1,5 @@
 package model;
 
-import java.util.HashSet;
-import java.util.Set;
-
-
 // pawn object
 public class Pawn extends Piece {
 
@@ -11,87 +7,39 @@ public class Pawn extends Piece {
         super(allegiance, position);
     }
 
-    // EFFECTS: returns set of all squares pawn can move to; note that this includes moves that would leave
+    // EFFECTS: returns bitboard of all squares pawn can move to; note that this includes moves that would leave
     // the pawn's king in check
-    public Set<Integer> getMoves(GameBoard board) {
-        if (allegiance.equals("W")) {
-            return getMovesWhite(board);
-        } else {
-            return getMovesBlack(board);
-        }
-    }
-
-    // EFFECTS: gets the set of all squares pawn can move to going up the board
-    private Set<Integer> getMovesWhite(GameBoard board) {
-        Set<Integer> result = new HashSet<>();
-        if (position % 8 != 7 && board.existsPiece(position - 7)
-                && board.getPiece(position - 7).getAllegiance().equals("B")) {
-            result.add(position - 7);
-        }
-        if (position % 8 != 0 && board.existsPiece(position - 9)
-                && board.getPiece(position - 9).getAllegiance().equals("B")) {
-            result.add(position - 9);
-        }
-        if (!board.existsPiece(position - 8)) {
-            result.add(position - 8);
-            if (!moved && !board.existsPiece(position - 16)) {
-                result.add(position - 16);
-            }
-        }
-        if (position >= 24 && position <= 31) {
-            addEnPassantW(board, result);
-        }
-        return result;
-    }
-
-    // MODIFIES: result
-    // EFFECTS: if en passant is possible (for white), adds the move to the inputted set.
-    private void addEnPassantW(GameBoard board, Set<Integer> result) {
-        Move m = board.getLastMove();
-        if (m != null && m.getPiece().getName().equals("P")) {
-            if (m.getStart() == position - 17) {
-                result.add(position - 9);
-            } else if (m.getStart() == position - 15) {
-                result.add(position - 7);
+    @Override
+    public long getMoveMask(GameBoard board) {
+        Position p = board.getPosition();
+        long result = Attacks.pawn(colour, position) & p.colour(1 - colour);
+        int step = colour == Position.WHITE ? -8 : 8;
+        int single = position + step;
+        if (single >= 0 && single <= 63 && !p.isOccupied(single)) {
+            result |= 1L << single;
+            if (onStartingRank() && !p.isOccupied(single + step)) {
+                result |= 1L << (single + step);
             }
         }
+        return result | getEnPassantMask(board);
     }
 
-    // EFFECTS: gets the set of all squares pawn can move to going down the board
-    private Set<Integer> getMovesBlack(GameBoard board) {
-        Set<Integer> result = new HashSet<>();
-        if (board.existsPiece(position + 7) && board.getPiece(position + 7).getAllegiance().equals("W")) {
-            result.add(position + 7);
-        }
-        if (board.existsPiece(position + 9) && board.getPiece(position + 9).getAllegiance().equals("W")) {
-            result.add(position + 9);
-        }
-        if (!board.existsPiece(position + 8)) {
-            result.add(position + 8);
-            if (!moved && !board.existsPiece(position + 16)) {
-                result.add(position + 16);
-            }
-        }
-        if (position >= 32 && position <= 39) {
-            addEnPassantB(board, result);
-        }
-        return result;
+    // EFFECTS: returns true if the pawn is on the rank pawns of its colour start on, so it may move two squares
+    private boolean onStartingRank() {
+        return colour == Position.WHITE ? position / 8 == 6 : position / 8 == 1;
     }
 
-    // MODIFIES: result
-    // EFFECTS: if en passant is possible (for black), adds the move to the inputted set.
-    private void addEnPassantB(GameBoard board, Set<Integer> result) {
-        Move m = board.getLastMove();
-        if (m != null && m.getPiece().getName().equals("P")) {
-            if (m.getStart() == position + 17) {
-                result.add(position + 9);
-            } else if (m.getStart() == position + 15) {
-                result.add(position + 7);
-            }
+    // EFFECTS: if en passant is possible for this pawn, returns a bitboard with the en passant square; otherwise 0.
+    // the en passant square must be on the rank just behind the enemy pawn that moved two squares
+    private long getEnPassantMask(GameBoard board) {
+        int square = board.getEnPassantSquare();
+        if (square < 0 || square / 8 != (colour == Position.WHITE ? 2 : 5)) {
+            return 0L;
         }
+        return Attacks.pawn(colour, position) & (1L << square);
     }
 
     public String getName() {
         return "P";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// utility class that counts the positions reachable from a board in a fixed number of moves (performance test, or
+// "perft"). The counts of well-known positions are published, so this checks the move generator for correctness, and
+// timing it measures how fast moves are generated, made and taken back.
+public final class Perft {
+    public static final int DEFAULT_CACHE_MB = 64;
+
+    private static final int SPLIT_PLIES = 2;  // plies from the root at which work is split into parallel tasks
+    private static final int MIN_SPLIT_DEPTH = 4;  // subtrees shallower than this are cheaper to count than to split
+
+    private Perft() {}
+
+    // REQUIRES: depth >= 0
+    // EFFECTS: returns the number of move sequences of exactly depth plies that can be played from board. The board
+    // is changed while counting, but is left exactly as it was.
+    public static long perft(GameBoard board, int depth) {
+        int[][] moves = new int[Math.max(depth, 1)][MoveGenerator.MAX_MOVES];
+        return perft(board, depth, moves);
+    }
+
+    // EFFECTS: counts move sequences of depth plies, using moves[depth - 1] as the move buffer for this ply so that
+    // nothing is allocated while counting. At depth 1 the number of legal moves is the answer, so those moves are
+    // not made at all.
+    private static long perft(GameBoard board, int depth, int[][] moves) {
+        if (depth == 0) {
+            return 1;
+        }
+        int[] buffer = moves[depth - 1];
+        int count = MoveGenerator.generate(board, buffer);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(buffer[i]);
+            nodes += perft(board, depth - 1, moves);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    // REQUIRES: depth >= 0
+    // EFFECTS: returns perft(board, depth), counted by all available processors sharing a cache of DEFAULT_CACHE_MB
+    public static long perftParallel(GameBoard board, int depth) {
+        return perftParallel(board, depth, Runtime.getRuntime().availableProcessors(), DEFAULT_CACHE_MB);
+    }
+
+    // REQUIRES: depth >= 0, threads >= 1, cacheMegabytes >= 1
+    // EFFECTS: returns perft(board, depth), counted by a pool of threads. The moves of the first plies are split into
+    // tasks, each owning its own copy of the board, and positions reached through different move orders are only
+    // counted once: all threads share a lock-free cache of counts by (position key, depth). board is not changed.
+    public static long perftParallel(GameBoard board, int depth, int threads, int cacheMegabytes) {
+        PerftCache cache = new PerftCache(cacheMegabytes);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new PerftTask(new GameBoard(board), depth, SPLIT_PLIES, cache));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // EFFECTS: counts move sequences of depth plies like perft, but looks up and stores the count of every position
+    // at depth 2 or more in cache
+    private static long perftCached(GameBoard board, int depth, int[][] moves, PerftCache cache) {
+        if (depth <= 1) {
+            return perft(board, depth, moves);
+        }
+        long key = board.getPositionKey();
+        long nodes = cache.probe(key, depth);
+        if (nodes >= 0) {
+            return nodes;
+        }
+        nodes = 0;
+        int[] buffer = moves[depth - 1];
+        int count = MoveGenerator.generate(board, buffer);
+        for (int i = 0; i < count; i++) {
+            board.makeMove(buffer[i]);
+            nodes += perftCached(board, depth - 1, moves, cache);
+            board.unmakeMove();
+        }
+        cache.store(key, depth, nodes);
+        return nodes;
+    }
+
+    // a parallel perft count of one position; near the root, the count of each move becomes a task of its own
+    private static final class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final GameBoard board;  // owned by this task only
+        private final int depth;
+        private final int splitPlies;  // how many more plies are split into tasks
+        private final PerftCache cache;
+
+        PerftTask(GameBoard board, int depth, int splitPlies, PerftCache cache) {
+            this.board = board;
+            this.depth = depth;
+            this.splitPlies = splitPlies;
+            this.cache = cache;
+        }
+
+        // EFFECTS: returns the perft count of board at depth
+        @Override
+        protected Long compute() {
+            if (splitPlies == 0 || depth < MIN_SPLIT_DEPTH) {
+                return perftCached(board, depth, new int[Math.max(depth, 1)][MoveGenerator.MAX_MOVES], cache);
+            }
+            int[] buffer = new int[MoveGenerator.MAX_MOVES];
+            int count = MoveGenerator.generate(board, buffer);
+            List<PerftTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                GameBoard child = new GameBoard(board);
+                child.makeMove(buffer[i]);
+                tasks.add(new PerftTask(child, depth - 1, splitPlies - 1, cache));
+            }
+            long nodes = 0;
+            for (PerftTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+
+    // REQUIRES: depth >= 1
+    // EFFECTS: returns the perft count of depth below each legal move of board, keyed by the move in coordinate
+    // notation (e.g. "e2e4", or "e7e8q" for a promotion), in the order the moves are generated
+    public static Map<String, Long> perftDivide(GameBoard board, int depth) {
+        int[][] moves = new int[depth][MoveGenerator.MAX_MOVES];
+        Map<String, Long> result = new LinkedHashMap<>();
+        int[] buffer = moves[depth - 1];
+        int count = MoveGenerator.generate(board, buffer);
+        for (int i = 0; i < count; i++) {
+            int move = buffer[i];
+            board.makeMove(move);
+            result.put(MoveGenerator.toCoordinateNotation(move), perft(board, depth - 1, moves));
+            board.unmakeMove();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// fixed-size table of perft counts keyed by (position key, depth) that many threads can use at once without locks.
+// Each entry is two longs: the data (node count and depth) and the key XORed with the data. Two threads writing the
+// same entry at once can leave the halves of different writes in it, but then the XOR no longer gives back the key, so
+// a torn entry is treated as a miss rather than giving a wrong count.
+final class PerftCache {
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MIX = 0x9E3779B97F4A7C15L;  // spreads the depths of one position over the table
+
+    private final AtomicLongArray table;
+    private final int mask;  // number of entries - 1
+
+    // REQUIRES: megabytes >= 1
+    // EFFECTS: creates an empty cache using at most the given number of megabytes; the number of entries is rounded
+    // down to a power of two
+    PerftCache(int megabytes) {
+        long entries = Long.highestOneBit(Math.min((long) megabytes << 16, 1L << 30));  // 16 bytes per entry
+        table = new AtomicLongArray((int) entries * 2);
+        mask = (int) entries - 1;
+    }
+
+    // EFFECTS: returns the stored node count of the position with key at depth, or -1 if it is not stored
+    long probe(long key, int depth) {
+        int index = index(key, depth);
+        long data = table.get(index + 1);
+        if ((table.get(index) ^ data) != key || (data & ((1L << DEPTH_BITS) - 1)) != depth) {
+            return -1;
+        }
+        return data >>> DEPTH_BITS;
+    }
+
+    // REQUIRES: 0 < depth < 256, 0 <= nodes < 2^56
+    // MODIFIES: this
+    // EFFECTS: stores the node count of the position with key at depth, replacing whatever was in its entry
+    void store(long key, int depth, long nodes) {
+        int index = index(key, depth);
+        long data = nodes << DEPTH_BITS | depth;
+        table.lazySet(index, key ^ data);
+        table.lazySet(index + 1, data);
+    }
+
+    // EFFECTS: returns the index of the first long of the entry for key at depth
+    private int index(long key, int depth) {
+        return ((int) (key ^ depth * DEPTH_MIX) & mask) << 1;
+    }
+}
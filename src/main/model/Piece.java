@@ -12,12 +12,14 @@ import java.util.Set;
 public abstract class Piece implements Savable {
     protected int position;
     protected String allegiance;  // "B" for black, "W" for white
+    protected final int colour;  // Position.WHITE or Position.BLACK, matching allegiance
     protected boolean moved;  // whether the piece has moved
 
     // REQUIRES: position is in [0, 63], allegiance is either "W" or "B"
     // EFFECTS: sets the side and position of the piece, affirms that the piece has not yet moved
     protected Piece(String allegiance, int position) {
         this.allegiance = allegiance;
+        this.colour = Position.colourOf(allegiance);
         this.position = position;
         this.moved = false;
     }
@@ -68,6 +70,13 @@ public abstract class Piece implements Savable {
         }
     }
 
+    // MODIFIES: this
+    // EFFECTS: puts the piece back on position with the given moved flag; the board uses this to take back a move
+    protected void restorePosition(int position, boolean moved) {
+        this.position = position;
+        this.moved = moved;
+    }
+
     public int getPosition() {
         return position;
     }
@@ -76,6 +85,11 @@ public abstract class Piece implements Savable {
         return allegiance;
     }
 
+    // EFFECTS: returns Position.WHITE or Position.BLACK, matching the allegiance of the piece
+    public int getColour() {
+        return colour;
+    }
+
     public boolean isMoved() {
         return moved;
     }
@@ -86,95 +100,26 @@ public abstract class Piece implements Savable {
     // EFFECTS: returns a set of squares that the piece can move to:
     // this method is public as when testing for check, we need to know if pieces can capture the king despite moving
     // into check if it were their turn.
-    public abstract Set<Integer> getMoves(GameBoard b);
-
-    // EFFECTS: returns the set of all legal moves that this piece can make.
-    public Set<Integer> getLegalMoves(GameBoard b) {
-        Set<Integer> moves = getMoves(b);
-        Set<Integer> illegalMoves = new HashSet<>();
-        for (int i : moves) {
-            if (b.testCheck(position, i)) {
-                illegalMoves.add(i);
-            }
-        }
-        moves.removeAll(illegalMoves);
-        return moves;
+    public Set<Integer> getMoves(GameBoard b) {
+        return toSquares(getMoveMask(b));
     }
 
-    // EFFECTS: abstract method that scans for pieces and stops in specified steps and starting square, until end square
-    private Set<Integer> scanUp(int start, int step, int stop, GameBoard b, boolean diagonal) {
-        // abstract function for scanning lines in positive direction
-        Set<Integer> result = new HashSet<>();
-        start += step;
-        for (int i = start; i <= stop; i += step) {
-            if (b.existsPiece(i)) {
-                if (!(b.getPiece(i).getAllegiance().equals(this.allegiance))) {
-                    result.add(i);
-                }
-                break;
-            } else {
-                result.add(i);
-            }
-            if (diagonal && (i % 8 == 7 || i % 8 == 0)) {  // hitting wall stops pieces moving diagonally
-                break;
-            }
-        }
-        return result;
-    }
+    // EFFECTS: returns the same squares as getMoves, as a bitboard (bit i is set if the piece can move to square i).
+    // this does not allocate, so it is what the board and move generator use.
+    public abstract long getMoveMask(GameBoard b);
 
-    // EFFECTS: abstract method that scans for pieces and stops in specified steps and starting square, until end square
-    // works exactly the same as the previous method, just decrements by step, and tests for geq instead of leq to stop
-    // the loop
-    private Set<Integer> scanDown(int start, int step, int stop, GameBoard b, boolean diagonal) {
-        // abstract function for scanning lines in negative direction
+    // EFFECTS: converts a bitboard into the set of squares whose bits are set
+    protected static Set<Integer> toSquares(long bits) {
         Set<Integer> result = new HashSet<>();
-        start -= step;
-        for (int i = start; i >= stop; i -= step) {
-            if (b.existsPiece(i)) {
-                if (!(b.getPiece(i).getAllegiance().equals(this.allegiance))) {
-                    result.add(i);
-                }
-                break;
-            } else {
-                result.add(i);
-            }
-            if (diagonal && (i % 8 == 7 || i % 8 == 0)) {  // hit wall
-                break;
-            }
-        }
-        return result;
-    }
-
-    // EFFECTS: gets moves for the 4 diagonal directions and returns as a set
-    protected Set<Integer> getMovesDiagonal(GameBoard b) {
-        Set<Integer> result;
-        // iterate through each diagonal (basically up/down and left/right one square each)
-        result = new HashSet<>();
-        if (position % 8 != 0) {
-            result.addAll(scanDown(this.position, 9, 0, b, true));
-            result.addAll(scanUp(this.position, 7, 63, b, true));
-        }
-        if (position % 8 != 7) {
-            result.addAll(scanUp(this.position, 9, 63, b, true));
-            result.addAll(scanDown(this.position, 7, 0, b, true));
+        for (; bits != 0; bits &= bits - 1) {
+            result.add(Long.numberOfTrailingZeros(bits));
         }
         return result;
     }
 
-    // EFFECTS: gets moves for the 4 orthogonal directions and returns as a set
-    protected Set<Integer> getMovesOrthogonal(GameBoard b) {
-        Set<Integer> result;
-        // iterate through each row/column
-        result = new HashSet<>();
-        if (position % 8 != 0) {
-            result.addAll(scanDown(this.position, 1, this.position - this.position % 8, b, false));
-        }
-        if (position % 8 != 7) {
-            result.addAll(scanUp(this.position, 1, this.position + 7 - this.position % 8, b, false));
-        }
-        result.addAll(scanDown(this.position, 8, 0, b, false));
-        result.addAll(scanUp(this.position, 8, 63, b, false));
-        return result;
+    // EFFECTS: returns the set of all legal moves that this piece can make.
+    public Set<Integer> getLegalMoves(GameBoard b) {
+        return toSquares(MoveGenerator.legalTargets(b, position));
     }
 
     // EFFECTS: converts the data stored in the piece to a json format
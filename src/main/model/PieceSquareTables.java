@@ -0,0 +1,133 @@
+package model;
+
+// utility class with the piece-square tables of the evaluation: what each piece is worth on each square, once for the
+// middlegame and once for the endgame, material included. Position adds up these values for every piece it holds as
+// pieces are put and cleared, along with the game phase (how much material other than pawns is left), so the score
+// of a position is always ready without looking at its pieces; the evaluation blends the two scores by phase.
+// Tables are written from white's side with a8 first, the order of GameBoard squares; black uses them mirrored.
+public final class PieceSquareTables {
+    public static final int MAX_PHASE = 24;  // phase of the starting material; more queens can make it higher
+
+    private static final int[] MIDDLEGAME_VALUES = {82, 337, 365, 477, 1025, 0};  // by Position type
+    private static final int[] ENDGAME_VALUES = {94, 281, 297, 512, 936, 0};
+    private static final int[] PHASES = {0, 1, 1, 2, 4, 0};  // phase each piece type adds
+
+    private static final int[] PAWN = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+    private static final int[] PAWN_ENDGAME = {  // pawns only need to get closer to promoting
+            0, 0, 0, 0, 0, 0, 0, 0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            15, 15, 15, 15, 15, 15, 15, 15,
+            5, 5, 5, 5, 5, 5, 5, 5,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+    private static final int[] ROOK = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+    private static final int[] QUEEN = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+    private static final int[] KING = {  // the king stays sheltered behind its pawns
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+    private static final int[] KING_ENDGAME = {  // with few pieces left, the king joins the game in the centre
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    // MIDDLEGAME[code][square] is the signed value of the piece with code on square: positive for white pieces
+    private static final int[][] MIDDLEGAME = new int[12][64];
+    private static final int[][] ENDGAME = new int[12][64];
+
+    static {
+        int[][] middlegame = {PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING};
+        int[][] endgame = {PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME};
+        for (int type = Position.PAWN; type <= Position.KING; type++) {
+            for (int square = 0; square < 64; square++) {
+                MIDDLEGAME[type][square] = MIDDLEGAME_VALUES[type] + middlegame[type][square];
+                ENDGAME[type][square] = ENDGAME_VALUES[type] + endgame[type][square];
+                MIDDLEGAME[6 + type][square ^ 56] = -MIDDLEGAME[type][square];  // square ^ 56 mirrors the rank
+                ENDGAME[6 + type][square ^ 56] = -ENDGAME[type][square];
+            }
+        }
+    }
+
+    private PieceSquareTables() {}
+
+    // REQUIRES: 0 <= code < 12, 0 <= square <= 63
+    // EFFECTS: returns the middlegame value of the piece with code (colour * 6 + type) on square, in centipawns;
+    // negative for black pieces
+    public static int middlegame(int code, int square) {
+        return MIDDLEGAME[code][square];
+    }
+
+    // REQUIRES: 0 <= code < 12, 0 <= square <= 63
+    // EFFECTS: returns the endgame value of the piece with code on square, in centipawns; negative for black pieces
+    public static int endgame(int code, int square) {
+        return ENDGAME[code][square];
+    }
+
+    // REQUIRES: type is one of Position.PAWN to Position.KING
+    // EFFECTS: returns how much a piece of type adds to the game phase
+    public static int phase(int type) {
+        return PHASES[type];
+    }
+}
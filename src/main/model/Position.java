@@ -0,0 +1,175 @@
+package model;
+
+// bitboard representation of the pieces on a board: one long per piece type and colour, plus occupancy masks.
+// bit i of every bitboard corresponds to square i of GameBoard (i.e. 0 is a8, 7 is h8, 56 is a1 and 63 is h1)
+public class Position {
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final int EMPTY = -1;  // code of a square with no piece on it
+
+    private final long[][] pieces;  // pieces[colour][type] is the set of squares holding that piece
+    private final long[] colours;  // colours[colour] is the set of squares holding a piece of that colour
+    private long occupied;  // set of all squares holding a piece
+    private final int[] codes;  // piece code (colour * 6 + type) of each square, or EMPTY
+    private long key;  // XOR of the Zobrist keys of every piece on its square
+    private long pawnKey;  // XOR of the Zobrist keys of the pawns only
+    private int middlegame;  // sum of the PieceSquareTables values of every piece on its square
+    private int endgame;
+    private int phase;
+
+    // EFFECTS: creates a position with no pieces on it
+    public Position() {
+        pieces = new long[2][6];
+        colours = new long[2];
+        occupied = 0L;
+        codes = new int[64];
+        for (int i = 0; i < 64; i++) {
+            codes[i] = EMPTY;
+        }
+    }
+
+    // EFFECTS: creates an exact copy of other
+    public Position(Position other) {
+        pieces = new long[][] {other.pieces[WHITE].clone(), other.pieces[BLACK].clone()};
+        colours = other.colours.clone();
+        occupied = other.occupied;
+        codes = other.codes.clone();
+        key = other.key;
+        pawnKey = other.pawnKey;
+        middlegame = other.middlegame;
+        endgame = other.endgame;
+        phase = other.phase;
+    }
+
+    // REQUIRES: 0 <= square <= 63, colour is WHITE or BLACK, type is one of PAWN to KING
+    // MODIFIES: this
+    // EFFECTS: places a piece on square; any piece already on that square is removed first
+    public void put(int square, int colour, int type) {
+        clear(square);
+        long bit = 1L << square;
+        pieces[colour][type] |= bit;
+        colours[colour] |= bit;
+        occupied |= bit;
+        int code = colour * 6 + type;
+        codes[square] = code;
+        key ^= Zobrist.piece(code, square);
+        if (type == PAWN) {
+            pawnKey ^= Zobrist.piece(code, square);
+        }
+        middlegame += PieceSquareTables.middlegame(code, square);
+        endgame += PieceSquareTables.endgame(code, square);
+        phase += PieceSquareTables.phase(type);
+    }
+
+    // REQUIRES: 0 <= square <= 63
+    // MODIFIES: this
+    // EFFECTS: removes the piece on square, does nothing if square is empty
+    public void clear(int square) {
+        int code = codes[square];
+        if (code == EMPTY) {
+            return;
+        }
+        long bit = ~(1L << square);
+        pieces[code / 6][code % 6] &= bit;
+        colours[code / 6] &= bit;
+        occupied &= bit;
+        codes[square] = EMPTY;
+        key ^= Zobrist.piece(code, square);
+        if (code % 6 == PAWN) {
+            pawnKey ^= Zobrist.piece(code, square);
+        }
+        middlegame -= PieceSquareTables.middlegame(code, square);
+        endgame -= PieceSquareTables.endgame(code, square);
+        phase -= PieceSquareTables.phase(code % 6);
+    }
+
+    // REQUIRES: 0 <= square <= 63
+    // EFFECTS: returns true if there is a piece on square
+    public boolean isOccupied(int square) {
+        return (occupied & (1L << square)) != 0;
+    }
+
+    // REQUIRES: 0 <= square <= 63
+    // EFFECTS: returns the code (colour * 6 + type) of the piece on square, or EMPTY
+    public int codeAt(int square) {
+        return codes[square];
+    }
+
+    public long pieces(int colour, int type) {
+        return pieces[colour][type];
+    }
+
+    public long colour(int colour) {
+        return colours[colour];
+    }
+
+    public long occupied() {
+        return occupied;
+    }
+
+    // EFFECTS: returns the Zobrist key of the pieces on their squares; side to move, castling rights and en passant
+    // are not part of a Position, so GameBoard adds them
+    public long key() {
+        return key;
+    }
+
+    // EFFECTS: returns the Zobrist key of the pawns on their squares, which only changes when a pawn moves, is captured
+    // or promotes; it identifies the pawn structure for caches of pawn evaluation
+    public long pawnKey() {
+        return pawnKey;
+    }
+
+    // EFFECTS: returns the middlegame score of the pieces on their squares by PieceSquareTables, in centipawns from
+    // white's point of view
+    public int middlegameScore() {
+        return middlegame;
+    }
+
+    // EFFECTS: returns the endgame score of the pieces on their squares, in centipawns from white's point of view
+    public int endgameScore() {
+        return endgame;
+    }
+
+    // EFFECTS: returns the game phase: PieceSquareTables.MAX_PHASE with all the starting pieces on the board, going
+    // down to 0 as knights, bishops, rooks and queens are traded
+    public int phase() {
+        return phase;
+    }
+
+    public int count() {
+        return Long.bitCount(occupied);
+    }
+
+    // REQUIRES: allegiance is either "W" or "B"
+    // EFFECTS: returns the colour index for a piece allegiance
+    public static int colourOf(String allegiance) {
+        return allegiance.equals("W") ? WHITE : BLACK;
+    }
+
+    // REQUIRES: name is either "P", "N", "B", "R", "Q", or "K"
+    // EFFECTS: returns the type index for a piece name
+    public static int typeOf(String name) {
+        switch (name) {
+            case "P":
+                return PAWN;
+            case "N":
+                return KNIGHT;
+            case "B":
+                return BISHOP;
+            case "R":
+                return ROOK;
+            case "Q":
+                return QUEEN;
+            default:
+                return KING;
+        }
+    }
+}
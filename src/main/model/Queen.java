@@ -1,7 +1,5 @@
 package model;
 
-import java.util.Set;
-
 // Queen piece
 public class Queen extends Piece {
 
@@ -9,12 +7,12 @@ public class Queen extends Piece {
         super(allegiance, position);
     }
 
-    // EFFECTS: returns set of all squares queen can move to; note that this includes moves that would leave
+    // EFFECTS: returns bitboard of all squares queen can move to; note that this includes moves that would leave
     // the queen's king in check
-    public Set<Integer> getMoves(GameBoard board) {
-        Set<Integer> result = getMovesOrthogonal(board);
-        result.addAll(getMovesDiagonal(board));
-        return result;
+    @Override
+    public long getMoveMask(GameBoard board) {
+        Position p = board.getPosition();
+        return Attacks.queen(position, p.occupied()) & ~p.colour(colour);
     }
 
     public String getName() {
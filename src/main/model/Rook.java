@@ -1,7 +1,5 @@
 package model;
 
-import java.util.Set;
-
 // Rook piece
 public class Rook extends Piece {
 
@@ -9,10 +7,12 @@ public class Rook extends Piece {
         super(allegiance, position);
     }
 
-    // EFFECTS: returns list of all squares rook can move threaten; note that this includes moves that would leave
+    // EFFECTS: returns bitboard of all squares rook can move threaten; note that this includes moves that would leave
     // the rook's king in check
-    public Set<Integer> getMoves(GameBoard board) {
-        return super.getMovesOrthogonal(board);
+    @Override
+    public long getMoveMask(GameBoard board) {
+        Position p = board.getPosition();
+        return Attacks.rook(position, p.occupied()) & ~p.colour(colour);
     }
 
     public String getName() {
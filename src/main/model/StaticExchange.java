@@ -0,0 +1,104 @@
+package model;
+
+// utility class for static exchange evaluation (SEE): the material one side ends up with when both sides keep
+// capturing on one square, each always with its least valuable piece and each free to stop when going on would lose
+// material. It only looks at which pieces attack the square, including pieces that attack it through a piece that has
+// just captured there (x-rays), and never makes a move on the board, so it is cheap enough to run for every capture
+// of a search or every piece shown by the user interface. Pins and checks are not taken into account.
+public final class StaticExchange {
+    private static final int[] VALUES = {100, 320, 330, 500, 900, 20000};  // by Position type
+
+    private StaticExchange() {}
+
+    // REQUIRES: type is one of Position.PAWN to Position.KING
+    // EFFECTS: returns the value of a piece type in centipawns used by the exchanges; kings are worth more than
+    // everything else together, so they only capture last and never into an attacked square
+    public static int value(int type) {
+        return VALUES[type];
+    }
+
+    // REQUIRES: move is a legal move of the side to move, encoded as by MoveGenerator
+    // EFFECTS: returns the material the side to move wins in centipawns (negative if it loses material) by playing
+    // move and then exchanging on its end square as long as it pays off for either side; 0 for a quiet move to a
+    // square where the moved piece is safe. A promotion counts as winning the promoted piece for the pawn.
+    public static int evaluate(GameBoard board, int move) {
+        Position p = board.getPosition();
+        int start = MoveGenerator.start(move);
+        int end = MoveGenerator.end(move);
+        int type = p.codeAt(start) % 6;
+        long occupied = p.occupied() & ~(1L << start);
+        int gain = p.isOccupied(end) ? VALUES[p.codeAt(end) % 6] : 0;
+        if (type == Position.PAWN && start % 8 != end % 8 && !p.isOccupied(end)) {
+            gain = VALUES[Position.PAWN];  // en passant
+            occupied &= ~(1L << (end + (p.codeAt(start) / 6 == Position.WHITE ? 8 : -8)));
+        }
+        int promotion = MoveGenerator.promotion(move);
+        if (promotion != 0) {
+            gain += VALUES[promotion] - VALUES[Position.PAWN];
+            type = promotion;
+        }
+        return swap(board, end, occupied, 1 - p.codeAt(start) / 6, gain, type);
+    }
+
+    // REQUIRES: there is a piece on square
+    // EFFECTS: returns true if the opponent of the piece on square can win material by capturing it, whether or not
+    // it is the opponent's turn
+    public static boolean isHanging(GameBoard board, int square) {
+        Position p = board.getPosition();
+        int them = 1 - p.codeAt(square) / 6;
+        long occupied = p.occupied();
+        int victim = VALUES[p.codeAt(square) % 6];
+        for (long attackers = board.attackersTo(square, occupied, them); attackers != 0; attackers &= attackers - 1) {
+            int attacker = Long.numberOfTrailingZeros(attackers);
+            if (swap(board, square, occupied & ~(1L << attacker), 1 - them, victim, p.codeAt(attacker) % 6) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // REQUIRES: side is "W" or "B"
+    // EFFECTS: returns the squares of the pieces of side that are hanging (see isHanging) as a bitboard, with bit n
+    // set for square n
+    public static long hangingPieces(GameBoard board, String side) {
+        long result = 0L;
+        for (long own = board.getPosition().colour(Position.colourOf(side)); own != 0; own &= own - 1) {
+            int square = Long.numberOfTrailingZeros(own);
+            if (isHanging(board, square)) {
+                result |= 1L << square;
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the material won by the side that just captured on square, winning gain, with a piece of type
+    // that now stands there; side is the one to capture next and occupied the pieces still on the board
+    private static int swap(GameBoard board, int square, long occupied, int side, int gain, int type) {
+        return gain - exchange(board, square, occupied, side, type);
+    }
+
+    // EFFECTS: returns the material side wins by capturing on square, where a piece of type onSquare stands, with its
+    // least valuable piece among occupied, and exchanging on as long as that pays off; 0 if side does better not
+    // to capture at all
+    private static int exchange(GameBoard board, int square, long occupied, int side, int onSquare) {
+        long attackers = board.attackersTo(square, occupied, side) & occupied;
+        if (attackers == 0) {
+            return 0;
+        }
+        int from = leastValuable(board.getPosition(), attackers, side);
+        int type = board.getPosition().codeAt(from) % 6;
+        return Math.max(0, VALUES[onSquare] - exchange(board, square, occupied & ~(1L << from), 1 - side, type));
+    }
+
+    // REQUIRES: attackers contains a piece of side
+    // EFFECTS: returns the square of the least valuable piece of side among attackers
+    private static int leastValuable(Position p, long attackers, int side) {
+        for (int type = Position.PAWN; type < Position.KING; type++) {
+            long pieces = attackers & p.pieces(side, type);
+            if (pieces != 0) {
+                return Long.numberOfTrailingZeros(pieces);
+            }
+        }
+        return Long.numberOfTrailingZeros(attackers & p.pieces(side, Position.KING));
+    }
+}
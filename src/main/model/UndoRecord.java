@@ -0,0 +1,21 @@
+package model;
+
+// everything GameBoard needs to take back one move made with makeMove; records are reused by the board's history
+// stack, so making and unmaking moves does not allocate
+class UndoRecord {
+    int start;  // square the moving piece came from
+    int end;  // square the moving piece went to
+    Piece moving;  // the piece that moved (for promotions, the pawn)
+    boolean movingWasMoved;  // moved flag of the moving piece before the move
+    Piece captured;  // piece that was captured, or null
+    int capturedSquare;  // square the captured piece was on (differs from end for en passant)
+    Piece promoted;  // piece the pawn promoted into, or null
+    Piece rook;  // rook moved by castling, or null
+    int rookStart;
+    int rookEnd;
+    boolean rookWasMoved;
+    int enPassant;  // en passant square before the move
+    int halfmoveClock;  // halfmove clock before the move
+    long key;  // position key before the move; the records of a board form its ply-indexed key history
+    Move lastMove;  // last move before the move
+}
@@ -0,0 +1,76 @@
+package model;
+
+// utility class with the random keys used to hash positions. The key of a position is the XOR of the key of every
+// piece on its square, the side key if black is to move, the key of the castling rights and the key of the en passant
+// file, so a move only needs to XOR out what it removes and XOR in what it adds.
+// The keys come from a fixed seed, so a position has the same key in every run of the program.
+public final class Zobrist {
+    // castling right bits, combined into an index of CASTLING
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    private static final long[][] PIECES = new long[12][64];  // PIECES[piece code][square]
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT = new long[8];  // indexed by file (column) of the en passant square
+    private static final long SIDE;
+
+    private static long seed = 0x5EED_C0FF_EE15_600DL;
+
+    static {
+        for (long[] keys : PIECES) {
+            for (int square = 0; square < 64; square++) {
+                keys[square] = next();
+            }
+        }
+        // combined rights hash as the XOR of the single rights, so losing one right is a single XOR as well
+        long[] single = {next(), next(), next(), next()};
+        for (int rights = 0; rights < 16; rights++) {
+            for (int bit = 0; bit < 4; bit++) {
+                if ((rights & (1 << bit)) != 0) {
+                    CASTLING[rights] ^= single[bit];
+                }
+            }
+        }
+        for (int file = 0; file < 8; file++) {
+            EN_PASSANT[file] = next();
+        }
+        SIDE = next();
+    }
+
+    private Zobrist() {}
+
+    // REQUIRES: code is a Position piece code (colour * 6 + type), 0 <= square <= 63
+    // EFFECTS: returns the key of the piece with code standing on square
+    public static long piece(int code, int square) {
+        return PIECES[code][square];
+    }
+
+    // REQUIRES: 0 <= rights <= 15
+    // EFFECTS: returns the key of a set of castling rights
+    public static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    // REQUIRES: 0 <= square <= 63
+    // EFFECTS: returns the key of an en passant capture onto square
+    public static long enPassant(int square) {
+        return EN_PASSANT[square % 8];
+    }
+
+    // EFFECTS: returns the key that is included when black is to move
+    public static long side() {
+        return SIDE;
+    }
+
+    // MODIFIES: seed
+    // EFFECTS: returns the next number of a SplitMix64 sequence
+    private static long next() {
+        seed += 0x9E3779B97F4A7C15L;
+        long z = seed;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,9 @@
+package model.exceptions;
+
+public class InvalidFenException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidFenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,88 @@
+package persistence;
+
+import model.MoveList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// reader of a binary file of games saved by BinaryConverter. The file is memory-mapped when it is opened, and only
+// its header is read then; the offset of any game is read from the index when the game is asked for, so opening game
+// n of a large archive costs the same as opening the first one, and the operating system only reads the pages of the
+// games that are used.
+public class BinaryArchive {
+    private final ByteBuffer buffer;  // the mapped file
+    private final int games;
+
+    // EFFECTS: opens the binary file of games in file; throws IOException if it can't be read or is not a binary file
+    // of games
+    public BinaryArchive(String file) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary file is too large: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());  // stays mapped after closing
+        }
+        if (buffer.limit() < BinaryConverter.HEADER_BYTES || buffer.getInt(0) != BinaryConverter.MAGIC) {
+            throw new IOException("Not a binary file of games: " + file);
+        }
+        if (buffer.getShort(4) != BinaryConverter.VERSION) {
+            throw new IOException("Unsupported binary file version " + buffer.getShort(4) + ": " + file);
+        }
+        games = buffer.getInt(8);
+        if (games < 0 || BinaryConverter.HEADER_BYTES + 4L * games + 4 > buffer.limit()) {
+            throw new IOException("Binary file index is cut short: " + file);
+        }
+    }
+
+    // EFFECTS: returns the number of games in the file
+    public int getGameCount() {
+        return games;
+    }
+
+    // EFFECTS: returns the number of plies of game (counted from 0); throws IOException if there is no such game
+    public int getPlyCount(int game) throws IOException {
+        int start = start(game);
+        return (offset(game + 1) - start) / 2;
+    }
+
+    // EFFECTS: returns the moves of game (counted from 0), encoded as by MoveGenerator; throws IOException if there is
+    // no such game
+    public int[] getMoves(int game) throws IOException {
+        int start = start(game);
+        int[] result = new int[(offset(game + 1) - start) / 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buffer.getShort(start + 2 * i) & 0xFFFF;
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the move list of game (counted from 0), made by playing its moves from the starting position;
+    // throws IOException if there is no such game or one of its moves is not a legal move
+    public MoveList getMoveList(int game) throws IOException {
+        return BinaryConverter.toMoveList(getMoves(game));
+    }
+
+    // EFFECTS: returns the offset of the first move of game, read from the index; throws IOException if there is no
+    // such game, or its moves do not lie between the index and the end of the file
+    private int start(int game) throws IOException {
+        if (game < 0 || game >= games) {
+            throw new IOException("No game " + game + " in binary file of " + games + " games");
+        }
+        int start = offset(game);
+        int end = offset(game + 1);
+        if (start < BinaryConverter.HEADER_BYTES + 4L * games + 4 || end < start || end > buffer.limit()
+                || (end - start) % 2 != 0) {
+            throw new IOException("Binary file index is corrupt at game " + game);
+        }
+        return start;
+    }
+
+    // REQUIRES: 0 <= i <= getGameCount()
+    // EFFECTS: returns entry i of the index
+    private int offset(int i) {
+        return buffer.getInt(BinaryConverter.HEADER_BYTES + 4 * i);
+    }
+}
@@ -0,0 +1,87 @@
+package persistence;
+
+import model.GameBoard;
+import model.Move;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Position;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+// utility class that saves games in a compact binary format, alongside the JSON format of JsonConverter. Only where
+// each move goes is saved, as a 16-bit move encoded as by MoveGenerator; everything else about a move (the pieces,
+// captures, checks) follows from playing the moves from the starting position, so a game of 60 moves takes 240 bytes.
+// Files are read with BinaryArchive. All numbers are big-endian. A file is laid out as:
+// - header: MAGIC (int), VERSION (short), 0 (short, reserved), number of games n (int)
+// - index: n + 1 ints, the offset in the file of the moves of each game, then the offset of the end of the file, so
+//   game i is found without reading any other game
+// - moves: the moves of each game in order, one short each
+public final class BinaryConverter {
+    public static final int MAGIC = 0x43424741;  // "CBGA"
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 12;
+
+    private BinaryConverter() {}
+
+    // REQUIRES: the moves of ml were played in order from the starting position
+    // EFFECTS: saves the game of ml as the only game of a binary file
+    public static void saveMoveList(MoveList ml, String file) throws IOException {
+        saveGames(Collections.singletonList(ml), file);
+    }
+
+    // REQUIRES: the moves of each game were played in order from the starting position
+    // EFFECTS: saves every game of games, in order, into one binary file
+    public static void saveGames(List<MoveList> games, String file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(0);
+            out.writeInt(games.size());
+            long offset = HEADER_BYTES + 4L * (games.size() + 1);
+            for (MoveList game : games) {
+                out.writeInt((int) offset);
+                offset += 2L * game.getSize();
+            }
+            if (offset > Integer.MAX_VALUE) {
+                throw new IOException("Too many moves for one binary file");
+            }
+            out.writeInt((int) offset);
+            for (MoveList game : games) {
+                for (Move move : game.getMoveList()) {
+                    out.writeShort(encode(move));
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns move encoded as by MoveGenerator; pawns reaching the last rank promote into queens, as they
+    // do in a game played with GameBoard.movePiece
+    static int encode(Move move) {
+        int end = move.getEnd();
+        boolean promotes = move.getPiece().getName().equals("P") && (end / 8 == 0 || end / 8 == 7);
+        return MoveGenerator.encode(move.getStart(), end, promotes ? Position.QUEEN : 0);
+    }
+
+    // EFFECTS: returns the move list of the game of moves, encoded as by MoveGenerator, made by playing them from the
+    // starting position as GameBoard.movePiece would; throws IOException if one of them is not a legal move
+    static MoveList toMoveList(int[] moves) throws IOException {
+        GameBoard board = GameBoard.startingPosition();
+        MoveList result = new MoveList();
+        for (int move : moves) {
+            if (!MoveGenerator.isLegal(board, move)) {
+                throw new IOException("Illegal move " + MoveGenerator.toCoordinateNotation(move) + " in saved game");
+            }
+            result.addMove(board.toMove(move));
+            board.makeMove(move);
+        }
+        if (result.getSize() > 0 && board.isCheck() && !MoveGenerator.hasLegalMove(board)) {
+            result.wasCheckmate();
+        }
+        return result;
+    }
+}
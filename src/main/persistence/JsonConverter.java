@@ -3,18 +3,19 @@ package persistence;
 import model.Move;
 import model.MoveList;
 import model.Piece;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.stream.Stream;
 
 // utility class with functionality that can read to and write from a file.
+// Files are read with a JsonReader, one value at a time: moves are made into Move objects as they are read, and no
+// tree of the whole document is built, so reading a game takes little more memory than the game itself, and reading
+// the notation stops as soon as it has been read.
 public final class JsonConverter {
     private static final int INDENT = 4;
 
@@ -22,59 +23,100 @@ public final class JsonConverter {
 
     // EFFECTS: reads from specified file and returns a move list generated the moves in that file.
     public static MoveList getMoveList(String file) throws IOException {
-
-        // based off of code from the JsonSerializationDemo
-        StringBuilder builder = new StringBuilder();
-        try (Stream<String> stream = Files.lines(Paths.get(file), StandardCharsets.UTF_8)) {
-            stream.forEach(builder::append);
-        }
-
-        JSONArray jsonMoves = new JSONObject(builder.toString()).getJSONArray("moves");
         MoveList result = new MoveList();
-        for (Object move : jsonMoves) {
-            result.addMove(jsonToMove((JSONObject) move));
+        try (JsonReader reader = open(file)) {
+            findArray(reader, "moves");
+            while (reader.hasNext()) {
+                result.addMove(readMove(reader));
+            }
+            reader.endArray();
         }
-
         return result;
     }
 
     // EFFECTS: gets the list of algebraic notation from json file, which explains the game state without requiring
     // to load the entire game.
     public static ArrayList<String> getNotationList(String file) throws IOException {
-        StringBuilder builder = new StringBuilder();
-        try (Stream<String> stream = Files.lines(Paths.get(file), StandardCharsets.UTF_8)) {
-            stream.forEach(builder::append);
-        }
-        JSONArray jsonMoves = new JSONObject(builder.toString()).getJSONArray("notation");
         ArrayList<String> result = new ArrayList<>();
-        for (Object move : jsonMoves) {
-            result.add(move.toString());
+        try (JsonReader reader = open(file)) {
+            findArray(reader, "notation");
+            while (reader.hasNext()) {
+                result.add(reader.nextString());
+            }
+            reader.endArray();
         }
         return result;
     }
 
-    // EFFECTS: converts json object into a move object
-    private static Move jsonToMove(JSONObject json) {
-        Piece captured;
-        if (json.isNull("captured")) {
-            captured = null;
-        } else {
-            captured = jsonToPiece(json.getJSONObject("captured"));
+    // EFFECTS: returns a reader of the JSON document in file
+    private static JsonReader open(String file) throws IOException {
+        return new JsonReader(new InputStreamReader(Files.newInputStream(Paths.get(file)), StandardCharsets.UTF_8));
+    }
+
+    // MODIFIES: reader
+    // EFFECTS: reads the members of the object at the start of reader up to the array called name, and the start of
+    // that array, skipping the members before it; throws IOException if the object has no such member
+    private static void findArray(JsonReader reader, String name) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(name)) {
+                reader.beginArray();
+                return;
+            }
+            reader.skipValue();
         }
-        Piece piece = jsonToPiece(json.getJSONObject("piece"));
-        int start = json.getInt("start");
-        int end = json.getInt("end");
-        boolean check = json.getBoolean("check");
+        throw new IOException("Saved game has no " + name);
+    }
 
-        return new Move(piece, start, end, check, captured);
+    // MODIFIES: reader
+    // EFFECTS: reads a move object from reader and converts it into a move object
+    private static Move readMove(JsonReader reader) throws IOException {
+        SavedMove move = new SavedMove();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            move.read(reader, reader.nextName());
+        }
+        reader.endObject();
+        if (move.piece == null || move.start == null || move.end == null) {
+            throw new IOException("Saved move has no piece, start or end");
+        }
+        return new Move(move.piece, move.start, move.end, move.check, move.captured);
     }
 
-    // EFFECTS: converts json object into a piece object
-    private static Piece jsonToPiece(JSONObject json) {
-        return Piece.createPiece(json.getString("allegiance"), json.getInt("position"),
-                                 json.getBoolean("moved"), json.getString("type"));
+    // MODIFIES: reader
+    // EFFECTS: reads a piece object from reader and converts it into a piece object
+    private static Piece readPiece(JsonReader reader) throws IOException {
+        String allegiance = null;
+        String type = null;
+        Integer position = null;  // null until read, as is moved, since every value is valid
+        Boolean moved = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("allegiance")) {
+                allegiance = reader.nextString();
+            } else if (name.equals("type")) {
+                type = reader.nextString();
+            } else if (name.equals("position")) {
+                position = reader.nextInt();
+            } else if (name.equals("moved")) {
+                moved = reader.nextBoolean();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return createPiece(allegiance, position, moved, type);
     }
 
+    // EFFECTS: creates a piece from the members of a saved piece; throws IOException if a member was missing
+    private static Piece createPiece(String allegiance, Integer position, Boolean moved, String type)
+            throws IOException {
+        if (allegiance == null || type == null || position == null || moved == null) {
+            throw new IOException("Saved piece has no allegiance, type, position or moved");
+        }
+        return Piece.createPiece(allegiance, position, moved, type);
+    }
 
     // EFFECTS: saves the inputted move list into json file
     public static void saveMoveList(MoveList ml, String file) throws IOException {
@@ -82,4 +124,38 @@ public final class JsonConverter {
         writer.print(ml.toJson().toString(INDENT));
         writer.close();
     }
+
+    // the members of a saved move, filled in as they are read, in whatever order they were saved
+    private static final class SavedMove {
+        Piece piece;
+        Piece captured;
+        Integer start;  // null until read, as is end, since any square is a valid value
+        Integer end;
+        boolean check;
+
+        // MODIFIES: this, reader
+        // EFFECTS: reads the value of the member called name from reader into this; members it does not know are
+        // skipped
+        void read(JsonReader reader, String name) throws IOException {
+            switch (name) {
+                case "piece":
+                    piece = readPiece(reader);
+                    break;
+                case "captured":
+                    captured = reader.nextNull() ? null : readPiece(reader);
+                    break;
+                case "start":
+                    start = reader.nextInt();
+                    break;
+                case "end":
+                    end = reader.nextInt();
+                    break;
+                case "check":
+                    check = reader.nextBoolean();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+    }
 }
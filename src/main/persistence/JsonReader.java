@@ -0,0 +1,285 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+// pull parser that reads a JSON document from a Reader one value at a time, so a document can be walked without
+// building a tree of it in memory, and reading can stop as soon as the wanted value has been found. Values are read
+// in the order they appear with the begin, end and next methods, and skipValue passes over a value of any kind.
+// The reader is lenient about separators: commas and colons may be left out, and are not checked to be in the right
+// place, which is enough to read documents written by a JSON library.
+public class JsonReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();  // reused to read strings
+    private int pos;  // index of the next character in buffer
+    private int limit;  // number of characters in buffer
+    private long offset;  // number of characters read before those in buffer, for error messages
+    private int depth;  // number of objects and arrays begun and not yet ended
+
+    // EFFECTS: creates a reader of the JSON document in in
+    public JsonReader(Reader in) {
+        this.in = in;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the start of an object; throws IOException if the next value is not an object
+    public void beginObject() throws IOException {
+        expect('{');
+        depth++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the end of the current object; throws IOException if the object has more members
+    public void endObject() throws IOException {
+        expect('}');
+        depth--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the start of an array; throws IOException if the next value is not an array
+    public void beginArray() throws IOException {
+        expect('[');
+        depth++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the end of the current array; throws IOException if the array has more elements
+    public void endArray() throws IOException {
+        expect(']');
+        depth--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true if the current object or array has another member or element; throws IOException if the
+    // document ends before the current object or array does
+    public boolean hasNext() throws IOException {
+        int c = peek();
+        return c != '}' && c != ']' && c != -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the name of the next member of the current object; throws IOException if there is none
+    public String nextName() throws IOException {
+        return nextString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a string value; throws IOException if the next value is not a string
+    public String nextString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        for (int c = read(); c != '"'; c = read()) {
+            if (c == -1) {
+                throw error("Unterminated string");
+            }
+            text.append(c == '\\' ? readEscape() : (char) c);
+        }
+        return text.toString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads an integer value; throws IOException if the next value is not an integer that fits in an int
+    public int nextInt() throws IOException {
+        boolean negative = peek() == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        for (int c = peekChar(); c >= '0' && c <= '9' && value <= Integer.MAX_VALUE; c = peekChar()) {
+            value = value * 10 + c - '0';
+            digits++;
+            pos++;
+        }
+        value = negative ? -value : value;
+        if (digits == 0 || value != (int) value || isNumberPart(peekChar())) {
+            throw error("Expected an integer");
+        }
+        return (int) value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a true or false value; throws IOException if the next value is neither
+    public boolean nextBoolean() throws IOException {
+        String word = nextWord();
+        if (!word.equals("true") && !word.equals("false")) {
+            throw error("Expected a boolean but found " + word);
+        }
+        return word.equals("true");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the next value is null, reads it and returns true; otherwise reads nothing and returns false
+    public boolean nextNull() throws IOException {
+        if (peek() != 'n') {
+            return false;
+        }
+        String word = nextWord();
+        if (!word.equals("null")) {
+            throw error("Expected null but found " + word);
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past the next value, including everything inside it if it is an object or array
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            int c = peek();
+            if (c == '{' || c == '[') {
+                depth++;
+                pos++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                pos++;
+            } else if (c == '"') {
+                nextString();
+            } else if (c == -1) {
+                throw error("Unexpected end of document");
+            } else {
+                skipWord();
+            }
+        } while (depth > 0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the underlying reader
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the character c after any whitespace and separators; throws IOException if another one is next
+    private void expect(char c) throws IOException {
+        int next = peek();
+        if (next != c) {
+            throw error("Expected '" + c + "' but found " + (next == -1 ? "the end" : "'" + (char) next + "'"));
+        }
+        pos++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past whitespace, commas and colons, and returns the character after them without reading it,
+    // or -1 at the end of the document; throws IOException if the document ends inside an object or array
+    private int peek() throws IOException {
+        int c = peekChar();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',' || c == ':') {
+            pos++;
+            c = peekChar();
+        }
+        if (c == -1 && depth > 0) {
+            throw error("Unexpected end of document");
+        }
+        return c;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next character without reading it, or -1 at the end of the document
+    private int peekChar() throws IOException {
+        if (pos == limit) {
+            offset += limit;
+            limit = Math.max(in.read(buffer, 0, buffer.length), 0);
+            pos = 0;
+            if (limit == 0) {
+                return -1;
+            }
+        }
+        return buffer[pos];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads and returns the next character, or -1 at the end of the document
+    private int read() throws IOException {
+        int c = peekChar();
+        if (c != -1) {
+            pos++;
+        }
+        return c;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the rest of an escape sequence inside a string, after the backslash, and returns the character
+    // it stands for
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                return readHexCharacter();
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            default:
+                throw error("Invalid escape sequence");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the four hexadecimal digits of a unicode escape and returns the character they stand for
+    private char readHexCharacter() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw error("Invalid unicode escape");
+            }
+            value = value * 16 + digit;
+        }
+        return (char) value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a value that is not a string, object or array (a number, true, false or null) and returns it
+    private String nextWord() throws IOException {
+        peek();
+        text.setLength(0);
+        for (int c = peekChar(); isNumberPart(c); c = peekChar()) {
+            text.append((char) c);
+            pos++;
+        }
+        if (text.length() == 0) {
+            throw error("Expected a value");
+        }
+        return text.toString();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past a value that is not a string, object or array without keeping it
+    private void skipWord() throws IOException {
+        int length = 0;
+        for (int c = peekChar(); isNumberPart(c); c = peekChar()) {
+            pos++;
+            length++;
+        }
+        if (length == 0) {
+            throw error("Expected a value");
+        }
+    }
+
+    // EFFECTS: returns true if c can be part of a number, true, false or null
+    private static boolean isNumberPart(int c) {
+        return c >= '0' && c <= '9' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '-' || c == '+'
+                || c == '.';
+    }
+
+    // EFFECTS: returns an exception about malformed JSON at the current position, with message
+    private IOException error(String message) {
+        return new IOException(message + " at character " + (offset + pos) + " of JSON document");
+    }
+}
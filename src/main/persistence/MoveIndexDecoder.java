@@ -0,0 +1,79 @@
+package persistence;
+
+import model.GameBoard;
+import model.MoveGenerator;
+import model.MoveList;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// reads back the games written by MoveIndexEncoder one at a time, in the order they were written. Each move index
+// is turned back into a move by generating the legal moves of the position on a GameBoard the game is replayed on,
+// so only the game being read is in memory.
+public class MoveIndexDecoder implements Closeable {
+    private static final int MAX_PLIES = 1 << 14;  // more than the plies of any game, to stop on corrupt input
+
+    private final InputStream in;
+    private final RangeDecoder decoder;
+    private final MoveIndexModel model = new MoveIndexModel();
+    private final int[] legal = new int[MoveGenerator.MAX_MOVES];
+    private boolean finished;  // true once the end of the games has been read
+
+    // EFFECTS: creates a decoder of the games in in; throws IOException if in does not start with the header of
+    // MoveIndexEncoder
+    public MoveIndexDecoder(InputStream in) throws IOException {
+        this.in = new BufferedInputStream(in);
+        DataInputStream header = new DataInputStream(this.in);
+        if (header.readInt() != MoveIndexEncoder.MAGIC) {
+            throw new IOException("Not a move index file");
+        }
+        short version = header.readShort();
+        if (version != MoveIndexEncoder.VERSION) {
+            throw new IOException("Unsupported move index file version " + version);
+        }
+        decoder = new RangeDecoder(this.in);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the next game and returns its move list, or null if all games have been read
+    public MoveList readGame() throws IOException {
+        int[] moves = readMoves();
+        return moves == null ? null : BinaryConverter.toMoveList(moves);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the next game and returns its moves encoded as by MoveGenerator, or null if all games have been
+    // read; throws IOException if the input is corrupt or cut short
+    public int[] readMoves() throws IOException {
+        if (finished || model.decode(decoder, MoveIndexModel.GAME_CONTEXT, 2) == 0) {
+            finished = true;
+            return null;
+        }
+        GameBoard board = GameBoard.startingPosition();
+        int[] moves = new int[64];
+        for (int ply = 0; true; ply++) {
+            int count = MoveGenerator.generate(board, legal);
+            int symbol = model.decode(decoder, MoveIndexModel.context(ply), count + 1);
+            if (symbol == 0) {
+                return Arrays.copyOf(moves, ply);
+            } else if (ply == MAX_PLIES) {
+                throw new IOException("Corrupt move index file");
+            } else if (ply == moves.length) {
+                moves = Arrays.copyOf(moves, ply * 2);
+            }
+            moves[ply] = legal[symbol - 1];
+            board.makeMove(moves[ply]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the underlying stream
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,88 @@
+package persistence;
+
+import model.GameBoard;
+import model.Move;
+import model.MoveGenerator;
+import model.MoveList;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// writes games one after another to a stream in a compressed format, read back with MoveIndexDecoder. Each move is
+// written as its index in the legal moves of its position, in the deterministic order of MoveGenerator.generate, so
+// it is one of about 35 choices instead of a 16-bit move; the indexes are then range coded with MoveIndexModel, which
+// learns how often each index is played at each ply, to take about 4 to 6 bits a move. Games are replayed on a
+// GameBoard while they are written, so only one game is in memory at a time however many are written.
+// The stream starts with MAGIC (int) and VERSION (short), then the range coded games.
+public class MoveIndexEncoder implements Closeable {
+    public static final int MAGIC = 0x43424749;  // "CBGI"
+    public static final short VERSION = 1;
+
+    private final OutputStream out;
+    private final RangeEncoder encoder;
+    private final MoveIndexModel model = new MoveIndexModel();
+    private final int[] legal = new int[MoveGenerator.MAX_MOVES];
+
+    // EFFECTS: creates an encoder that writes games to out, and writes the header
+    public MoveIndexEncoder(OutputStream out) throws IOException {
+        this.out = new BufferedOutputStream(out);
+        DataOutputStream header = new DataOutputStream(this.out);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        encoder = new RangeEncoder(this.out);
+    }
+
+    // REQUIRES: the moves of game were played in order from the starting position
+    // MODIFIES: this
+    // EFFECTS: writes the game of game
+    public void writeGame(MoveList game) throws IOException {
+        int[] moves = new int[game.getSize()];
+        int i = 0;
+        for (Move move : game.getMoveList()) {
+            moves[i++] = BinaryConverter.encode(move);
+        }
+        writeMoves(moves);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the game of moves, encoded as by MoveGenerator and played from the starting position; throws
+    // IOException if one of them is not a legal move, in which case nothing more may be written
+    public void writeMoves(int[] moves) throws IOException {
+        GameBoard board = GameBoard.startingPosition();
+        model.encode(encoder, MoveIndexModel.GAME_CONTEXT, 1, 2);
+        for (int ply = 0; ply < moves.length; ply++) {
+            int count = MoveGenerator.generate(board, legal);
+            int index = indexOf(moves[ply], count);
+            if (index < 0) {
+                throw new IOException("Illegal move " + MoveGenerator.toCoordinateNotation(moves[ply]) + " at ply "
+                        + ply);
+            }
+            model.encode(encoder, MoveIndexModel.context(ply), index + 1, count + 1);
+            board.makeMove(moves[ply]);
+        }
+        int count = MoveGenerator.generate(board, legal);
+        model.encode(encoder, MoveIndexModel.context(moves.length), 0, count + 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks the end of the games, writes out everything still buffered and closes the stream
+    @Override
+    public void close() throws IOException {
+        model.encode(encoder, MoveIndexModel.GAME_CONTEXT, 0, 2);
+        encoder.finish();
+        out.close();
+    }
+
+    // EFFECTS: returns the index of move in the first count legal moves, or -1 if it is not one of them
+    private int indexOf(int move, int count) {
+        for (int i = 0; i < count; i++) {
+            if (legal[i] == move) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
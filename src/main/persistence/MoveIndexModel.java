@@ -0,0 +1,94 @@
+package persistence;
+
+import model.MoveGenerator;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// adaptive model of the symbols written by MoveIndexEncoder, shared by the encoder and the decoder so both learn the
+// same frequencies from the games coded so far. The symbols of a position are 0, which ends the game, and i + 1 for
+// its legal move number i in the order of MoveGenerator.generate. Each ply context keeps its own frequencies: every
+// one of the first OPENING_PLIES plies has one, as the same few moves are played there in most games, and later plies
+// share one per PLIES_PER_CONTEXT plies. The game context only codes whether another game follows.
+final class MoveIndexModel {
+    static final int GAME_CONTEXT = 0;
+    private static final int OPENING_PLIES = 16;
+    private static final int PLIES_PER_CONTEXT = 16;
+    private static final int LATE_CONTEXTS = 8;
+    private static final int CONTEXTS = 1 + OPENING_PLIES + LATE_CONTEXTS;
+    private static final int SYMBOLS = MoveGenerator.MAX_MOVES + 1;
+    private static final int INCREMENT = 32;  // added to the frequency of a symbol each time it is coded
+    private static final int LIMIT = 1 << 15;  // frequencies of a context are halved when their sum goes above this
+
+    private final int[][] frequencies = new int[CONTEXTS][SYMBOLS];
+    private final int[] sums = new int[CONTEXTS];
+
+    // EFFECTS: creates a model where every symbol of every context is as likely
+    MoveIndexModel() {
+        for (int i = 0; i < CONTEXTS; i++) {
+            Arrays.fill(frequencies[i], 1);
+            sums[i] = SYMBOLS;
+        }
+    }
+
+    // REQUIRES: ply >= 0
+    // EFFECTS: returns the context of the position after ply plies of a game
+    static int context(int ply) {
+        if (ply < OPENING_PLIES) {
+            return 1 + ply;
+        }
+        return 1 + OPENING_PLIES + Math.min((ply - OPENING_PLIES) / PLIES_PER_CONTEXT, LATE_CONTEXTS - 1);
+    }
+
+    // REQUIRES: 0 <= symbol < symbols <= MoveGenerator.MAX_MOVES + 1
+    // MODIFIES: this, encoder
+    // EFFECTS: writes symbol, one of the first symbols symbols of context, and makes it more likely in context
+    void encode(RangeEncoder encoder, int context, int symbol, int symbols) throws IOException {
+        int[] frequency = frequencies[context];
+        int cumulative = 0;
+        for (int i = 0; i < symbol; i++) {
+            cumulative += frequency[i];
+        }
+        int total = cumulative;
+        for (int i = symbol; i < symbols; i++) {
+            total += frequency[i];
+        }
+        encoder.encode(cumulative, frequency[symbol], total);
+        update(context, symbol);
+    }
+
+    // REQUIRES: 0 < symbols <= MoveGenerator.MAX_MOVES + 1, and the next symbol was written with context and symbols
+    // MODIFIES: this, decoder
+    // EFFECTS: reads and returns the next symbol, and makes it more likely in context
+    int decode(RangeDecoder decoder, int context, int symbols) throws IOException {
+        int[] frequency = frequencies[context];
+        int total = 0;
+        for (int i = 0; i < symbols; i++) {
+            total += frequency[i];
+        }
+        int threshold = decoder.threshold(total);
+        int symbol = 0;
+        int cumulative = 0;
+        while (cumulative + frequency[symbol] <= threshold) {
+            cumulative += frequency[symbol++];
+        }
+        decoder.consume(cumulative, frequency[symbol]);
+        update(context, symbol);
+        return symbol;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes symbol more likely in context, halving every frequency of context if their sum gets too big
+    private void update(int context, int symbol) {
+        int[] frequency = frequencies[context];
+        frequency[symbol] += INCREMENT;
+        sums[context] += INCREMENT;
+        if (sums[context] > LIMIT) {
+            sums[context] = 0;
+            for (int i = 0; i < SYMBOLS; i++) {
+                frequency[i] = (frequency[i] + 1) / 2;
+                sums[context] += frequency[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package persistence;
+
+import model.AlgebraicNotation;
+import model.GameBoard;
+import model.MoveGenerator;
+import model.MoveList;
+import model.exceptions.InvalidFenException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// reads the games of a PGN (Portable Game Notation) file one at a time, as an Iterator or Stream of MoveLists, so
+// databases of any size can be read: the file is read through a buffer of BUFFER_SIZE bytes, and only the game being
+// read is kept in memory. The tag pairs of each game are read into getTags, and its movetext is played on a GameBoard
+// (from the FEN tag if there is one), with every SAN move resolved against the legal moves of its position.
+// Comments, variations, move numbers, annotation glyphs and results are skipped. A game with a move that is not
+// legal, or not SAN for exactly one legal move, is skipped as a whole and counted by getSkippedGames.
+// Promotions are played as written, but a MoveList only remembers where each move went, so replaying one with
+// GameBoard.movePiece promotes into queens.
+public class PgnReader implements Iterator<MoveList>, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_TOKEN = 1 << 12;  // longer tokens and tag values are cut short
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] token = new byte[MAX_TOKEN];  // reused to read tokens
+    private int tokenLength;
+    private Map<String, String> tags = Collections.emptyMap();  // tags of the game last returned by next
+    private Map<String, String> nextTags;  // tags of nextGame
+    private MoveList nextGame;  // game read ahead by hasNext, or null
+    private int skipped;
+    private boolean finished;  // true once the end of the file has been reached
+    private boolean hadMovetext;  // true if readMovetext read a token, not only comments, of the game it read last
+
+    // EFFECTS: creates a reader of the games in channel, read from its current position
+    public PgnReader(FileChannel channel) {
+        this.channel = channel;
+        buffer.flip();
+    }
+
+    // EFFECTS: returns a reader of the games in the PGN file at path; throws IOException if it can not be opened
+    public static PgnReader open(String path) throws IOException {
+        return new PgnReader(FileChannel.open(Paths.get(path), StandardOpenOption.READ));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true if there is another game that can be played, reading ahead to it; throws
+    // UncheckedIOException if the file can not be read
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextGame == null && !finished) {
+                nextGame = readGame();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return nextGame != null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the move list of the next game that can be played, and makes its tags those of getTags;
+    // throws NoSuchElementException if there are no more
+    @Override
+    public MoveList next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        MoveList result = nextGame;
+        tags = nextTags;
+        nextGame = null;
+        return result;
+    }
+
+    // EFFECTS: returns the games left in the file as a sequential stream read as it is consumed; closing the stream
+    // closes the file
+    public Stream<MoveList> stream() {
+        Spliterator<MoveList> games = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(games, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // EFFECTS: returns the tag pairs of the game last returned by next, by name in the order of the file
+    public Map<String, String> getTags() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    // EFFECTS: returns the number of games skipped so far because they could not be played
+    public int getSkippedGames() {
+        return skipped;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the file
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the next game and returns its move list, or null if it could not be played, was only comments,
+    // or the end of the file has been reached
+    private MoveList readGame() throws IOException {
+        Map<String, String> gameTags = new LinkedHashMap<>();
+        int c = skipSpace();
+        while (c == '[') {
+            readTag(gameTags);
+            c = skipSpace();
+        }
+        if (c == -1 && gameTags.isEmpty()) {
+            finished = true;
+            return null;
+        }
+        nextTags = gameTags;
+        GameBoard board = startingBoard(gameTags);
+        MoveList result = readMovetext(board);
+        if (gameTags.isEmpty() && !hadMovetext) {
+            return null;  // only comments, such as one after the result of the last game
+        }
+        if (board == null || result == null) {
+            skipped++;
+            return null;
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the board a game with tags starts from: the position of its FEN tag if it has one, else the
+    // starting position; null if the FEN tag is not valid
+    private static GameBoard startingBoard(Map<String, String> tags) {
+        if (!tags.containsKey("FEN")) {
+            return GameBoard.startingPosition();
+        }
+        try {
+            return GameBoard.fromFen(tags.get("FEN"));
+        } catch (InvalidFenException e) {
+            return null;
+        }
+    }
+
+    // REQUIRES: the next character is [
+    // MODIFIES: this, gameTags
+    // EFFECTS: reads a tag pair [Name "value"] into gameTags
+    private void readTag(Map<String, String> gameTags) throws IOException {
+        read();
+        skipSpace();
+        readToken();
+        String name = tokenText();
+        int c = skipSpace();
+        tokenLength = 0;
+        if (c == '"') {
+            read();
+            for (c = read(); c != '"' && c != -1 && c != '\n'; c = read()) {
+                appendToken(c == '\\' ? read() : c);
+            }
+        }
+        gameTags.put(name, tokenText());
+        skipTo(']');
+    }
+
+    // MODIFIES: this, board
+    // EFFECTS: reads the movetext of a game up to its result, the tags of the next game or the end of the file, and
+    // returns the moves played on board, or null if board is null or a move could not be played
+    private MoveList readMovetext(GameBoard board) throws IOException {
+        MoveList result = board == null ? null : new MoveList();
+        hadMovetext = false;
+        for (int c = skipSpace(); c != -1 && c != '['; c = skipSpace()) {
+            if (c == '{' || c == ';' || c == '%' || c == '(') {
+                skipComment(c);
+                continue;
+            }
+            readToken();
+            hadMovetext = true;
+            if (isResult()) {
+                break;
+            }
+            int start = moveStart();
+            if (result != null && start < tokenLength) {
+                result = play(board, result, new String(token, start, tokenLength - start, StandardCharsets.US_ASCII));
+            }
+        }
+        if (result != null && result.getSize() > 0 && board.isCheck() && !MoveGenerator.hasLegalMove(board)) {
+            result.wasCheckmate();
+        }
+        return result;
+    }
+
+    // MODIFIES: board, result
+    // EFFECTS: plays the move written in SAN as san on board and adds it to result, returning result; returns null
+    // if san is not a legal move
+    private static MoveList play(GameBoard board, MoveList result, String san) {
+        int move = AlgebraicNotation.parse(board, san);
+        if (move == 0) {
+            return null;
+        }
+        result.addMove(board.toMove(move));
+        board.makeMove(move);
+        return result;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past the comment, variation or escaped line that starts with c; variations may hold comments and
+    // other variations
+    private void skipComment(int c) throws IOException {
+        read();
+        if (c == '{') {
+            skipTo('}');
+        } else if (c == ';' || c == '%') {
+            skipTo('\n');
+        } else {
+            for (int next = skipSpace(); next != ')' && next != -1; next = skipSpace()) {
+                if (next == '{' || next == ';' || next == '(') {
+                    skipComment(next);
+                } else {
+                    read();
+                }
+            }
+            read();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads up to and including the next character end, or to the end of the file
+    private void skipTo(int end) throws IOException {
+        int c = read();
+        while (c != end && c != -1) {
+            c = read();
+        }
+    }
+
+    // EFFECTS: returns the index in token where the move starts after a move number such as 12. or 12..., which is
+    // tokenLength if the token is only a move number or an annotation glyph such as $1, ! or ?!
+    private int moveStart() {
+        if (token[0] == '$' || isSuffixGlyph()) {
+            return tokenLength;
+        }
+        int start = 0;
+        while (start < tokenLength && (Character.isDigit(token[start]) || token[start] == '.')) {
+            start++;
+        }
+        return start > 0 && token[start - 1] != '.' ? 0 : start;
+    }
+
+    // EFFECTS: returns true if token is made only of ! and ?, an annotation glyph written apart from its move
+    private boolean isSuffixGlyph() {
+        for (int i = 0; i < tokenLength; i++) {
+            if (token[i] != '!' && token[i] != '?') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns true if token is a game result: 1-0, 0-1, 1/2-1/2 or *
+    private boolean isResult() {
+        String text = tokenText();
+        return text.equals("1-0") || text.equals("0-1") || text.equals("1/2-1/2") || text.equals("*");
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads a token: the characters up to whitespace or one of the characters that start or end a tag,
+    // comment or variation
+    private void readToken() throws IOException {
+        tokenLength = 0;
+        for (int c = peek(); c != -1 && c > ' ' && "[]{}();\"".indexOf(c) < 0; c = peek()) {
+            appendToken(read());
+        }
+        if (tokenLength == 0) {
+            appendToken(read());  // a stray ], } or ) is a token of its own, so reading always moves on
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds c to token, unless token is full or c is the end of the file
+    private void appendToken(int c) {
+        if (tokenLength < MAX_TOKEN && c != -1) {
+            token[tokenLength++] = (byte) c;
+        }
+    }
+
+    // EFFECTS: returns token as text, which is UTF-8 in PGN files written today
+    private String tokenText() {
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads past whitespace and returns the character after it without reading it, or -1 at the end of the
+    // file
+    private int skipSpace() throws IOException {
+        int c = peek();
+        while (c != -1 && c <= ' ') {
+            read();
+            c = peek();
+        }
+        return c;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next byte of the file without reading it, or -1 at the end of the file
+    private int peek() throws IOException {
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read <= 0) {
+                return -1;
+            }
+        }
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads and returns the next byte of the file, or -1 at the end of the file
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            buffer.get();
+        }
+        return c;
+    }
+}
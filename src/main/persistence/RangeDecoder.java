@@ -0,0 +1,65 @@
+package persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static persistence.RangeEncoder.BOTTOM;
+import static persistence.RangeEncoder.MASK;
+import static persistence.RangeEncoder.TOP;
+
+// reads back the symbols written by a RangeEncoder, given the same model. Each symbol is read in two steps:
+// threshold tells where in the total of the model the next symbol lies, so the model can find the symbol, and consume
+// then reads past it with its place in the total.
+final class RangeDecoder {
+    private final InputStream in;
+    private long low;
+    private long range = MASK;
+    private long code;
+
+    // EFFECTS: creates a decoder of the symbols in in; throws IOException if in ends before the first of them
+    RangeDecoder(InputStream in) throws IOException {
+        this.in = in;
+        for (int i = 0; i < 4; i++) {
+            code = code << 8 | readByte();
+        }
+    }
+
+    // REQUIRES: 0 < total < BOTTOM, and total is the one the next symbol was written with
+    // MODIFIES: this
+    // EFFECTS: returns a number in [0, total) that lies within the range of the next symbol; consume must be called
+    // before the next call
+    int threshold(int total) {
+        range /= total;
+        return (int) Math.min(((code - low) & MASK) / range, total - 1);
+    }
+
+    // REQUIRES: the next symbol takes up [cumulative, cumulative + frequency) of the total given to threshold
+    // MODIFIES: this
+    // EFFECTS: reads past the next symbol; throws IOException if the input was cut short
+    void consume(int cumulative, int frequency) throws IOException {
+        low = (low + cumulative * range) & MASK;
+        range *= frequency;
+        while (true) {
+            if (((low ^ (low + range)) & MASK) >= TOP) {
+                if (range >= BOTTOM) {
+                    return;
+                }
+                range = -low & (BOTTOM - 1);
+            }
+            code = (code << 8 | readByte()) & MASK;
+            low = (low << 8) & MASK;
+            range = (range << 8) & MASK;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the next byte of the input; throws IOException at its end, as the decoder reads exactly the
+    // bytes the encoder wrote, up to those of RangeEncoder.finish
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new IOException("Unexpected end of encoded games");
+        }
+        return b;
+    }
+}
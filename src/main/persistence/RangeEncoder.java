@@ -0,0 +1,52 @@
+package persistence;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// range coder that writes a sequence of symbols, each with a frequency out of a total given by the caller's model,
+// in close to the number of bits the model says they carry. It works on 32-bit unsigned numbers held in longs and
+// never has to carry into bytes already written (the carryless coder of Subbotin): when the range gets too small
+// near a byte boundary it is cut short instead, which costs a tiny fraction of a bit. Read back with RangeDecoder.
+final class RangeEncoder {
+    static final long TOP = 1L << 24;
+    static final long BOTTOM = 1L << 16;  // totals must be below this
+    static final long MASK = 0xFFFFFFFFL;
+
+    private final OutputStream out;
+    private long low;
+    private long range = MASK;
+
+    // EFFECTS: creates an encoder that writes its bytes to out
+    RangeEncoder(OutputStream out) {
+        this.out = out;
+    }
+
+    // REQUIRES: 0 < frequency, cumulative + frequency <= total < BOTTOM
+    // MODIFIES: this
+    // EFFECTS: writes the symbol that takes up [cumulative, cumulative + frequency) of total
+    void encode(int cumulative, int frequency, int total) throws IOException {
+        range /= total;
+        low = (low + cumulative * range) & MASK;
+        range *= frequency;
+        while (true) {
+            if (((low ^ (low + range)) & MASK) >= TOP) {
+                if (range >= BOTTOM) {
+                    return;
+                }
+                range = -low & (BOTTOM - 1);
+            }
+            out.write((int) (low >>> 24));
+            low = (low << 8) & MASK;
+            range = (range << 8) & MASK;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the bytes needed to decode every symbol written so far; nothing may be written after this
+    void finish() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            out.write((int) (low >>> 24));
+            low = (low << 8) & MASK;
+        }
+    }
+}
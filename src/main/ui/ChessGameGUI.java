@@ -195,14 +195,8 @@ public class ChessGameGUI extends JFrame implements ActionListener {
     // MODIFIES: this
     // EFFECTS: makes a move and updates the graphic interface
     private void makeMove(int pos) {
-        if (gameBoard.movePiece(selected.getPosition(), pos)) {
-            moveList.addMove(gameBoard.getLastMove());
+        if (playMove(selected.getPosition(), pos)) {
             displayPieces();
-            if (gameBoard.checkStatus()) {
-                handleGameEnd();
-            } else {
-                updateMoves();
-            }
         } else {
             System.out.println("Something went wrong trying to move!");
             // this section should never run, but is here just in case
@@ -210,6 +204,22 @@ public class ChessGameGUI extends JFrame implements ActionListener {
         selected = null;
     }
 
+    // MODIFIES: this
+    // EFFECTS: moves the piece on start to end if it can, adding the move to the move list and the move display; the
+    // board is not redrawn. returns true if the move was made
+    private boolean playMove(int start, int end) {
+        if (!gameBoard.movePiece(start, end)) {
+            return false;
+        }
+        moveList.addMove(gameBoard.getLastMove());
+        if (gameBoard.checkStatus()) {
+            handleGameEnd();
+        } else {
+            updateMoves();
+        }
+        return true;
+    }
+
     // MODIFIES: this
     // EFFECTS: updates the graphic interface
     private void updateMoves() {
@@ -291,25 +301,29 @@ public class ChessGameGUI extends JFrame implements ActionListener {
     }
 
     // MODIFIES: this
-    // EFFECTS: loads a game from saved file, overwriting the current game
+    // EFFECTS: loads a game from saved file, overwriting the current game. The moves are replayed without redrawing
+    // the board, which is drawn once at the end
     private void handleLoad() {
-        moves.clear();
+        MoveList saved;
         try {
-            MoveList temp = JsonConverter.getMoveList("./data/saveFile1.json");
-            this.moveList = new MoveList();
-            this.gameBoard = new GameBoard();
-            for (Move m : temp.getMoveList()) {
-                selected = gameBoard.getPiece(m.getStart());
-                makeMove(m.getEnd());
-            }
+            saved = JsonConverter.getMoveList("./data/saveFile1.json");
         } catch (IOException e) {
             System.out.println("Something went wrong loading from the file!");
-        } catch (NullPointerException e) {
-            System.out.println("Something went wrong making moves from the file!");
-            this.moveList = new MoveList();
-            this.gameBoard = new GameBoard();
-            displayPieces();
+            return;
         }
+        moves.clear();
+        this.moveList = new MoveList();
+        this.gameBoard = new GameBoard();
+        for (Move m : saved.getMoveList()) {
+            if (!playMove(m.getStart(), m.getEnd())) {
+                System.out.println("Something went wrong making moves from the file!");
+                moves.clear();
+                this.moveList = new MoveList();
+                this.gameBoard = new GameBoard();
+                break;
+            }
+        }
+        displayPieces();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package ui;
+
+import model.GameBoard;
+import model.Perft;
+import model.exceptions.InvalidFenException;
+
+import java.util.Arrays;
+import java.util.Map;
+
+// command line entry point that runs a perft count on a position and reports how fast it ran.
+// usage: PerftMain [divide | parallel] <depth> [startpos | <FEN>]
+// with "divide", the count below each legal move of the position is printed as well; with "parallel", the count is
+// split over every processor, sharing a cache of positions already counted
+public class PerftMain {
+    private static final String USAGE = "Usage: PerftMain [divide | parallel] <depth> [startpos | <FEN>]";
+
+    // EFFECTS: parses the arguments, runs perft and prints the node count, elapsed time and nodes per second; prints
+    // the usage instead if the depth is missing, not a number or negative
+    public static void main(String[] args) {
+        String mode = args.length > 0 && (args[0].equals("divide") || args[0].equals("parallel")) ? args[0] : "";
+        int next = mode.isEmpty() ? 0 : 1;
+        int depth;
+        try {
+            depth = Integer.parseInt(args[next++]);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            depth = -1;
+        }
+        if (depth < 0) {
+            System.out.println(USAGE);  // Perft requires a depth of at least 0
+            return;
+        }
+        String fen = String.join(" ", Arrays.copyOfRange(args, next, args.length));
+        try {
+            GameBoard board = fen.isEmpty() || fen.equals("startpos") ? new GameBoard() : GameBoard.fromFen(fen);
+            run(board, depth, mode);
+        } catch (InvalidFenException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // MODIFIES: board (restored before returning)
+    // EFFECTS: counts the nodes of board to depth as mode says and prints the result with its timing
+    private static void run(GameBoard board, int depth, String mode) {
+        long start = System.nanoTime();
+        long nodes = 0;
+        if (mode.equals("parallel")) {
+            nodes = Perft.perftParallel(board, depth);
+        } else if (mode.equals("divide") && depth > 0) {
+            for (Map.Entry<String, Long> entry : Perft.perftDivide(board, depth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                nodes += entry.getValue();
+            }
+            System.out.println();
+        } else {
+            nodes = Perft.perft(board, depth);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("Depth: " + depth);
+        System.out.println("Nodes: " + nodes);
+        System.out.printf("Time: %.3f s%n", elapsed / 1e9);
+        System.out.println("NPS: " + (long) (nodes / Math.max(elapsed / 1e9, 1e-9)));
+    }
+}
@@ -0,0 +1,282 @@
+package ui;
+
+import engine.ParallelSearch;
+import engine.SearchLimits;
+import engine.SearchResult;
+import engine.TranspositionTable;
+import model.GameBoard;
+import model.MoveGenerator;
+import model.exceptions.InvalidFenException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// command line entry point that plays as a chess engine over the Universal Chess Interface (UCI), so chess GUIs and
+// tournament tools can run the built-in search. Commands are read from standard input one per line, and answers are
+// written to standard output. Supported: uci, isready, ucinewgame, setoption (Hash and Threads), position (startpos or
+// fen, then moves), go (depth, nodes, movetime, wtime, btime, winc, binc, movestogo and infinite), stop and quit.
+// Searches run on a background thread, so commands are still read while searching and stop ends a search at once;
+// every depth the search finishes is reported with an info line.
+public class UciMain {
+    private static final int MAX_HASH_MB = 4096;
+    private static final int MAX_THREADS = 256;
+    private static final int DEFAULT_MOVES_TO_GO = 30;  // moves the time left is shared over when not told
+    private static final long MOVE_OVERHEAD = 50;  // milliseconds kept back from the clock for the GUI
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final TranspositionTable table = new TranspositionTable(TranspositionTable.DEFAULT_MB);
+    private ParallelSearch search;
+    private GameBoard board = GameBoard.startingPosition();  // never changed once set, as a running search may read it
+    private Thread searchThread;  // thread of the running search, or null if there is none
+    private boolean infinite;  // true while a go infinite search must hold back its best move; guarded by this
+
+    // EFFECTS: creates an engine that reads commands from in and writes answers to out
+    public UciMain(InputStream in, PrintStream out) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.out = out;
+        search = createSearch(1);
+    }
+
+    // EFFECTS: runs the engine on standard input and output
+    public static void main(String[] args) {
+        new UciMain(System.in, System.out).run();
+    }
+
+    // EFFECTS: carries out commands until quit or the end of the input, then stops any running search
+    public void run() {
+        try {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (!execute(line.trim().split("\\s+"))) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            send("info string " + e.getMessage());
+        }
+        stopSearch();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carries out the command made of tokens and returns false if it is quit; unknown commands are ignored
+    private boolean execute(String[] tokens) {
+        switch (tokens[0]) {
+            case "uci":
+                identify();
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "position":
+                setPosition(tokens);
+                break;
+            case "quit":
+                return false;
+            default:
+                executeStopped(tokens);
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: carries out the commands that first stop the running search: ucinewgame, setoption, go and stop;
+    // other commands are ignored
+    private void executeStopped(String[] tokens) {
+        String command = tokens[0];
+        if (command.equals("ucinewgame") || command.equals("setoption") || command.equals("go")
+                || command.equals("stop")) {
+            stopSearch();
+        }
+        if (command.equals("ucinewgame")) {
+            table.clear();
+        } else if (command.equals("setoption")) {
+            setOption(tokens);
+        } else if (command.equals("go")) {
+            go(tokens);
+        }
+    }
+
+    // EFFECTS: sends the name of the engine and the options it has, then uciok
+    private void identify() {
+        send("id name ChessBoard");
+        send("id author DanielZhang199");
+        send("option name Hash type spin default " + TranspositionTable.DEFAULT_MB + " min 1 max " + MAX_HASH_MB);
+        send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+        send("uciok");
+    }
+
+    // REQUIRES: no search is running
+    // MODIFIES: this
+    // EFFECTS: sets the option of "setoption name <name> value <value>": Hash resizes the transposition table to
+    // value megabytes, Threads makes the search use value threads. Values out of range are brought into range.
+    private void setOption(String[] tokens) {
+        int value;
+        try {
+            value = Integer.parseInt(tokens[4]);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            send("info string expected setoption name <name> value <number>");
+            return;
+        }
+        if (tokens[2].equalsIgnoreCase("Hash")) {
+            table.resize(Math.max(1, Math.min(value, MAX_HASH_MB)));
+        } else if (tokens[2].equalsIgnoreCase("Threads")) {
+            search = createSearch(Math.max(1, Math.min(value, MAX_THREADS)));
+        } else {
+            send("info string unknown option " + tokens[2]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets up the position of "position (startpos | fen <FEN>) [moves <move>...]", with the moves in
+    // coordinate notation played from it. A bad FEN keeps the previous position; the moves stop at an illegal one.
+    private void setPosition(String[] tokens) {
+        int moves = Arrays.asList(tokens).indexOf("moves");
+        moves = moves < 0 ? tokens.length : moves;
+        try {
+            GameBoard next = tokens.length > 1 && tokens[1].equals("fen")
+                    ? GameBoard.fromFen(String.join(" ", Arrays.copyOfRange(tokens, 2, moves)))
+                    : GameBoard.startingPosition();
+            for (int i = moves + 1; i < tokens.length; i++) {
+                int move = parseMove(next, tokens[i]);
+                if (move == 0) {
+                    send("info string illegal move " + tokens[i]);
+                    break;
+                }
+                next.makeMove(move);
+            }
+            board = next;
+        } catch (InvalidFenException e) {
+            send("info string " + e.getMessage());
+        }
+    }
+
+    // EFFECTS: returns the legal move of board written as text in coordinate notation, encoded as by MoveGenerator,
+    // or 0 if there is none
+    private static int parseMove(GameBoard board, String text) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generate(board, moves);
+        for (int i = 0; i < count; i++) {
+            if (MoveGenerator.toCoordinateNotation(moves[i]).equals(text)) {
+                return moves[i];
+            }
+        }
+        return 0;
+    }
+
+    // REQUIRES: no search is running
+    // MODIFIES: this
+    // EFFECTS: starts searching the current position within the limits of the go command made of tokens. Without a
+    // movetime, the time for the move is worked out from the clock of the side to move, if it was given.
+    private void go(String[] tokens) {
+        Map<String, Long> parameters = parameters(tokens);
+        String side = board.getTurn().equals("W") ? "w" : "b";
+        long millis = parameters.getOrDefault("movetime", 0L);
+        if (millis == 0 && parameters.containsKey(side + "time")) {
+            millis = moveTime(parameters.get(side + "time"), parameters.getOrDefault(side + "inc", 0L),
+                    parameters.getOrDefault("movestogo", (long) DEFAULT_MOVES_TO_GO));
+        }
+        SearchLimits limits = new SearchLimits(Math.max(0, parameters.getOrDefault("depth", 0L).intValue()),
+                Math.max(0, parameters.getOrDefault("nodes", 0L)), Math.max(0, millis));
+        synchronized (this) {
+            infinite = parameters.containsKey("infinite");
+        }
+        GameBoard position = board;
+        ParallelSearch current = search;
+        searchThread = new Thread(() -> think(current, position, limits), "search");
+        searchThread.start();
+    }
+
+    // EFFECTS: returns the parameters of the command made of tokens by name; a name followed by a number maps to the
+    // number, any other name (such as infinite) maps to 0
+    private static Map<String, Long> parameters(String[] tokens) {
+        Map<String, Long> result = new HashMap<>();
+        for (int i = 1; i < tokens.length; i++) {
+            try {
+                result.put(tokens[i], Long.parseLong(tokens[i + 1]));
+                i++;
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                result.put(tokens[i], 0L);
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the milliseconds to spend on a move with time milliseconds left on the clock, increment added
+    // after every move and movesToGo moves left until the time is added to: an equal share of the time left plus most
+    // of the increment, keeping MOVE_OVERHEAD back so the clock never runs out
+    private static long moveTime(long time, long increment, long movesToGo) {
+        long share = time / Math.max(movesToGo, 1) + increment * 3 / 4;
+        return Math.max(1, Math.min(share, time - MOVE_OVERHEAD));
+    }
+
+    // EFFECTS: searches position within limits with current and sends the best move, or 0000 if there is none. The
+    // best move of a go infinite search is held back until it is stopped, as the protocol requires.
+    private void think(ParallelSearch current, GameBoard position, SearchLimits limits) {
+        int[] line = current.search(position, limits).getPrincipalVariation();
+        synchronized (this) {
+            while (infinite) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        send("bestmove " + (line.length == 0 ? "0000" : MoveGenerator.toCoordinateNotation(line[0])));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the running search, if there is one, and waits until it has sent its best move. The stop is
+    // repeated until the search thread ends, in case the search had not started yet when it was first asked.
+    private void stopSearch() {
+        if (searchThread == null) {
+            return;
+        }
+        synchronized (this) {
+            infinite = false;
+            notifyAll();
+        }
+        try {
+            while (searchThread.isAlive()) {
+                search.stop();
+                searchThread.join(1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searchThread = null;
+    }
+
+    // EFFECTS: returns a search on threads threads using the transposition table of the engine, which reports every
+    // depth it finishes
+    private ParallelSearch createSearch(int threads) {
+        ParallelSearch result = new ParallelSearch(threads, table);
+        result.setListener(this::info);
+        return result;
+    }
+
+    // EFFECTS: sends an info line on the search iteration of result: its depth, score, nodes, nodes per second, time,
+    // how full the transposition table is, and the principal variation
+    private void info(SearchResult result) {
+        int mate = result.getMateIn();
+        String score = mate != 0 ? "mate " + mate : "cp " + result.getScore();
+        long nps = result.getNodes() * 1000 / Math.max(result.getMillis(), 1);
+        send("info depth " + result.getDepth() + " score " + score + " nodes " + result.getNodes() + " nps " + nps
+                + " time " + result.getMillis() + " hashfull " + table.hashfull() + " pv "
+                + String.join(" ", result.getPrincipalVariationNotation()));
+    }
+
+    // EFFECTS: writes line to the output at once; lines of the search thread and of the command loop never mix
+    private synchronized void send(String line) {
+        out.println(line);
+        out.flush();
+    }
+}
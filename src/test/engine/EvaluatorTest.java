@@ -0,0 +1,53 @@
+package engine;
+
+import model.GameBoard;
+import model.Position;
+import model.StaticExchange;
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EvaluatorTest {
+
+    @Test
+    public void testStartingPosition() {
+        assertEquals(0, Evaluator.evaluate(new GameBoard()));
+    }
+
+    @Test
+    public void testSideToMove() throws InvalidFenException {
+        GameBoard white = GameBoard.fromFen("4k3/8/8/8/8/5N2/8/4K3 w - - 0 1");
+        GameBoard black = GameBoard.fromFen("4k3/8/8/8/8/5N2/8/4K3 b - - 0 1");
+        assertTrue(Evaluator.evaluate(white) > 250);
+        assertEquals(-Evaluator.evaluate(white), Evaluator.evaluate(black));
+    }
+
+    @Test
+    public void testPlacement() {
+        GameBoard board = new GameBoard();
+        board.movePiece(62, 45);  // Nf3
+        board.movePiece(1, 16);  // Na6
+        assertTrue(Evaluator.evaluate(board) > 0);
+    }
+
+    @Test
+    public void testTapered() throws InvalidFenException {
+        // in an endgame a central king is better, with queens on the board a sheltered one
+        GameBoard central = GameBoard.fromFen("4k3/8/8/8/4K3/8/8/8 w - - 0 1");
+        GameBoard corner = GameBoard.fromFen("4k3/8/8/8/8/8/8/6K1 w - - 0 1");
+        assertTrue(Evaluator.evaluate(central) > Evaluator.evaluate(corner));
+        GameBoard centralQueens = GameBoard.fromFen("rnbqk3/8/8/8/4K3/8/8/RNBQ4 w - - 0 1");
+        GameBoard cornerQueens = GameBoard.fromFen("rnbqk3/8/8/8/8/8/8/RNBQ2K1 w - - 0 1");
+        assertTrue(Evaluator.evaluate(centralQueens) < Evaluator.evaluate(cornerQueens));
+    }
+
+    @Test
+    public void testValue() {
+        assertEquals(100, Evaluator.value(Position.PAWN));
+        assertEquals(0, Evaluator.value(Position.KING));
+        for (int type = Position.PAWN; type < Position.KING; type++) {
+            assertEquals(StaticExchange.value(type), Evaluator.value(type));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package engine;
+
+import model.MoveGenerator;
+import model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveHistoryTest {
+    private static final int E2E4 = MoveGenerator.encode(52, 36, 0);
+    private static final int D2D4 = MoveGenerator.encode(51, 35, 0);
+    private static final int G1F3 = MoveGenerator.encode(62, 45, 0);
+
+    private MoveHistory history;
+
+    @BeforeEach
+    public void setup() {
+        history = new MoveHistory();
+    }
+
+    @Test
+    public void testKillers() {
+        assertEquals(0, history.killer(3, 0));
+        history.reward(Position.WHITE, E2E4, 3, 2);
+        history.reward(Position.WHITE, D2D4, 3, 2);
+        assertEquals(D2D4, history.killer(3, 0));
+        assertEquals(E2E4, history.killer(3, 1));
+        history.reward(Position.WHITE, D2D4, 3, 2);  // no duplicates
+        assertEquals(E2E4, history.killer(3, 1));
+        history.reward(Position.WHITE, G1F3, 3, 2);
+        assertEquals(G1F3, history.killer(3, 0));
+        assertEquals(D2D4, history.killer(3, 1));
+        assertEquals(0, history.killer(4, 0));
+    }
+
+    @Test
+    public void testScores() {
+        history.reward(Position.WHITE, E2E4, 1, 3);
+        history.reward(Position.WHITE, E2E4, 5, 2);
+        assertEquals(13, history.score(Position.WHITE, E2E4));
+        assertEquals(0, history.score(Position.BLACK, E2E4));
+        assertEquals(0, history.score(Position.WHITE, D2D4));
+    }
+
+    @Test
+    public void testAge() {
+        history.reward(Position.BLACK, E2E4, 1, 4);
+        history.age();
+        assertEquals(8, history.score(Position.BLACK, E2E4));
+        assertEquals(0, history.killer(1, 0));
+    }
+
+    @Test
+    public void testAgesBeforeOverflow() {
+        for (int i = 0; i < 1000; i++) {
+            history.reward(Position.WHITE, E2E4, 1, 100);
+            history.reward(Position.WHITE, D2D4, 1, 10);
+        }
+        assertTrue(history.score(Position.WHITE, E2E4) < 1 << 24);
+        assertTrue(history.score(Position.WHITE, E2E4) > history.score(Position.WHITE, D2D4));
+    }
+}
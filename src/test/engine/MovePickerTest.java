@@ -0,0 +1,131 @@
+package engine;
+
+import model.GameBoard;
+import model.MoveGenerator;
+import model.Position;
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovePickerTest {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    private MovePicker picker;
+    private MoveHistory history;
+
+    @BeforeEach
+    public void setup() {
+        picker = new MovePicker();
+        history = new MoveHistory();
+    }
+
+    @Test
+    public void testEveryMoveOnce() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen(KIWIPETE);
+        int tableMove = MoveGenerator.encode(48, 40, 0);  // a2a3, quiet
+        history.reward(Position.WHITE, MoveGenerator.encode(62, 54, 0), 2, 1);  // illegal killer
+        history.reward(Position.WHITE, tableMove, 2, 1);  // same as table move
+        history.reward(Position.WHITE, MoveGenerator.encode(60, 61, 0), 2, 1);  // e1f1, legal
+        picker.init(board, tableMove, history, 2);
+        List<Integer> picked = picked();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generate(board, moves);
+        assertEquals(count, picked.size());
+        assertEquals(count, new HashSet<>(picked).size());
+        assertEquals(tableMove, picked.get(0));
+    }
+
+    @Test
+    public void testLateMoves() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/7q/8/1r6/P7/8/8/R1K5 w - - 0 1");
+        int killer = MoveGenerator.encode(58, 59, 0);  // c1d1
+        history.reward(Position.WHITE, killer, 1, 1);
+        picker.init(board, MoveGenerator.encode(56, 48, 0), history, 1);
+        assertEquals(MoveGenerator.encode(56, 48, 0), picker.next());
+        assertFalse(picker.isLateMove());
+        assertEquals(MoveGenerator.encode(32, 25, 0), picker.next());
+        assertFalse(picker.isLateMove());
+        assertEquals(killer, picker.next());
+        assertFalse(picker.isLateMove());
+        while (picker.next() != 0) {
+            assertTrue(picker.isLateMove());
+        }
+    }
+
+    @Test
+    public void testOrder() throws InvalidFenException {
+        // the only capture is the pawn taking the rook
+        GameBoard board = GameBoard.fromFen("4k3/7q/8/1r6/P7/8/8/R1K5 w - - 0 1");
+        int killer = MoveGenerator.encode(58, 59, 0);  // c1d1
+        int good = MoveGenerator.encode(58, 51, 0);  // c1d2
+        history.reward(Position.WHITE, good, 0, 5);
+        history.reward(Position.WHITE, killer, 1, 1);
+        picker.init(board, 0, history, 1);
+        List<Integer> picked = picked();
+        assertEquals(MoveGenerator.encode(32, 25, 0), picked.get(0));  // pawn takes rook
+        assertEquals(killer, picked.get(1));
+        assertEquals(good, picked.get(2));
+    }
+
+    @Test
+    public void testMvvLva() throws InvalidFenException {
+        // the queen on d5 can be taken by the pawn or the rook; the knight on h5 only by the rook
+        GameBoard board = GameBoard.fromFen("4k3/8/8/3q3n/4P3/8/8/3RK3 w - - 0 1");
+        picker.init(board, 0, history, 0);
+        List<Integer> picked = picked();
+        assertEquals(MoveGenerator.encode(36, 27, 0), picked.get(0));  // exd5
+        assertEquals(MoveGenerator.encode(59, 27, 0), picked.get(1));  // Rxd5
+    }
+
+    @Test
+    public void testCapturesOnly() throws InvalidFenException {
+        // the pawn on d5 is defended, the knight on h5 is not
+        GameBoard board = GameBoard.fromFen("4k3/8/4p3/3p3n/8/8/8/3QK3 w - - 0 1");
+        picker.initCaptures(board);
+        assertEquals(MoveGenerator.encode(59, 31, 0), picker.next());
+        assertEquals(0, picker.next());
+    }
+
+    @Test
+    public void testIllegalTableMoveIgnored() {
+        GameBoard board = new GameBoard();
+        picker.init(board, MoveGenerator.encode(52, 28, 0), history, 0);
+        List<Integer> picked = picked();
+        assertEquals(20, picked.size());
+        assertFalse(picked.contains(MoveGenerator.encode(52, 28, 0)));
+    }
+
+    @Test
+    public void testNoMoves() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        picker.init(board, MoveGenerator.encode(7, 6, 0), history, 0);
+        assertEquals(0, picker.next());
+        assertEquals(0, picker.next());
+    }
+
+    @Test
+    public void testPromotionsWithCaptures() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/1P6/8/8/8/8/8/4K3 w - - 0 1");
+        picker.init(board, 0, history, 0);
+        List<Integer> picked = picked();
+        assertEquals(MoveGenerator.encode(9, 1, Position.QUEEN), picked.get(0));
+        Set<Integer> promotions = new HashSet<>(picked.subList(0, 4));
+        assertTrue(promotions.contains(MoveGenerator.encode(9, 1, Position.KNIGHT)));
+    }
+
+    // EFFECTS: returns every move the picker hands out, in order
+    private List<Integer> picked() {
+        List<Integer> result = new ArrayList<>();
+        for (int move = picker.next(); move != 0; move = picker.next()) {
+            result.add(move);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package engine;
+
+import model.GameBoard;
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSearchTest {
+    private ParallelSearch search;
+
+    @BeforeEach
+    public void setup() {
+        search = new ParallelSearch(4, new TranspositionTable(4));
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(4, search.getThreads());
+        assertEquals(1, new ParallelSearch(1).getThreads());
+        assertNotNull(search.getTable());
+    }
+
+    @Test
+    public void testOptions() throws InvalidFenException {
+        search.setOptions(SearchOptions.none());
+        GameBoard board = GameBoard.fromFen("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+        SearchResult result = search.search(board, SearchLimits.depth(4));
+        assertEquals("d2d5", result.getPrincipalVariationNotation().get(0));
+    }
+
+    @Test
+    public void testListener() {
+        List<SearchResult> iterations = new ArrayList<>();
+        search.setListener(iterations::add);
+        SearchResult result = search.search(new GameBoard(), SearchLimits.depth(5));
+        assertEquals(5, iterations.get(iterations.size() - 1).getDepth());
+        assertTrue(iterations.get(iterations.size() - 1).getNodes() <= result.getNodes());
+    }
+
+    @Test
+    public void testMateInTwo() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("r2qkb1r/pp2nppp/3p4/2pNN1B1/2BnP3/3P4/PPP2PPP/R2bK2R w KQkq - 1 1");
+        SearchResult result = search.search(board, SearchLimits.depth(5));
+        assertEquals(2, result.getMateIn());
+        assertEquals("d5f6", result.getPrincipalVariationNotation().get(0));
+    }
+
+    @Test
+    public void testSameAsSingleThread() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+        SearchResult single = new Search().search(board, SearchLimits.depth(4));
+        SearchResult parallel = search.search(board, SearchLimits.depth(4));
+        assertEquals(single.getScore(), parallel.getScore());
+        assertEquals("d2d5", parallel.getPrincipalVariationNotation().get(0));
+        assertEquals(4, parallel.getDepth());
+    }
+
+    @Test
+    public void testPositionUnchanged() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        long key = board.getPositionKey();
+        SearchResult result = search.search(board, SearchLimits.depth(4));
+        assertNotNull(result.getBestMove());
+        assertTrue(result.getNodes() > 0);
+        assertEquals(key, board.getPositionKey());
+        assertEquals("W", board.getTurn());
+    }
+
+    @Test
+    public void testTimeLimit() {
+        GameBoard board = new GameBoard();
+        long start = System.currentTimeMillis();
+        SearchResult result = search.search(board, SearchLimits.time(200));
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertNotNull(result.getBestMove());
+        assertTrue(result.getDepth() >= 1);
+    }
+
+    @Test
+    public void testStop() throws InterruptedException {
+        GameBoard board = new GameBoard();
+        SearchResult[] result = new SearchResult[1];
+        Thread thread = new Thread(() -> result[0] = search.search(board, SearchLimits.depth(Search.MAX_PLY)));
+        thread.start();
+        Thread.sleep(100);
+        search.stop();
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertNotNull(result[0].getBestMove());
+    }
+}
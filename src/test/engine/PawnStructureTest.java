@@ -0,0 +1,59 @@
+package engine;
+
+import model.GameBoard;
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PawnStructureTest {
+
+    @Test
+    public void testStartingPosition() {
+        assertEquals(0L, PawnStructure.evaluate(new GameBoard().getPosition()));
+    }
+
+    @Test
+    public void testPack() {
+        long score = PawnStructure.pack(-35, 120);
+        assertEquals(-35, PawnStructure.middlegame(score));
+        assertEquals(120, PawnStructure.endgame(score));
+        score = PawnStructure.pack(40, -7);
+        assertEquals(40, PawnStructure.middlegame(score));
+        assertEquals(-7, PawnStructure.endgame(score));
+    }
+
+    @Test
+    public void testDoubledAndIsolated() throws InvalidFenException {
+        // white has doubled isolated pawns on the c-file, black connected pawns on d and e; the black pawn on e7 is
+        // passed, but has not moved yet so it gets no bonus
+        long score = PawnStructure.evaluate(fen("4k3/3pp3/8/8/2P5/2P5/8/4K3 w - - 0 1"));
+        assertEquals(-10 - 2 * 10, PawnStructure.middlegame(score));
+        assertEquals(-20 - 2 * 15, PawnStructure.endgame(score));
+    }
+
+    @Test
+    public void testPassed() throws InvalidFenException {
+        // the white pawn on b6 has made 4 steps and nothing can stop it but pieces; the black pawns stop each other
+        long passed = PawnStructure.evaluate(fen("4k3/6p1/1P6/8/8/8/6P1/4K3 w - - 0 1"));
+        long blocked = PawnStructure.evaluate(fen("4k3/1p4p1/1P6/8/8/8/6P1/4K3 w - - 0 1"));
+        assertTrue(PawnStructure.endgame(passed) > 30);
+        assertTrue(PawnStructure.endgame(passed) > PawnStructure.endgame(blocked));
+        // a pawn on the next file in front also stops it from being passed
+        long guarded = PawnStructure.evaluate(fen("4k3/2p3p1/1P6/8/8/8/6P1/4K3 w - - 0 1"));
+        assertTrue(PawnStructure.endgame(guarded) < PawnStructure.endgame(passed));
+    }
+
+    @Test
+    public void testSymmetric() throws InvalidFenException {
+        long white = PawnStructure.evaluate(fen("4k3/8/8/8/1P6/1P6/5P2/4K3 w - - 0 1"));
+        long black = PawnStructure.evaluate(fen("4k3/5p2/1p6/1p6/8/8/8/4K3 w - - 0 1"));
+        assertEquals(PawnStructure.middlegame(white), -PawnStructure.middlegame(black));
+        assertEquals(PawnStructure.endgame(white), -PawnStructure.endgame(black));
+    }
+
+    // EFFECTS: returns the position of a board set up from fen
+    private static model.Position fen(String fen) throws InvalidFenException {
+        return GameBoard.fromFen(fen).getPosition();
+    }
+}
@@ -0,0 +1,65 @@
+package engine;
+
+import model.GameBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PawnTableTest {
+    private PawnTable table;
+
+    @BeforeEach
+    public void setup() {
+        table = new PawnTable(1000);
+    }
+
+    @Test
+    public void testSize() {
+        assertEquals(512, table.size());
+        table.resize(4096);
+        assertEquals(4096, table.size());
+    }
+
+    @Test
+    public void testProbe() {
+        GameBoard board = new GameBoard();
+        board.movePiece(52, 36);
+        long score = PawnStructure.evaluate(board.getPosition());
+        assertEquals(score, table.probe(board.getPosition()));
+        assertEquals(1, table.getProbes());
+        assertEquals(0, table.getHits());
+        board.movePiece(62, 45);  // not a pawn move, the structure is the same
+        assertEquals(score, table.probe(board.getPosition()));
+        assertEquals(2, table.getProbes());
+        assertEquals(1, table.getHits());
+        assertEquals(0.5, table.getHitRate());
+        board.movePiece(51, 35);
+        assertEquals(PawnStructure.evaluate(board.getPosition()), table.probe(board.getPosition()));
+        assertEquals(1, table.getHits());
+    }
+
+    @Test
+    public void testClear() {
+        assertEquals(0.0, table.getHitRate());
+        GameBoard board = new GameBoard();
+        table.probe(board.getPosition());
+        table.probe(board.getPosition());
+        table.clear();
+        assertEquals(0, table.getProbes());
+        assertEquals(0, table.getHits());
+        table.probe(board.getPosition());
+        assertEquals(0, table.getHits());
+    }
+
+    @Test
+    public void testSearchUsesTable() {
+        Search search = new Search();
+        search.search(new GameBoard(), SearchLimits.depth(4));
+        PawnTable pawns = search.getPawnTable();
+        assertTrue(pawns.getProbes() > 0);
+        assertTrue(pawns.getHitRate() > 0.5);
+        assertSame(pawns, search.getPawnTable());
+        assertNotNull(new ParallelSearch(2).getPawnTable(1));
+    }
+}
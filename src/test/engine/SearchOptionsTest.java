@@ -0,0 +1,23 @@
+package engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchOptionsTest {
+    @Test
+    public void testConstructor() {
+        SearchOptions options = new SearchOptions(true, false, true);
+        assertTrue(options.isNullMovePruning());
+        assertFalse(options.isLateMoveReductions());
+        assertTrue(options.isCheckExtensions());
+    }
+
+    @Test
+    public void testAllAndNone() {
+        SearchOptions all = SearchOptions.all();
+        assertTrue(all.isNullMovePruning() && all.isLateMoveReductions() && all.isCheckExtensions());
+        SearchOptions none = SearchOptions.none();
+        assertFalse(none.isNullMovePruning() || none.isLateMoveReductions() || none.isCheckExtensions());
+    }
+}
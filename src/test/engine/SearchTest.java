@@ -0,0 +1,181 @@
+package engine;
+
+import model.GameBoard;
+import model.Move;
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchTest {
+    private Search search;
+
+    @BeforeEach
+    public void setup() {
+        search = new Search();
+    }
+
+    @Test
+    public void testMateInOne() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        SearchResult result = search.search(board, SearchLimits.depth(3));
+        Move best = result.getBestMove();
+        assertEquals(56, best.getStart());
+        assertEquals(0, best.getEnd());
+        assertTrue(best.isCheck());
+        assertEquals(1, result.getMateIn());
+        assertEquals(Search.MATE - 1, result.getScore());
+        assertTrue(board.movePiece(best.getStart(), best.getEnd()));
+        assertTrue(board.checkStatus());
+        assertEquals("White Wins By Checkmate", board.getStatus());
+    }
+
+    @Test
+    public void testMateInTwo() throws InvalidFenException {
+        // 1. Nf6+ gxf6 2. Bxf7#
+        GameBoard board = GameBoard.fromFen("r2qkb1r/pp2nppp/3p4/2pNN1B1/2BnP3/3P4/PPP2PPP/R2bK2R w KQkq - 1 1");
+        SearchResult result = search.search(board, SearchLimits.depth(5));
+        assertEquals(2, result.getMateIn());
+        assertEquals(3, result.getPrincipalVariation().length);
+        assertEquals("d5f6", result.getPrincipalVariationNotation().get(0));
+    }
+
+    @Test
+    public void testMateInTwoWithoutOptions() throws InvalidFenException {
+        search.setOptions(SearchOptions.none());
+        GameBoard board = GameBoard.fromFen("r2qkb1r/pp2nppp/3p4/2pNN1B1/2BnP3/3P4/PPP2PPP/R2bK2R w KQkq - 1 1");
+        SearchResult result = search.search(board, SearchLimits.depth(5));
+        assertEquals(2, result.getMateIn());
+        assertEquals("d5f6", result.getPrincipalVariationNotation().get(0));
+    }
+
+    @Test
+    public void testOptionsSaveNodes() throws InvalidFenException {
+        String kiwipete = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+        assertTrue(search.getOptions().isNullMovePruning());
+        long selective = search.search(GameBoard.fromFen(kiwipete), SearchLimits.depth(5)).getNodes();
+        Search plain = new Search();
+        plain.setOptions(SearchOptions.none());
+        long all = plain.search(GameBoard.fromFen(kiwipete), SearchLimits.depth(5)).getNodes();
+        assertTrue(selective < all);
+    }
+
+    @Test
+    public void testCheckExtension() throws InvalidFenException {
+        // the check Ra8+ is searched one ply deeper than the iteration, so its line is longer than the depth
+        GameBoard board = GameBoard.fromFen("7k/8/8/8/8/8/R7/1R4K1 w - - 0 1");
+        search.setOptions(SearchOptions.none());
+        assertTrue(search.search(board, SearchLimits.depth(2)).getPrincipalVariation().length <= 2);
+        search.setOptions(new SearchOptions(false, false, true));
+        SearchResult result = search.search(board, SearchLimits.depth(2));
+        assertEquals("a2a8", result.getPrincipalVariationNotation().get(0));
+        assertEquals(3, result.getPrincipalVariation().length);
+    }
+
+    @Test
+    public void testListener() {
+        List<SearchResult> iterations = new ArrayList<>();
+        search.setListener(iterations::add);
+        SearchResult result = search.search(new GameBoard(), SearchLimits.depth(4));
+        assertEquals(4, iterations.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i + 1, iterations.get(i).getDepth());
+        }
+        assertEquals(result.getNodes(), iterations.get(3).getNodes());
+        assertEquals(result.getPrincipalVariationNotation(), iterations.get(3).getPrincipalVariationNotation());
+        search.setListener(null);
+        search.search(new GameBoard(), SearchLimits.depth(2));
+        assertEquals(4, iterations.size());
+    }
+
+    @Test
+    public void testWinsMaterial() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+        SearchResult result = search.search(board, SearchLimits.depth(2));
+        assertEquals(51, result.getBestMove().getStart());
+        assertEquals(27, result.getBestMove().getEnd());
+        assertEquals("Q", result.getBestMove().getCaptured().getName());
+        assertEquals("d2d5", result.getPrincipalVariationNotation().get(0));
+        assertTrue(result.getScore() > 0);
+    }
+
+    @Test
+    public void testBlackToMove() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/8/8/3Q4/8/8/3r4/4K3 b - - 0 1");
+        SearchResult result = search.search(board, SearchLimits.depth(2));
+        assertEquals("d2d5", result.getPrincipalVariationNotation().get(0));
+        assertTrue(board.movePiece(result.getBestMove().getStart(), result.getBestMove().getEnd()));
+    }
+
+    @Test
+    public void testPositionUnchanged() {
+        GameBoard board = new GameBoard();
+        long key = board.getPositionKey();
+        SearchResult result = search.search(board, SearchLimits.depth(3));
+        assertEquals(key, board.getPositionKey());
+        assertEquals(3, result.getDepth());
+        assertEquals(3, result.getPrincipalVariation().length);
+        assertTrue(board.movePiece(result.getBestMove().getStart(), result.getBestMove().getEnd()));
+    }
+
+    @Test
+    public void testNodeLimit() {
+        SearchResult result = search.search(new GameBoard(), SearchLimits.nodes(5000));
+        assertTrue(result.getNodes() <= 5000);
+        assertTrue(result.getDepth() >= 1);
+        assertNotNull(result.getBestMove());
+    }
+
+    @Test
+    public void testTimeLimit() {
+        SearchResult result = search.search(new GameBoard(), SearchLimits.time(200));
+        assertTrue(result.getMillis() < 1000);
+        assertTrue(result.getDepth() >= 2);
+        assertNotNull(result.getBestMove());
+    }
+
+    @Test
+    public void testNoMoves() throws InvalidFenException {
+        SearchResult result = search.search(GameBoard.fromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1"),
+                SearchLimits.depth(3));
+        assertNull(result.getBestMove());
+        assertEquals(0, result.getScore());
+        result = search.search(GameBoard.fromFen("7k/6Q1/6K1/8/8/8/8/8 b - - 0 1"), SearchLimits.depth(3));
+        assertNull(result.getBestMove());
+        assertEquals(-Search.MATE, result.getScore());
+    }
+
+    @Test
+    public void testPromotesToQueen() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("8/P6k/8/8/8/8/8/K7 w - - 0 1");
+        Move best = search.search(board, SearchLimits.depth(3)).getBestMove();
+        assertEquals(8, best.getStart());
+        assertEquals(0, best.getEnd());
+    }
+
+    @Test
+    public void testRepetitionIsDraw() throws InvalidFenException {
+        // black is a queen down, so it repeats the position it was in two moves ago
+        GameBoard board = GameBoard.fromFen("6k1/8/8/8/8/8/8/1Q2K3 b - - 0 1");
+        board.movePiece(6, 7);
+        board.movePiece(57, 58);
+        board.movePiece(7, 6);
+        board.movePiece(58, 57);
+        SearchResult result = search.search(board, SearchLimits.depth(3));
+        assertEquals(0, result.getScore());
+        assertEquals(7, result.getBestMove().getEnd());
+    }
+
+    @Test
+    public void testQuiescence() throws InvalidFenException {
+        // at depth 1 the queen could take the pawn on d5, but the pawn on e6 takes it back
+        GameBoard board = GameBoard.fromFen("4k3/8/4p3/3p4/8/8/8/3QK3 w - - 0 1");
+        SearchResult result = search.search(board, SearchLimits.depth(1));
+        assertNotEquals("d1d5", result.getPrincipalVariationNotation().get(0));
+        assertTrue(result.getScore() > 500);
+    }
+}
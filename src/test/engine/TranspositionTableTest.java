@@ -0,0 +1,90 @@
+package engine;
+
+import model.GameBoard;
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+    private static final long KEY = 0x123456789ABCDEF0L;
+
+    private TranspositionTable table;
+
+    @BeforeEach
+    public void setup() {
+        table = new TranspositionTable(1);
+    }
+
+    @Test
+    public void testStoreAndProbe() {
+        assertEquals(0, table.probe(KEY));
+        table.store(KEY, 1234, -250, 7, TranspositionTable.LOWER, 3);
+        long data = table.probe(KEY);
+        assertEquals(1234, TranspositionTable.move(data));
+        assertEquals(-250, TranspositionTable.score(data, 3));
+        assertEquals(-250, TranspositionTable.score(data, 10));
+        assertEquals(7, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        assertEquals(0, table.probe(KEY + 1));
+        assertEquals(0, table.probe(KEY ^ 1L << 40));  // same bucket, different key
+    }
+
+    @Test
+    public void testMateScore() {
+        // mate in 3 plies found 5 plies into the search is mate in 3 plies from the position itself
+        table.store(KEY, 1, Search.MATE - 8, 3, TranspositionTable.EXACT, 5);
+        assertEquals(Search.MATE - 5, TranspositionTable.score(table.probe(KEY), 2));
+        table.store(KEY, 1, -Search.MATE + 8, 3, TranspositionTable.EXACT, 5);
+        assertEquals(-Search.MATE + 5, TranspositionTable.score(table.probe(KEY), 2));
+    }
+
+    @Test
+    public void testReplacement() {
+        long other = KEY + 1;  // same bucket
+        long third = KEY + 2;
+        table.store(KEY, 1, 10, 8, TranspositionTable.EXACT, 0);
+        table.store(other, 2, 20, 2, TranspositionTable.EXACT, 0);
+        table.store(third, 3, 30, 3, TranspositionTable.EXACT, 0);
+        assertEquals(8, TranspositionTable.depth(table.probe(KEY)));  // the deep entry stays
+        assertEquals(0, table.probe(other));  // the shallow one is replaced
+        assertEquals(3, TranspositionTable.move(table.probe(third)));
+        table.store(KEY, 4, 40, 1, TranspositionTable.UPPER, 0);
+        assertEquals(4, TranspositionTable.move(table.probe(KEY)));  // the same position is always updated
+        table.store(KEY, 1, 10, 8, TranspositionTable.EXACT, 0);
+        table.newSearch();
+        table.store(other, 2, 20, 2, TranspositionTable.EXACT, 0);
+        assertEquals(0, table.probe(KEY));  // entries of earlier searches go first
+        assertEquals(2, TranspositionTable.move(table.probe(other)));
+    }
+
+    @Test
+    public void testHashfullAndClear() {
+        assertEquals(0, table.hashfull());
+        for (long i = 0; i < 1000; i++) {
+            table.store(i << 32, 1, 0, 1, TranspositionTable.EXACT, 0);
+        }
+        assertEquals(500, table.hashfull());  // one of the two entries of the first 500 buckets
+        table.newSearch();
+        assertEquals(0, table.hashfull());
+        assertNotEquals(0, table.probe(5L << 32));
+        table.clear();
+        assertEquals(0, table.probe(5L << 32));
+        table.store(KEY, 1, 0, 1, TranspositionTable.EXACT, 0);
+        table.resize(2);
+        assertEquals(0, table.probe(KEY));
+    }
+
+    @Test
+    public void testSharedBySearches() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        SearchResult first = new Search(table).search(board, SearchLimits.depth(4));
+        assertTrue(table.hashfull() > 0);
+        SearchResult second = new Search(table).search(board, SearchLimits.depth(4));
+        assertTrue(second.getNodes() < first.getNodes() / 10);
+        assertEquals(first.getScore(), second.getScore());
+        assertEquals(first.getBestMove().getStart(), second.getBestMove().getStart());
+        assertEquals(first.getBestMove().getEnd(), second.getBestMove().getEnd());
+    }
+}
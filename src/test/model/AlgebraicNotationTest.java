@@ -0,0 +1,85 @@
+package model;
+
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlgebraicNotationTest {
+    @Test
+    public void testToSan() throws InvalidFenException {
+        GameBoard board = new GameBoard();
+        assertEquals("e4", AlgebraicNotation.toSan(board, MoveGenerator.encode(52, 36, 0)));
+        assertEquals("Nf3", AlgebraicNotation.toSan(board, MoveGenerator.encode(62, 45, 0)));
+        board = GameBoard.fromFen("r3k2r/8/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+        assertEquals("exd6", AlgebraicNotation.toSan(board, MoveGenerator.encode(28, 19, 0)));
+        assertEquals("O-O", AlgebraicNotation.toSan(board, MoveGenerator.encode(60, 62, 0)));
+        assertEquals("O-O-O", AlgebraicNotation.toSan(board, MoveGenerator.encode(60, 58, 0)));
+        assertEquals("Rxa8+", AlgebraicNotation.toSan(board, MoveGenerator.encode(56, 0, 0)));
+        board = GameBoard.fromFen("4k3/8/8/8/8/8/4K3/R6R w - - 0 1");
+        assertEquals("Rad1", AlgebraicNotation.toSan(board, MoveGenerator.encode(56, 59, 0)));
+        assertEquals("Ra8+", AlgebraicNotation.toSan(board, MoveGenerator.encode(56, 0, 0)));
+        board = GameBoard.fromFen("8/P6k/8/8/8/Q7/4K3/Q1Q5 w - - 0 1");
+        assertEquals("a8=N", AlgebraicNotation.toSan(board, MoveGenerator.encode(8, 0, Position.KNIGHT)));
+        assertEquals("Qa1b2", AlgebraicNotation.toSan(board, MoveGenerator.encode(56, 49, 0)));
+        assertEquals("Q1a2", AlgebraicNotation.toSan(board, MoveGenerator.encode(56, 48, 0)));
+        assertEquals("Q3a2", AlgebraicNotation.toSan(board, MoveGenerator.encode(40, 48, 0)));
+        assertEquals("Qcb1+", AlgebraicNotation.toSan(board, MoveGenerator.encode(58, 57, 0)));
+        board = GameBoard.fromFen("7k/8/6K1/8/8/8/8/R7 w - - 0 1");
+        assertEquals("Ra8#", AlgebraicNotation.toSan(board, MoveGenerator.encode(56, 0, 0)));
+    }
+
+    @Test
+    public void testParse() throws InvalidFenException {
+        GameBoard board = new GameBoard();
+        assertEquals(MoveGenerator.encode(52, 36, 0), AlgebraicNotation.parse(board, "e4"));
+        assertEquals(MoveGenerator.encode(62, 45, 0), AlgebraicNotation.parse(board, "Nf3!?"));
+        assertEquals(0, AlgebraicNotation.parse(board, "e5"));
+        assertEquals(0, AlgebraicNotation.parse(board, "Nd2"));
+        assertEquals(0, AlgebraicNotation.parse(board, ""));
+        assertEquals(0, AlgebraicNotation.parse(board, "Zz9"));
+        assertEquals(0, AlgebraicNotation.parse(board, "O-O"));
+        board = GameBoard.fromFen("r3k2r/8/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+        assertEquals(MoveGenerator.encode(28, 19, 0), AlgebraicNotation.parse(board, "exd6"));
+        assertEquals(MoveGenerator.encode(60, 62, 0), AlgebraicNotation.parse(board, "O-O"));
+        assertEquals(MoveGenerator.encode(60, 58, 0), AlgebraicNotation.parse(board, "0-0-0"));
+        assertEquals(MoveGenerator.encode(56, 0, 0), AlgebraicNotation.parse(board, "Rxa8+"));
+        board = GameBoard.fromFen("4k3/8/8/8/8/8/4K3/R6R w - - 0 1");
+        assertEquals(0, AlgebraicNotation.parse(board, "Rd1"));
+        assertEquals(MoveGenerator.encode(63, 59, 0), AlgebraicNotation.parse(board, "Rhd1"));
+        assertEquals(MoveGenerator.encode(63, 59, 0), AlgebraicNotation.parse(board, "Rh1xd1"));
+    }
+
+    @Test
+    public void testParsePromotionsAndDisambiguation() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("8/P6k/8/8/8/Q7/4K3/Q1Q5 w - - 0 1");
+        assertEquals(MoveGenerator.encode(8, 0, Position.KNIGHT), AlgebraicNotation.parse(board, "a8=N"));
+        assertEquals(MoveGenerator.encode(8, 0, Position.ROOK), AlgebraicNotation.parse(board, "a8R"));
+        assertEquals(MoveGenerator.encode(8, 0, Position.QUEEN), AlgebraicNotation.parse(board, "a8"));
+        assertEquals(0, AlgebraicNotation.parse(board, "a8=K"));
+        assertEquals(0, AlgebraicNotation.parse(board, "Qa2"));
+        assertEquals(0, AlgebraicNotation.parse(board, "Qaa2"));
+        assertEquals(0, AlgebraicNotation.parse(board, "Qb2"));
+        assertEquals(0, AlgebraicNotation.parse(board, "Qab2"));
+        assertEquals(MoveGenerator.encode(56, 48, 0), AlgebraicNotation.parse(board, "Q1a2"));
+        assertEquals(MoveGenerator.encode(40, 48, 0), AlgebraicNotation.parse(board, "Q3a2"));
+        assertEquals(MoveGenerator.encode(56, 49, 0), AlgebraicNotation.parse(board, "Qa1b2"));
+        assertEquals(MoveGenerator.encode(58, 57, 0), AlgebraicNotation.parse(board, "Qcb1"));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        GameBoard board = new GameBoard();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        for (int ply = 0; ply < 200; ply++) {
+            int count = MoveGenerator.generate(board, moves);
+            if (count == 0) {
+                break;
+            }
+            for (int i = 0; i < count; i++) {
+                assertEquals(moves[i], AlgebraicNotation.parse(board, AlgebraicNotation.toSan(board, moves[i])));
+            }
+            board.makeMove(moves[(ply * 7) % count]);
+        }
+    }
+}
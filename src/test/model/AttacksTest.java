@@ -0,0 +1,112 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttacksTest {
+
+    // EFFECTS: returns a bitboard with the given squares set
+    private long bits(int... squares) {
+        long result = 0L;
+        for (int i : squares) {
+            result |= 1L << i;
+        }
+        return result;
+    }
+
+    @Test
+    public void testKnightCentre() {
+        assertEquals(bits(18, 20, 25, 29, 41, 45, 50, 52), Attacks.knight(35));
+    }
+
+    @Test
+    public void testKnightCorners() {
+        assertEquals(bits(10, 17), Attacks.knight(0));
+        assertEquals(bits(13, 22), Attacks.knight(7));
+        assertEquals(bits(41, 50), Attacks.knight(56));
+        assertEquals(bits(46, 53), Attacks.knight(63));
+    }
+
+    @Test
+    public void testKnightEdges() {
+        // knights on the a and h files must not wrap around to the other side of the board
+        assertEquals(bits(17, 26, 42, 49), Attacks.knight(32));
+        assertEquals(bits(22, 29, 45, 54), Attacks.knight(39));
+    }
+
+    @Test
+    public void testKingCentre() {
+        assertEquals(bits(43, 44, 45, 51, 53, 59, 60, 61), Attacks.king(52));
+    }
+
+    @Test
+    public void testKingEdges() {
+        assertEquals(bits(1, 8, 9), Attacks.king(0));
+        assertEquals(bits(54, 55, 62), Attacks.king(63));
+        assertEquals(bits(3, 5, 11, 12, 13), Attacks.king(4));
+        assertEquals(bits(22, 23, 30, 38, 39), Attacks.king(31));
+    }
+
+    @Test
+    public void testCounts() {
+        int knightTotal = 0;
+        int kingTotal = 0;
+        for (int i = 0; i < 64; i++) {
+            knightTotal += Long.bitCount(Attacks.knight(i));
+            kingTotal += Long.bitCount(Attacks.king(i));
+        }
+        assertEquals(336, knightTotal);
+        assertEquals(420, kingTotal);
+    }
+
+    @Test
+    public void testRookEmptyBoard() {
+        assertEquals(bits(1, 2, 3, 4, 5, 6, 7, 8, 16, 24, 32, 40, 48, 56), Attacks.rook(0, 0L));
+    }
+
+    @Test
+    public void testBishopEmptyBoard() {
+        assertEquals(bits(9, 18, 27, 36, 45, 54, 63), Attacks.bishop(0, 0L));
+        assertEquals(bits(8, 17, 26, 7, 14, 21, 28, 42, 49, 56, 44, 53, 62), Attacks.bishop(35, 0L));
+    }
+
+    @Test
+    public void testSlidersBlocked() {
+        // rook on e4 with blockers on e6, c4 and e1; blockers are included, squares behind them are not
+        long occupied = bits(20, 34, 60);
+        assertEquals(bits(20, 28, 34, 35, 37, 38, 39, 44, 52, 60), Attacks.rook(36, occupied));
+        assertEquals(Attacks.rook(36, occupied) | Attacks.bishop(36, occupied), Attacks.queen(36, occupied));
+    }
+
+    @Test
+    public void testMagicsMatchRayScan() {
+        Random random = new Random(0);
+        for (int square = 0; square < 64; square++) {
+            for (int i = 0; i < 200; i++) {
+                long occupied = random.nextLong() & random.nextLong();
+                assertEquals(scan(square, occupied, new int[][] {{-1, 0}, {1, 0}, {0, -1}, {0, 1}}),
+                        Attacks.rook(square, occupied));
+                assertEquals(scan(square, occupied, new int[][] {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}}),
+                        Attacks.bishop(square, occupied));
+            }
+        }
+    }
+
+    // EFFECTS: reference implementation of sliding attacks that walks each ray square by square
+    private long scan(int square, long occupied, int[][] directions) {
+        long result = 0L;
+        for (int[] d : directions) {
+            for (int r = square / 8 + d[0], c = square % 8 + d[1]; r >= 0 && r <= 7 && c >= 0 && c <= 7;
+                 r += d[0], c += d[1]) {
+                result |= 1L << (r * 8 + c);
+                if ((occupied & (1L << (r * 8 + c))) != 0) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package model;
 
+import model.exceptions.InvalidFenException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
@@ -514,4 +515,437 @@ public class GameBoardTest {
         assertEquals("P", newBoard.getPiece(52).getName());
         assertEquals("W", newBoard.getPiece(52).getAllegiance());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMakeUnmakeCapture() {
+        newBoard.movePiece(52, 36);
+        newBoard.movePiece(11, 27);
+        Piece pawn = newBoard.getPiece(27);
+        newBoard.makeMove(36, 27, Position.QUEEN);
+        assertEquals(31, newBoard.getNumPieces());
+        assertEquals("W", newBoard.getPiece(27).getAllegiance());
+        newBoard.unmakeMove();
+        assertEquals(32, newBoard.getNumPieces());
+        assertSame(pawn, newBoard.getPiece(27));
+        assertEquals(36, newBoard.getPiece(36).getPosition());
+        assertEquals("W", newBoard.getTurn());
+        assertEquals(11, newBoard.getLastMove().getStart());
+    }
+
+    @Test
+    public void testMakeUnmakeCastling() {
+        emptyBoard.addPiece(new Rook("W", 56));
+        Piece king = emptyBoard.getPiece(60);
+        Piece rook = emptyBoard.getPiece(56);
+        emptyBoard.makeMove(60, 58, Position.QUEEN);
+        assertSame(rook, emptyBoard.getPiece(59));
+        assertTrue(rook.isMoved());
+        emptyBoard.unmakeMove();
+        assertSame(king, emptyBoard.getPiece(60));
+        assertSame(rook, emptyBoard.getPiece(56));
+        assertFalse(king.isMoved());
+        assertFalse(rook.isMoved());
+        assertFalse(emptyBoard.existsPiece(58));
+        assertFalse(emptyBoard.existsPiece(59));
+    }
+
+    @Test
+    public void testMakeUnmakeEnPassant() {
+        newBoard.movePiece(52, 36);
+        newBoard.movePiece(6, 21);
+        newBoard.movePiece(36, 28);
+        newBoard.movePiece(11, 27);
+        assertEquals(19, newBoard.getEnPassantSquare());
+        newBoard.makeMove(28, 19, Position.QUEEN);
+        assertFalse(newBoard.existsPiece(27));
+        assertEquals(-1, newBoard.getEnPassantSquare());
+        newBoard.unmakeMove();
+        assertEquals(19, newBoard.getEnPassantSquare());
+        assertEquals("P", newBoard.getPiece(27).getName());
+        assertEquals("B", newBoard.getPiece(27).getAllegiance());
+        assertEquals(32, newBoard.getNumPieces());
+    }
+
+    @Test
+    public void testMakeUnmakePromotion() {
+        Pawn pawn = new Pawn("W", 9);
+        emptyBoard.addPiece(pawn);
+        emptyBoard.addPiece(new Rook("B", 0));
+        emptyBoard.makeMove(9, 0, Position.KNIGHT);
+        assertEquals("N", emptyBoard.getPiece(0).getName());
+        assertEquals(3, emptyBoard.getNumPieces());
+        emptyBoard.unmakeMove();
+        assertSame(pawn, emptyBoard.getPiece(9));
+        assertFalse(pawn.isMoved());
+        assertEquals("R", emptyBoard.getPiece(0).getName());
+        assertEquals(4, emptyBoard.getNumPieces());
+    }
+
+    @Test
+    public void testUndoRestoresLastMove() {
+        newBoard.movePiece(52, 36);
+        Move first = newBoard.getLastMove();
+        newBoard.movePiece(12, 28);
+        newBoard.undo();
+        assertSame(first, newBoard.getLastMove());
+        assertEquals("B", newBoard.getTurn());
+    }
+
+    @Test
+    public void testKingSquares() {
+        assertEquals(60, newBoard.getKingSquare("W"));
+        assertEquals(4, newBoard.getKingSquare("B"));
+        emptyBoard.movePiece(60, 52);
+        assertEquals(52, emptyBoard.getKingSquare("W"));
+        emptyBoard.undo();
+        assertEquals(60, emptyBoard.getKingSquare("W"));
+        emptyBoard.removePiece(4);
+        assertEquals(-1, emptyBoard.getKingSquare("B"));
+    }
+
+    @Test
+    public void testIsSquareAttacked() {
+        assertTrue(newBoard.isSquareAttacked(44, "W"));  // e3 is covered by the d2 and f2 pawns
+        assertTrue(newBoard.isSquareAttacked(45, "W"));  // f3 is covered by the g1 knight
+        assertFalse(newBoard.isSquareAttacked(36, "W"));
+        assertTrue(newBoard.isSquareAttacked(20, "B"));
+        assertFalse(newBoard.isSquareAttacked(44, "B"));
+        emptyBoard.addPiece(new Rook("B", 12));
+        assertTrue(emptyBoard.isSquareAttacked(60, "B"));
+        assertTrue(emptyBoard.isCheck());
+        emptyBoard.addPiece(new Bishop("W", 44));  // blocks the rook
+        assertFalse(emptyBoard.isSquareAttacked(60, "B"));
+        assertFalse(emptyBoard.isCheck());
+    }
+
+    @Test
+    public void testPositionKeyReplay() {
+        // the Opera game, including castling, captures and checkmate
+        int[][] game = {{52, 36}, {12, 28}, {62, 45}, {11, 19}, {51, 35}, {2, 38}, {35, 28}, {38, 45}, {59, 45},
+                {19, 28}, {61, 34}, {6, 21}, {45, 41}, {3, 12}, {57, 42}, {10, 18}, {58, 30}, {9, 25}, {42, 25},
+                {18, 25}, {34, 25}, {1, 11}, {60, 58}, {0, 3}, {59, 11}, {3, 11}, {63, 59}, {12, 20}, {25, 11},
+                {21, 11}, {41, 1}, {11, 1}, {59, 3}};
+        long[] keys = new long[game.length + 1];
+        newBoard.setKeyValidation(true);  // throws if the incremental key is ever wrong
+        keys[0] = newBoard.getPositionKey();
+        for (int i = 0; i < game.length; i++) {
+            assertTrue(newBoard.movePiece(game[i][0], game[i][1]));
+            keys[i + 1] = newBoard.getPositionKey();
+            assertNotEquals(keys[i], keys[i + 1]);
+        }
+        assertTrue(newBoard.checkStatus());
+        for (int i = game.length; i > 0; i--) {
+            assertEquals(keys[i], newBoard.getPositionKey());
+            newBoard.undo();
+        }
+        assertEquals(keys[0], newBoard.getPositionKey());
+        assertEquals(new GameBoard().getPositionKey(), newBoard.getPositionKey());
+    }
+
+    @Test
+    public void testPositionKeyEnPassantAndPromotion() {
+        newBoard.setKeyValidation(true);
+        newBoard.movePiece(52, 36);
+        newBoard.movePiece(6, 21);
+        newBoard.movePiece(36, 28);
+        newBoard.movePiece(11, 27);
+        assertTrue(newBoard.movePiece(28, 19));
+        emptyBoard.setKeyValidation(true);
+        emptyBoard.addPiece(new Pawn("W", 8));
+        assertTrue(emptyBoard.movePiece(8, 0));
+        emptyBoard.undo();
+        emptyBoard.removePiece(8);
+        assertEquals(new GameBoard(true).getPositionKey(), emptyBoard.getPositionKey());
+    }
+
+    @Test
+    public void testPositionKeyTransposition() {
+        GameBoard other = new GameBoard();
+        newBoard.movePiece(62, 45);
+        newBoard.movePiece(6, 21);
+        newBoard.movePiece(57, 42);
+        other.movePiece(57, 42);
+        other.movePiece(6, 21);
+        other.movePiece(62, 45);
+        assertEquals(newBoard.getPositionKey(), other.getPositionKey());
+        assertEquals(newBoard.computePositionKey(), newBoard.getPositionKey());
+    }
+
+    @Test
+    public void testPositionKeyState() {
+        long start = newBoard.getPositionKey();
+        // same pieces, but the other side is to move
+        newBoard.movePiece(62, 45);
+        newBoard.movePiece(6, 21);
+        newBoard.movePiece(45, 62);
+        assertNotEquals(start, newBoard.getPositionKey());
+        newBoard.movePiece(21, 6);
+        assertEquals(start, newBoard.getPositionKey());
+        // same pieces and side to move, but white can no longer castle
+        emptyBoard.addPiece(new Rook("W", 63));
+        long castle = emptyBoard.getPositionKey();
+        emptyBoard.movePiece(63, 62);
+        emptyBoard.movePiece(4, 3);
+        emptyBoard.movePiece(62, 63);
+        emptyBoard.movePiece(3, 4);
+        assertNotEquals(castle, emptyBoard.getPositionKey());
+        assertEquals(emptyBoard.computePositionKey(), emptyBoard.getPositionKey());
+    }
+
+    @Test
+    public void testPositionKeyEnPassantOnlyWhenCapturable() {
+        // after e2-e4 no black pawn can capture en passant, so the key is that of the same position reached otherwise
+        GameBoard other = new GameBoard();
+        newBoard.movePiece(62, 45);
+        newBoard.movePiece(1, 18);
+        newBoard.movePiece(45, 62);
+        newBoard.movePiece(18, 1);
+        newBoard.movePiece(52, 36);
+        other.movePiece(52, 36);
+        other.movePiece(1, 18);
+        other.movePiece(62, 45);
+        other.movePiece(18, 1);
+        other.movePiece(45, 62);
+        assertEquals(newBoard.getPositionKey(), other.getPositionKey());
+        // a white pawn on e5 can capture a black pawn that just moved d7-d5, but not one that got there in two moves
+        newBoard = new GameBoard();
+        other = new GameBoard();
+        newBoard.movePiece(52, 36);
+        newBoard.movePiece(8, 16);
+        newBoard.movePiece(36, 28);
+        newBoard.movePiece(11, 27);
+        other.movePiece(52, 44);
+        other.movePiece(8, 16);
+        other.movePiece(44, 36);
+        other.movePiece(11, 19);
+        other.movePiece(36, 28);
+        other.movePiece(19, 27);
+        assertNotEquals(newBoard.getPositionKey(), other.getPositionKey());
+        assertEquals(newBoard.computePositionKey(), newBoard.getPositionKey());
+    }
+
+    // EFFECTS: moves both knights on the king side out and back, which returns board to the position it started in
+    private void shuffleKnights(GameBoard board) {
+        assertTrue(board.movePiece(62, 45));
+        assertTrue(board.movePiece(6, 21));
+        assertTrue(board.movePiece(45, 62));
+        assertTrue(board.movePiece(21, 6));
+    }
+
+    @Test
+    public void testThreefoldRepetition() {
+        shuffleKnights(newBoard);
+        assertEquals(1, newBoard.countRepetitions());
+        assertFalse(newBoard.checkStatus());
+        shuffleKnights(newBoard);
+        assertEquals(2, newBoard.countRepetitions());
+        assertTrue(newBoard.isThreefoldRepetition());
+        assertTrue(newBoard.checkStatus());
+        assertEquals("Draw By Repetition", newBoard.getStatus());
+        newBoard.undo();
+        assertNull(newBoard.getStatus());
+        assertFalse(newBoard.isThreefoldRepetition());
+        assertEquals(1, newBoard.countRepetitions());  // black's knight on f6 was seen twice before
+    }
+
+    @Test
+    public void testRepetitionStopsAtIrreversibleMove() {
+        newBoard.movePiece(52, 44);
+        newBoard.movePiece(12, 20);
+        shuffleKnights(newBoard);
+        assertEquals(1, newBoard.countRepetitions());
+        newBoard.movePiece(44, 36);  // positions before the pawn move can not come back
+        newBoard.movePiece(20, 28);
+        assertEquals(0, newBoard.countRepetitions());
+        shuffleKnights(newBoard);
+        assertEquals(1, newBoard.countRepetitions());
+        assertFalse(newBoard.checkStatus());
+    }
+
+    @Test
+    public void testNullMove() {
+        shuffleKnights(newBoard);
+        newBoard.movePiece(52, 36);
+        long key = newBoard.getPositionKey();
+        assertEquals(44, newBoard.getEnPassantSquare());
+        newBoard.makeNullMove();
+        assertEquals("W", newBoard.getTurn());
+        assertEquals(-1, newBoard.getEnPassantSquare());
+        assertEquals(0, newBoard.getHalfmoveClock());
+        assertNotEquals(key, newBoard.getPositionKey());
+        newBoard.makeMove(62, 45, Position.QUEEN);
+        newBoard.makeMove(6, 21, Position.QUEEN);
+        newBoard.makeNullMove();
+        assertEquals(0, newBoard.countRepetitions());  // the knights are back, but not before the null move
+        newBoard.unmakeNullMove();
+        newBoard.unmakeMove();
+        newBoard.unmakeMove();
+        newBoard.unmakeNullMove();
+        assertEquals("B", newBoard.getTurn());
+        assertEquals(44, newBoard.getEnPassantSquare());
+        assertEquals(key, newBoard.getPositionKey());
+        assertTrue(newBoard.movePiece(12, 28));
+    }
+
+    @Test
+    public void testHalfmoveClock() {
+        assertEquals(0, newBoard.getHalfmoveClock());
+        shuffleKnights(newBoard);
+        assertEquals(4, newBoard.getHalfmoveClock());
+        newBoard.movePiece(52, 36);
+        assertEquals(0, newBoard.getHalfmoveClock());
+        newBoard.movePiece(6, 21);
+        newBoard.movePiece(62, 45);
+        newBoard.movePiece(21, 36);  // capture
+        assertEquals(0, newBoard.getHalfmoveClock());
+        newBoard.undo();
+        assertEquals(2, newBoard.getHalfmoveClock());
+        newBoard.undo();
+        newBoard.undo();
+        newBoard.undo();
+        assertEquals(4, newBoard.getHalfmoveClock());
+    }
+
+    @Test
+    public void testFromFenStartingPosition() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        assertEquals(newBoard.getPositionKey(), board.getPositionKey());
+        assertEquals(32, board.getNumPieces());
+        assertEquals("W", board.getTurn());
+        assertTrue(board.movePiece(52, 36));
+    }
+
+    @Test
+    public void testFromFenState() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("r3k2r/8/8/3pP3/8/8/8/R3K2R w Kq d6 3 20");
+        assertEquals(19, board.getEnPassantSquare());
+        assertEquals(3, board.getHalfmoveClock());
+        assertTrue(board.movePiece(28, 19));  // en passant
+        assertFalse(board.existsPiece(27));
+        assertFalse(board.getPiece(4).getLegalMoves(board).contains(6));
+        assertTrue(board.getPiece(4).getLegalMoves(board).contains(2));
+        assertFalse(board.getPiece(60).getLegalMoves(board).contains(58));
+        board = GameBoard.fromFen("4k3/8/8/8/8/8/8/4K2R b - -");
+        assertEquals("B", board.getTurn());
+        assertEquals(-1, board.getEnPassantSquare());
+        assertTrue(board.getPiece(63).isMoved());
+    }
+
+    @Test
+    public void testStartingPosition() throws InvalidFenException {
+        EventLog.getInstance().clear();  // leaves only the event of clearing the log
+        GameBoard board = GameBoard.startingPosition();
+        GameBoard.fromFen("4k3/8/8/8/8/8/8/4K2R b - - 0 1");
+        assertEquals(1, countEvents());
+        assertEquals(newBoard.getPositionKey(), board.getPositionKey());
+        assertEquals(newBoard.toFen(), board.toFen());
+        new GameBoard();
+        assertEquals(2, countEvents());
+    }
+
+    // EFFECTS: returns the number of events in the event log
+    private static int countEvents() {
+        int count = 0;
+        for (Event event : EventLog.getInstance()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testToFen() throws InvalidFenException {
+        assertEquals("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1", newBoard.toFen());
+        newBoard.movePiece(52, 36);
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", newBoard.toFen());
+        newBoard.movePiece(6, 21);
+        newBoard.movePiece(60, 52);
+        assertEquals("rnbqkb1r/pppppppp/5n2/8/4P3/8/PPPPKPPP/RNBQ1BNR b kq - 2 2", newBoard.toFen());
+        newBoard.undo();
+        newBoard.undo();
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", newBoard.toFen());
+        String[] fens = {"r3k2r/8/8/3pP3/8/8/8/R3K2R w Kq d6 3 20", "4k3/8/8/8/8/8/8/4K2R b - - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 45"};
+        for (String fen : fens) {
+            assertEquals(fen, GameBoard.fromFen(fen).toFen());
+        }
+        assertEquals("4k3/8/8/8/8/8/8/4K2R b - - 0 1", GameBoard.fromFen("4k3/8/8/8/8/8/8/4K2R b").toFen());
+    }
+
+    @Test
+    public void testFullmoveNumber() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/8/8/8/8/8/8/4K2R b - - 7 30");
+        assertEquals(30, board.getFullmoveNumber());
+        board.makeMove(4, 12, Position.QUEEN);
+        assertEquals(31, board.getFullmoveNumber());
+        board.makeNullMove();
+        assertEquals(31, board.getFullmoveNumber());
+        board.unmakeNullMove();
+        board.unmakeMove();
+        assertEquals(30, board.getFullmoveNumber());
+        assertEquals(31, new GameBoard(GameBoard.fromFen("4k3/8/8/8/8/8/8/4K2R w - - 0 31")).getFullmoveNumber());
+    }
+
+    @Test
+    public void testFromFenInvalid() {
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("8/8/8/8/8/8/8/8"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("8/8/8/8/8/8/8/7 w - -"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("8/8/8/8/8/8/8/8X w - -"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("8/8/8/8/8/8/8/8 x - -"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("8/8/8/8/8/8/8/8 w - z9"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("8/8/8/8/8/8/8/8 w - - x"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("8/8/8/8/8/8/8/8 w - - -1"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("8/8/8/8/8/8/8/8 w - - 0 0"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("8/8/8/8/8/8/8/8 w - - 0 x"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("4k3/8/8/8/8/8/8/8 w - -"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("4k3/8/8/8/8/8/8/3KK3 w - -"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("4k3/4p3/8/8/8/8/8/4K3 b - e6"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("4k3/8/8/4p3/8/8/8/4K3 b - e6"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("4k3/8/8/4P3/8/8/8/4K3 w - e6"));
+        assertThrows(InvalidFenException.class, () -> GameBoard.fromFen("4k3/8/8/8/4P3/8/8/4K3 w - e3"));
+    }
+
+    @Test
+    public void testFromFenEnPassant() throws InvalidFenException {
+        assertEquals(20, GameBoard.fromFen("4k3/8/8/4p3/8/8/8/4K3 w - e6").getEnPassantSquare());
+        assertEquals(44, GameBoard.fromFen("4k3/8/8/8/4P3/8/8/4K3 b - e3").getEnPassantSquare());
+    }
+
+    @Test
+    public void testCopy() {
+        shuffleKnights(newBoard);
+        newBoard.movePiece(52, 36);
+        GameBoard copy = new GameBoard(newBoard);
+        assertEquals(newBoard.getPositionKey(), copy.getPositionKey());
+        assertEquals(newBoard.getTurn(), copy.getTurn());
+        assertEquals(newBoard.getEnPassantSquare(), copy.getEnPassantSquare());
+        assertNotSame(newBoard.getPiece(36), copy.getPiece(36));
+        assertTrue(copy.movePiece(6, 21));
+        assertFalse(newBoard.existsPiece(21));
+        assertTrue(newBoard.existsPiece(6));
+        copy.undo();
+        assertTrue(copy.existsPiece(6));
+        copy.undo();  // moves made before copying can't be taken back on the copy
+        assertTrue(copy.existsPiece(36));
+        // but the copy knows their positions, so it still detects repetitions
+        shuffleKnights(newBoard);
+        shuffleKnights(copy);
+        assertEquals(newBoard.countRepetitions(), copy.countRepetitions());
+        assertEquals(1, copy.countRepetitions());
+    }
+
+    @Test
+    public void testToMove() {
+        newBoard.movePiece(52, 36);
+        newBoard.movePiece(11, 27);
+        long key = newBoard.getPositionKey();
+        Move move = newBoard.toMove(MoveGenerator.encode(36, 27, 0));
+        assertEquals(key, newBoard.getPositionKey());
+        assertEquals(36, move.getStart());
+        assertEquals(27, move.getEnd());
+        assertEquals("P", move.getPiece().getName());
+        assertEquals("P", move.getCaptured().getName());
+        assertFalse(move.isCheck());
+        assertEquals(27, newBoard.getLastMove().getEnd());
+        assertTrue(newBoard.movePiece(move.getStart(), move.getEnd()));
+    }
+}
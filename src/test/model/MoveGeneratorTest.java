@@ -0,0 +1,195 @@
+package model;
+
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveGeneratorTest {
+    private GameBoard newBoard;
+    private GameBoard emptyBoard;
+    private int[] moves;
+
+    @BeforeEach
+    public void setup() {
+        newBoard = new GameBoard();
+        emptyBoard = new GameBoard(true);
+        moves = new int[MoveGenerator.MAX_MOVES];
+    }
+
+    @Test
+    public void testEncoding() {
+        int move = MoveGenerator.encode(12, 4, Position.KNIGHT);
+        assertEquals(12, MoveGenerator.start(move));
+        assertEquals(4, MoveGenerator.end(move));
+        assertEquals(Position.KNIGHT, MoveGenerator.promotion(move));
+        assertEquals(0, MoveGenerator.promotion(MoveGenerator.encode(52, 36, 0)));
+    }
+
+    @Test
+    public void testStartingPosition() {
+        assertEquals(20, MoveGenerator.generate(newBoard, moves));
+        newBoard.movePiece(52, 36);
+        assertEquals(20, MoveGenerator.generate(newBoard, moves));
+        assertTrue(MoveGenerator.hasLegalMove(newBoard));
+    }
+
+    @Test
+    public void testOrdered() {
+        int count = MoveGenerator.generate(newBoard, moves);
+        for (int i = 1; i < count; i++) {
+            assertTrue(MoveGenerator.start(moves[i - 1]) <= MoveGenerator.start(moves[i]));
+        }
+    }
+
+    @Test
+    public void testPinnedPiece() {
+        emptyBoard.addPiece(new Knight("W", 52));
+        emptyBoard.addPiece(new Rook("B", 12));
+        assertEquals(0L, MoveGenerator.legalTargets(emptyBoard, 52));
+        emptyBoard.removePiece(52);
+        emptyBoard.addPiece(new Rook("W", 52));
+        // a pinned rook can still move along the pin, including capturing the pinning piece
+        assertEquals(1L << 12 | 1L << 20 | 1L << 28 | 1L << 36 | 1L << 44, MoveGenerator.legalTargets(emptyBoard, 52));
+    }
+
+    @Test
+    public void testDoubleCheckOnlyKingMoves() {
+        emptyBoard.addPiece(new Rook("W", 0));
+        emptyBoard.addPiece(new Rook("B", 12));
+        emptyBoard.addPiece(new Knight("B", 43));
+        assertEquals(0L, MoveGenerator.legalTargets(emptyBoard, 0));
+        int count = MoveGenerator.generate(emptyBoard, moves);
+        for (int i = 0; i < count; i++) {
+            assertEquals(60, MoveGenerator.start(moves[i]));
+        }
+    }
+
+    @Test
+    public void testCastleBothSides() {
+        emptyBoard.addPiece(new Rook("W", 56));
+        emptyBoard.addPiece(new Rook("W", 63));
+        Set<Integer> kingMoves = emptyBoard.getPiece(60).getLegalMoves(emptyBoard);
+        assertTrue(kingMoves.contains(58));
+        assertTrue(kingMoves.contains(62));
+        assertTrue(emptyBoard.movePiece(60, 58));
+        assertEquals("R", emptyBoard.getPiece(59).getName());
+    }
+
+    @Test
+    public void testNoCastleThroughCheck() {
+        emptyBoard.addPiece(new Rook("W", 56));
+        emptyBoard.addPiece(new Rook("W", 63));
+        emptyBoard.addPiece(new Rook("B", 6));  // attacks g1, so the king cannot land there
+        emptyBoard.addPiece(new Knight("W", 57));  // blocks queen side castling
+        Set<Integer> kingMoves = emptyBoard.getPiece(60).getLegalMoves(emptyBoard);
+        assertFalse(kingMoves.contains(62));
+        assertFalse(kingMoves.contains(58));
+    }
+
+    @Test
+    public void testPromotions() {
+        emptyBoard.addPiece(new Pawn("W", 8));
+        emptyBoard.movePiece(60, 59);
+        emptyBoard.movePiece(4, 5);
+        int count = MoveGenerator.generate(emptyBoard, moves);
+        int promotions = 0;
+        for (int i = 0; i < count; i++) {
+            if (MoveGenerator.start(moves[i]) == 8) {
+                promotions++;
+                assertNotEquals(0, MoveGenerator.promotion(moves[i]));
+            }
+        }
+        assertEquals(4, promotions);
+    }
+
+    @Test
+    public void testEnPassantDiscoveredCheck() {
+        // capturing en passant would remove both pawns from the king's rank and expose it to the rook
+        emptyBoard.removePiece(60);
+        emptyBoard.addPiece(new King("W", 32));
+        emptyBoard.addPiece(new Pawn("W", 25));
+        emptyBoard.addPiece(new Pawn("B", 10));
+        emptyBoard.addPiece(new Rook("B", 31));
+        emptyBoard.movePiece(32, 24);
+        emptyBoard.movePiece(10, 26);
+        assertEquals(18, emptyBoard.getEnPassantSquare());
+        assertEquals(1L << 17, MoveGenerator.legalTargets(emptyBoard, 25));
+    }
+
+    @Test
+    public void testEnPassantResolvesCheck() {
+        emptyBoard.removePiece(60);
+        emptyBoard.addPiece(new King("W", 43));
+        emptyBoard.addPiece(new Pawn("W", 27));
+        emptyBoard.addPiece(new Pawn("B", 10));
+        emptyBoard.movePiece(43, 35);
+        emptyBoard.movePiece(10, 26);  // black pawn gives check to the king on d4
+        assertTrue(emptyBoard.isCheck());
+        assertTrue(emptyBoard.getPiece(27).getLegalMoves(emptyBoard).contains(18));
+    }
+
+    @Test
+    public void testCapturesAndQuiets() throws InvalidFenException {
+        String[] fens = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1"
+        };
+        int[] captures = new int[MoveGenerator.MAX_MOVES];
+        int[] quiets = new int[MoveGenerator.MAX_MOVES];
+        for (String fen : fens) {
+            GameBoard board = GameBoard.fromFen(fen);
+            int count = MoveGenerator.generate(board, moves);
+            int captureCount = MoveGenerator.generateCaptures(board, captures);
+            int quietCount = MoveGenerator.generateQuiets(board, quiets);
+            assertEquals(count, captureCount + quietCount);
+            Set<Integer> all = new HashSet<>();
+            for (int i = 0; i < captureCount; i++) {
+                assertFalse(MoveGenerator.isQuiet(board, captures[i]));
+                all.add(captures[i]);
+            }
+            for (int i = 0; i < quietCount; i++) {
+                assertTrue(MoveGenerator.isQuiet(board, quiets[i]));
+                all.add(quiets[i]);
+            }
+            for (int i = 0; i < count; i++) {
+                assertTrue(all.contains(moves[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testEnPassantAndPromotionAreCaptures() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/1P6/8/3pP3/8/8/8/4K3 w - d6 0 1");
+        int count = MoveGenerator.generateCaptures(board, moves);
+        Set<Integer> captures = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            captures.add(moves[i]);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(MoveGenerator.encode(28, 19, 0),
+                MoveGenerator.encode(9, 1, Position.QUEEN), MoveGenerator.encode(9, 1, Position.ROOK),
+                MoveGenerator.encode(9, 1, Position.BISHOP), MoveGenerator.encode(9, 1, Position.KNIGHT))), captures);
+        assertTrue(MoveGenerator.isQuiet(board, MoveGenerator.encode(28, 20, 0)));
+    }
+
+    @Test
+    public void testIsLegal() throws InvalidFenException {
+        assertTrue(MoveGenerator.isLegal(newBoard, MoveGenerator.encode(52, 36, 0)));
+        assertTrue(MoveGenerator.isLegal(newBoard, MoveGenerator.encode(62, 45, 0)));
+        assertFalse(MoveGenerator.isLegal(newBoard, MoveGenerator.encode(52, 28, 0)));  // too far
+        assertFalse(MoveGenerator.isLegal(newBoard, MoveGenerator.encode(12, 28, 0)));  // not black's turn
+        assertFalse(MoveGenerator.isLegal(newBoard, MoveGenerator.encode(36, 28, 0)));  // no piece
+        assertFalse(MoveGenerator.isLegal(newBoard, MoveGenerator.encode(52, 44, Position.QUEEN)));
+        GameBoard board = GameBoard.fromFen("4k3/1P6/8/8/8/8/8/4K3 w - - 0 1");
+        assertTrue(MoveGenerator.isLegal(board, MoveGenerator.encode(9, 1, Position.KNIGHT)));
+        assertFalse(MoveGenerator.isLegal(board, MoveGenerator.encode(9, 1, 0)));
+        assertFalse(MoveGenerator.isLegal(board, MoveGenerator.encode(9, 1, Position.KING)));
+    }
+}
@@ -0,0 +1,97 @@
+package model;
+
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// expected counts are the published perft results of each position
+public class PerftTest {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    // EFFECTS: checks the perft counts of fen from depth 1 up to the number of expected counts
+    private void assertPerft(String fen, long... expected) throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen(fen);
+        long key = board.getPositionKey();
+        for (int depth = 1; depth <= expected.length; depth++) {
+            assertEquals(expected[depth - 1], Perft.perft(board, depth));
+        }
+        assertEquals(key, board.getPositionKey());
+    }
+
+    @Test
+    public void testStartingPosition() {
+        GameBoard board = new GameBoard();
+        assertEquals(1, Perft.perft(board, 0));
+        assertEquals(20, Perft.perft(board, 1));
+        assertEquals(400, Perft.perft(board, 2));
+        assertEquals(8902, Perft.perft(board, 3));
+        assertEquals(197281, Perft.perft(board, 4));
+    }
+
+    @Test
+    public void testKiwipete() throws InvalidFenException {
+        assertPerft(KIWIPETE, 48, 2039, 97862);
+    }
+
+    @Test
+    public void testPosition3() throws InvalidFenException {
+        assertPerft("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2812, 43238);
+    }
+
+    @Test
+    public void testPosition4() throws InvalidFenException {
+        assertPerft("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 6, 264, 9467);
+        // the same position with colours reversed, so black is to move
+        assertPerft("r2q1rk1/pP1p2pp/Q4n2/bbp1p3/Np6/1B3NBn/pPPP1PPP/R3K2R b KQ - 0 1", 6, 264, 9467);
+    }
+
+    @Test
+    public void testPosition5() throws InvalidFenException {
+        assertPerft("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44, 1486, 62379);
+    }
+
+    @Test
+    public void testPosition6() throws InvalidFenException {
+        assertPerft("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 46, 2079, 89890);
+    }
+
+    @Test
+    public void testDivide() throws InvalidFenException {
+        Map<String, Long> divide = Perft.perftDivide(GameBoard.fromFen(KIWIPETE), 2);
+        assertEquals(48, divide.size());
+        assertEquals(2039, divide.values().stream().mapToLong(Long::longValue).sum());
+        assertTrue(divide.containsKey("e1g1"));
+        assertTrue(divide.containsKey("e1c1"));
+        Map<String, Long> promotions = Perft.perftDivide(GameBoard.fromFen("8/P6k/8/8/8/8/8/K7 w - - 0 1"), 1);
+        assertTrue(promotions.containsKey("a7a8q"));
+        assertTrue(promotions.containsKey("a7a8n"));
+        assertEquals(1L, promotions.get("a7a8r"));
+    }
+
+    @Test
+    public void testParallel() throws InvalidFenException {
+        GameBoard board = new GameBoard();
+        long key = board.getPositionKey();
+        assertEquals(20, Perft.perftParallel(board, 1));
+        assertEquals(197281, Perft.perftParallel(board, 4, 2, 1));
+        assertEquals(4865609, Perft.perftParallel(board, 5, 4, 16));
+        assertEquals(key, board.getPositionKey());
+        assertEquals(4085603, Perft.perftParallel(GameBoard.fromFen(KIWIPETE), 4, 3, 8));
+        assertEquals(674624, Perft.perftParallel(GameBoard.fromFen("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"), 5));
+    }
+
+    @Test
+    public void testCache() {
+        PerftCache cache = new PerftCache(1);
+        assertEquals(-1, cache.probe(12345L, 3));
+        cache.store(12345L, 3, 8902);
+        assertEquals(8902, cache.probe(12345L, 3));
+        assertEquals(-1, cache.probe(12345L, 4));
+        assertEquals(-1, cache.probe(12345L + (1L << 40), 3));
+        cache.store(12345L, 4, 197281);
+        assertEquals(197281, cache.probe(12345L, 4));
+    }
+}
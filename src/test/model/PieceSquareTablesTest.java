@@ -0,0 +1,45 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PieceSquareTablesTest {
+
+    @Test
+    public void testMirrored() {
+        for (int type = Position.PAWN; type <= Position.KING; type++) {
+            for (int square = 0; square < 64; square++) {
+                int black = 6 + type;
+                assertEquals(-PieceSquareTables.middlegame(type, square),
+                        PieceSquareTables.middlegame(black, square ^ 56));
+                assertEquals(-PieceSquareTables.endgame(type, square), PieceSquareTables.endgame(black, square ^ 56));
+            }
+        }
+    }
+
+    @Test
+    public void testMaterialIncluded() {
+        assertTrue(PieceSquareTables.middlegame(Position.QUEEN, 59) > PieceSquareTables.middlegame(Position.ROOK, 56));
+        assertTrue(PieceSquareTables.middlegame(Position.KNIGHT, 45) > PieceSquareTables.middlegame(Position.PAWN, 8));
+        assertTrue(PieceSquareTables.middlegame(6 + Position.QUEEN, 3) < 0);
+    }
+
+    @Test
+    public void testPlacement() {
+        // knights belong in the centre, kings in the corner in the middlegame but in the centre in the endgame
+        int knight = Position.KNIGHT;
+        assertTrue(PieceSquareTables.middlegame(knight, 36) > PieceSquareTables.middlegame(knight, 56));
+        assertTrue(PieceSquareTables.middlegame(Position.KING, 62) > PieceSquareTables.middlegame(Position.KING, 36));
+        assertTrue(PieceSquareTables.endgame(Position.KING, 62) < PieceSquareTables.endgame(Position.KING, 36));
+        assertTrue(PieceSquareTables.endgame(Position.PAWN, 8) > PieceSquareTables.endgame(Position.PAWN, 48));
+    }
+
+    @Test
+    public void testPhase() {
+        int start = 2 * (8 * PieceSquareTables.phase(Position.PAWN) + 2 * PieceSquareTables.phase(Position.KNIGHT)
+                + 2 * PieceSquareTables.phase(Position.BISHOP) + 2 * PieceSquareTables.phase(Position.ROOK)
+                + PieceSquareTables.phase(Position.QUEEN) + PieceSquareTables.phase(Position.KING));
+        assertEquals(PieceSquareTables.MAX_PHASE, start);
+    }
+}
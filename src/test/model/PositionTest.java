@@ -0,0 +1,178 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionTest {
+    private Position position;
+
+    @BeforeEach
+    public void setup() {
+        position = new Position();
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(0, position.count());
+        assertEquals(0L, position.occupied());
+        for (int i = 0; i < 64; i++) {
+            assertFalse(position.isOccupied(i));
+            assertEquals(Position.EMPTY, position.codeAt(i));
+        }
+    }
+
+    @Test
+    public void testPut() {
+        position.put(0, Position.BLACK, Position.ROOK);
+        position.put(63, Position.WHITE, Position.ROOK);
+        assertTrue(position.isOccupied(0));
+        assertTrue(position.isOccupied(63));
+        assertEquals(2, position.count());
+        assertEquals(1L, position.pieces(Position.BLACK, Position.ROOK));
+        assertEquals(1L << 63, position.pieces(Position.WHITE, Position.ROOK));
+        assertEquals(1L, position.colour(Position.BLACK));
+        assertEquals(Position.BLACK * 6 + Position.ROOK, position.codeAt(0));
+    }
+
+    @Test
+    public void testPutReplaces() {
+        position.put(20, Position.BLACK, Position.PAWN);
+        position.put(20, Position.WHITE, Position.QUEEN);
+        assertEquals(1, position.count());
+        assertEquals(0L, position.pieces(Position.BLACK, Position.PAWN));
+        assertEquals(0L, position.colour(Position.BLACK));
+        assertEquals(1L << 20, position.pieces(Position.WHITE, Position.QUEEN));
+    }
+
+    @Test
+    public void testClear() {
+        position.put(36, Position.WHITE, Position.KNIGHT);
+        position.clear(36);
+        position.clear(37);  // clearing an empty square does nothing
+        assertFalse(position.isOccupied(36));
+        assertEquals(0, position.count());
+        assertEquals(0L, position.pieces(Position.WHITE, Position.KNIGHT));
+        assertEquals(0L, position.colour(Position.WHITE));
+    }
+
+    @Test
+    public void testCopy() {
+        position.put(4, Position.BLACK, Position.KING);
+        Position copy = new Position(position);
+        copy.clear(4);
+        assertTrue(position.isOccupied(4));
+        assertFalse(copy.isOccupied(4));
+    }
+
+    @Test
+    public void testBoardInSync() {
+        GameBoard board = new GameBoard();
+        Position p = board.getPosition();
+        assertEquals(32, p.count());
+        assertEquals(0xFFFFL, p.colour(Position.BLACK));
+        assertEquals(0xFFFFL << 48, p.colour(Position.WHITE));
+        assertEquals(1L << 60, p.pieces(Position.WHITE, Position.KING));
+        board.movePiece(52, 36);
+        assertTrue(p.isOccupied(36));
+        assertFalse(p.isOccupied(52));
+        assertEquals(Position.WHITE * 6 + Position.PAWN, p.codeAt(36));
+    }
+
+    @Test
+    public void testConversions() {
+        assertEquals(Position.WHITE, Position.colourOf("W"));
+        assertEquals(Position.BLACK, Position.colourOf("B"));
+        assertEquals(Position.PAWN, Position.typeOf("P"));
+        assertEquals(Position.KNIGHT, Position.typeOf("N"));
+        assertEquals(Position.BISHOP, Position.typeOf("B"));
+        assertEquals(Position.ROOK, Position.typeOf("R"));
+        assertEquals(Position.QUEEN, Position.typeOf("Q"));
+        assertEquals(Position.KING, Position.typeOf("K"));
+    }
+
+    @Test
+    public void testKey() {
+        assertEquals(0L, position.key());
+        position.put(4, Position.BLACK, Position.KING);
+        long king = position.key();
+        assertEquals(Zobrist.piece(Position.BLACK * 6 + Position.KING, 4), king);
+        position.put(20, Position.WHITE, Position.PAWN);
+        position.put(20, Position.WHITE, Position.QUEEN);  // replacing a piece takes the old piece out of the key
+        assertEquals(king ^ Zobrist.piece(Position.WHITE * 6 + Position.QUEEN, 20), position.key());
+        assertEquals(position.key(), new Position(position).key());
+        position.clear(20);
+        assertEquals(king, position.key());
+        position.clear(4);
+        assertEquals(0L, position.key());
+    }
+
+    @Test
+    public void testScores() {
+        assertEquals(0, position.middlegameScore());
+        assertEquals(0, position.phase());
+        position.put(57, Position.WHITE, Position.KNIGHT);
+        assertEquals(PieceSquareTables.middlegame(Position.KNIGHT, 57), position.middlegameScore());
+        assertEquals(PieceSquareTables.endgame(Position.KNIGHT, 57), position.endgameScore());
+        assertEquals(1, position.phase());
+        position.put(1, Position.BLACK, Position.KNIGHT);  // the mirrored square
+        assertEquals(0, position.middlegameScore());
+        assertEquals(0, position.endgameScore());
+        assertEquals(2, position.phase());
+        position.put(1, Position.BLACK, Position.QUEEN);  // replacing a piece takes the old piece out of the scores
+        assertEquals(5, position.phase());
+        Position copy = new Position(position);
+        assertEquals(position.middlegameScore(), copy.middlegameScore());
+        assertEquals(position.endgameScore(), copy.endgameScore());
+        assertEquals(5, copy.phase());
+        position.clear(1);
+        position.clear(57);
+        assertEquals(0, position.middlegameScore());
+        assertEquals(0, position.endgameScore());
+        assertEquals(0, position.phase());
+    }
+
+    @Test
+    public void testScoresAfterMoves() {
+        GameBoard board = new GameBoard();
+        assertEquals(PieceSquareTables.MAX_PHASE, board.getPosition().phase());
+        assertEquals(0, board.getPosition().middlegameScore());
+        int[][] moves = {{52, 36}, {11, 27}, {36, 27}, {3, 27}, {57, 42}, {27, 51}, {58, 51}};
+        for (int[] move : moves) {
+            assertTrue(board.movePiece(move[0], move[1]));
+            Position p = board.getPosition();
+            Position rebuilt = new Position();
+            for (int square = 0; square < 64; square++) {
+                if (p.codeAt(square) != Position.EMPTY) {
+                    rebuilt.put(square, p.codeAt(square) / 6, p.codeAt(square) % 6);
+                }
+            }
+            assertEquals(rebuilt.middlegameScore(), p.middlegameScore());
+            assertEquals(rebuilt.endgameScore(), p.endgameScore());
+            assertEquals(rebuilt.phase(), p.phase());
+        }
+        assertEquals(PieceSquareTables.MAX_PHASE - 4, board.getPosition().phase());  // the black queen is gone
+        for (int i = 0; i < moves.length; i++) {
+            board.undo();
+        }
+        assertEquals(0, board.getPosition().middlegameScore());
+        assertEquals(PieceSquareTables.MAX_PHASE, board.getPosition().phase());
+    }
+
+    @Test
+    public void testPawnKey() {
+        position.put(4, Position.BLACK, Position.KING);
+        assertEquals(0L, position.pawnKey());
+        position.put(52, Position.WHITE, Position.PAWN);
+        long pawn = Zobrist.piece(Position.WHITE * 6 + Position.PAWN, 52);
+        assertEquals(pawn, position.pawnKey());
+        position.put(12, Position.BLACK, Position.PAWN);
+        position.put(12, Position.BLACK, Position.ROOK);  // replacing a pawn takes it out of the pawn key
+        assertEquals(pawn, position.pawnKey());
+        assertEquals(pawn, new Position(position).pawnKey());
+        position.clear(52);
+        assertEquals(0L, position.pawnKey());
+        assertNotEquals(0L, position.key());
+    }
+}
@@ -0,0 +1,87 @@
+package model;
+
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaticExchangeTest {
+
+    @Test
+    public void testUndefendedCapture() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/8/8/3p4/8/8/8/3RK3 w - - 0 1");
+        assertEquals(100, StaticExchange.evaluate(board, MoveGenerator.encode(59, 27, 0)));
+    }
+
+    @Test
+    public void testDefendedCapture() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/8/4p3/3p4/8/2N5/8/4K3 w - - 0 1");
+        assertEquals(100 - 320, StaticExchange.evaluate(board, MoveGenerator.encode(42, 27, 0)));
+    }
+
+    @Test
+    public void testQuietMove() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/8/4p3/8/8/2N5/8/4K3 w - - 0 1");
+        assertEquals(0, StaticExchange.evaluate(board, MoveGenerator.encode(42, 36, 0)));  // Ne4, safe
+        assertEquals(-320, StaticExchange.evaluate(board, MoveGenerator.encode(42, 27, 0)));  // Nd5, taken by pawn
+    }
+
+    @Test
+    public void testXray() throws InvalidFenException {
+        // the second rook behind the first recaptures after the first rook is taken
+        GameBoard board = GameBoard.fromFen("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1");
+        assertEquals(100, StaticExchange.evaluate(board, MoveGenerator.encode(51, 27, 0)));
+        board.removePiece(59);
+        assertEquals(100 - 500, StaticExchange.evaluate(board, MoveGenerator.encode(51, 27, 0)));
+    }
+
+    @Test
+    public void testLeastValuableFirst() throws InvalidFenException {
+        // black recaptures with the pawn rather than the queen
+        GameBoard board = GameBoard.fromFen("4k3/8/2q1p3/3n4/8/8/3R4/4K3 w - - 0 1");
+        assertEquals(320 - 500, StaticExchange.evaluate(board, MoveGenerator.encode(51, 27, 0)));
+    }
+
+    @Test
+    public void testKingCannotRecaptureDefended() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/4p3/8/8/8/8/4Q3/4RK2 w - - 0 1");
+        assertEquals(100, StaticExchange.evaluate(board, MoveGenerator.encode(52, 12, 0)));
+        board.removePiece(60);
+        assertEquals(100 - 900, StaticExchange.evaluate(board, MoveGenerator.encode(52, 12, 0)));
+    }
+
+    @Test
+    public void testEnPassant() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1");
+        assertEquals(100, StaticExchange.evaluate(board, MoveGenerator.encode(28, 19, 0)));
+    }
+
+    @Test
+    public void testPromotion() throws InvalidFenException {
+        GameBoard board = GameBoard.fromFen("r3k3/1P6/8/8/8/8/8/4K3 w - - 0 1");
+        assertEquals(-100, StaticExchange.evaluate(board, MoveGenerator.encode(9, 1, Position.QUEEN)));
+        assertEquals(500 + 800, StaticExchange.evaluate(board, MoveGenerator.encode(9, 0, Position.QUEEN)));
+    }
+
+    @Test
+    public void testHanging() throws InvalidFenException {
+        // the knight on d5 is defended but attacked by pawns, the pawn on b5 is defended by a pawn, and the rook on
+        // h5 is not defended but not attacked either; the white pawn on c4 can be taken by the pawn on b5
+        GameBoard board = GameBoard.fromFen("4k3/8/2p1p3/1p1n3r/2P1P3/8/6R1/4K3 w - - 0 1");
+        assertTrue(StaticExchange.isHanging(board, 27));
+        assertFalse(StaticExchange.isHanging(board, 25));
+        assertFalse(StaticExchange.isHanging(board, 31));
+        assertFalse(StaticExchange.isHanging(board, 20));
+        assertTrue(StaticExchange.isHanging(board, 34));
+        assertEquals(1L << 27, StaticExchange.hangingPieces(board, "B"));
+        assertEquals(1L << 34, StaticExchange.hangingPieces(board, "W"));
+        board.removePiece(18);
+        assertEquals(1L << 25 | 1L << 27, StaticExchange.hangingPieces(board, "B"));
+    }
+
+    @Test
+    public void testValue() {
+        assertEquals(100, StaticExchange.value(Position.PAWN));
+        assertTrue(StaticExchange.value(Position.KING) > 2 * StaticExchange.value(Position.QUEEN));
+    }
+}
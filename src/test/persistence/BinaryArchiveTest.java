@@ -0,0 +1,115 @@
+package persistence;
+
+import model.Move;
+import model.MoveList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static persistence.BinaryConverterTest.play;
+
+public class BinaryArchiveTest {
+    private static final String FILE = "./data/testBinaryArchive.bin";
+
+    private List<MoveList> games;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        games = new ArrayList<>();
+        games.add(play(53, 45, 12, 28, 54, 38, 3, 39));  // fool's mate
+        games.add(new MoveList());
+        for (int i = 0; i < 100; i++) {
+            games.add(play(52, 36, 12, 28, 62, 45, 1, 18, 61, 34, 6, 21, 60, 62));
+        }
+        games.add(play(52, 36, 11, 27, 36, 27, 3, 27, 57, 42, 27, 24));  // Scandinavian
+        games.get(0).wasCheckmate();
+        BinaryConverter.saveGames(games, FILE);
+    }
+
+    @Test
+    public void testRandomAccess() throws IOException {
+        BinaryArchive archive = new BinaryArchive(FILE);
+        assertEquals(103, archive.getGameCount());
+        assertEquals(6, archive.getPlyCount(102));
+        assertEquals(0, archive.getPlyCount(1));
+        assertEquals(0, archive.getMoves(1).length);
+        assertEquals(7, archive.getPlyCount(50));
+        assertArrayEquals(new int[] {53 | 45 << 6, 12 | 28 << 6, 54 | 38 << 6, 3 | 39 << 6}, archive.getMoves(0));
+    }
+
+    @Test
+    public void testEventLogDoesNotGrow() throws IOException {
+        BinaryArchive archive = new BinaryArchive(FILE);
+        int events = PgnReaderTest.countEvents();
+        for (int game = 0; game < archive.getGameCount(); game++) {
+            archive.getMoveList(game);
+        }
+        assertEquals(events, PgnReaderTest.countEvents());
+    }
+
+    @Test
+    public void testMoveLists() throws IOException {
+        BinaryArchive archive = new BinaryArchive(FILE);
+        for (int game : new int[] {0, 1, 2, 101, 102}) {
+            MoveList expected = games.get(game);
+            MoveList actual = archive.getMoveList(game);
+            assertEquals(expected.getNotationList(), actual.getNotationList());
+            for (int i = 0; i < expected.getSize(); i++) {
+                Move x = expected.getMoveList().get(i);
+                Move y = actual.getMoveList().get(i);
+                assertEquals(x.getStart(), y.getStart());
+                assertEquals(x.getEnd(), y.getEnd());
+                assertEquals(x.isCheck(), y.isCheck());
+                assertEquals(x.getPiece().getName(), y.getPiece().getName());
+                assertEquals(x.getCaptured() == null, y.getCaptured() == null);
+            }
+        }
+        assertEquals("Qh4#", archive.getMoveList(0).getNotationList().get(3));
+    }
+
+    @Test
+    public void testNoSuchGame() throws IOException {
+        BinaryArchive archive = new BinaryArchive(FILE);
+        assertThrows(IOException.class, () -> archive.getMoves(103));
+        assertThrows(IOException.class, () -> archive.getMoveList(-1));
+        assertThrows(IOException.class, () -> archive.getPlyCount(1000));
+    }
+
+    @Test
+    public void testInvalidFiles() throws IOException {
+        assertThrows(IOException.class, () -> new BinaryArchive("./data/FileNotFound.bin"));
+        assertThrows(IOException.class, () -> new BinaryArchive("./data/saveFile1.json"));
+        write("./data/testBinaryVersion.bin", BinaryConverter.MAGIC, 2 << 16, 0, 12);
+        assertThrows(IOException.class, () -> new BinaryArchive("./data/testBinaryVersion.bin"));
+        write("./data/testBinaryShortIndex.bin", BinaryConverter.MAGIC, 1 << 16, 5, 32);
+        assertThrows(IOException.class, () -> new BinaryArchive("./data/testBinaryShortIndex.bin"));
+        write("./data/testBinaryCorrupt.bin", BinaryConverter.MAGIC, 1 << 16, 1, 20, 400);
+        BinaryArchive corrupt = new BinaryArchive("./data/testBinaryCorrupt.bin");
+        assertThrows(IOException.class, () -> corrupt.getMoves(0));
+        write("./data/testBinaryIllegal.bin", BinaryConverter.MAGIC, 1 << 16, 1, 20, 24, 52 << 16 | 20);
+        BinaryArchive illegal = new BinaryArchive("./data/testBinaryIllegal.bin");
+        assertEquals(2, illegal.getPlyCount(0));
+        assertThrows(IOException.class, () -> illegal.getMoveList(0));
+    }
+
+    @Test
+    public void testHugeGameCount() throws IOException {
+        write("./data/testBinaryHugeCount.bin", BinaryConverter.MAGIC, 1 << 16, Integer.MAX_VALUE, 16, 16);
+        assertThrows(IOException.class, () -> new BinaryArchive("./data/testBinaryHugeCount.bin"));
+    }
+
+    // EFFECTS: writes ints into file
+    private static void write(String file, int... ints) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            for (int i : ints) {
+                out.writeInt(i);
+            }
+        }
+    }
+}
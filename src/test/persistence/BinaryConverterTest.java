@@ -0,0 +1,67 @@
+package persistence;
+
+import model.GameBoard;
+import model.MoveList;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryConverterTest {
+    // EFFECTS: returns the move list of the game made by playing moves, given as pairs of start and end squares, with
+    // GameBoard.movePiece from the starting position
+    static MoveList play(int... moves) {
+        GameBoard board = new GameBoard();
+        MoveList result = new MoveList();
+        for (int i = 0; i < moves.length; i += 2) {
+            assertTrue(board.movePiece(moves[i], moves[i + 1]));
+            result.addMove(board.getLastMove());
+        }
+        return result;
+    }
+
+    @Test
+    public void testLayout() throws IOException {
+        String file = "./data/testBinaryLayout.bin";
+        List<MoveList> games = new ArrayList<>();
+        games.add(play(52, 36, 12, 28));  // e4 e5
+        games.add(new MoveList());
+        games.add(play(51, 35));  // d4
+        BinaryConverter.saveGames(games, file);
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            assertEquals(BinaryConverter.MAGIC, in.readInt());
+            assertEquals(BinaryConverter.VERSION, in.readShort());
+            assertEquals(0, in.readShort());
+            assertEquals(3, in.readInt());
+            int[] index = {in.readInt(), in.readInt(), in.readInt(), in.readInt()};
+            assertArrayEquals(new int[] {28, 32, 32, 34}, index);
+            assertEquals(52 | 36 << 6, in.readShort());
+            assertEquals(12 | 28 << 6, in.readShort());
+            assertEquals(51 | 35 << 6, in.readShort());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testSmallerThanJson() throws IOException {
+        MoveList game = play(52, 36, 12, 28, 62, 45, 1, 18, 61, 34, 6, 21, 60, 62);
+        BinaryConverter.saveMoveList(game, "./data/testBinarySize.bin");
+        JsonConverter.saveMoveList(game, "./data/testBinarySize.json");
+        long binary = new File("./data/testBinarySize.bin").length();
+        assertEquals(BinaryConverter.HEADER_BYTES + 8 + 2 * 7, binary);
+        assertTrue(binary * 50 < new File("./data/testBinarySize.json").length());
+        assertEquals(Arrays.asList("e4", "e5", "Nf3", "Nc6", "Bc4", "Nf6", "O-O"), game.getNotationList());
+    }
+
+    @Test
+    public void testInvalidFile() {
+        assertThrows(IOException.class, () -> BinaryConverter.saveMoveList(new MoveList(), "./data/no/such/dir.bin"));
+    }
+}
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -77,6 +80,79 @@ public class JsonConverterTest {
         }
     }
 
+    @Test
+    public void testReadSavedGame() throws IOException {
+        MoveList ml = JsonConverter.getMoveList("./data/saveFile1.json");
+        ArrayList<String> notationList = JsonConverter.getNotationList("./data/saveFile1.json");
+        assertEquals(ml.getNotationList(), notationList);
+        assertEquals("e4", notationList.get(0));
+        assertEquals("Bc4", notationList.get(4));
+        assertEquals(5, ml.getSize());
+        assertEquals(61, ml.getPreviousMove().getStart());
+    }
+
+    @Test
+    public void testReadAnyMemberOrder() throws IOException {
+        String file = "./data/testReadAnyMemberOrder.json";
+        Files.write(Paths.get(file), ("{\"moves\": [{\"check\": true, \"end\": 28, \"start\": 12, \"extra\": [1],"
+                + " \"captured\": {\"type\": \"R\", \"moved\": true, \"position\": 28, \"allegiance\": \"W\"},"
+                + " \"piece\": {\"type\": \"P\", \"allegiance\": \"B\", \"position\": 12, \"moved\": false}}],"
+                + " \"notation\": [\"exe5+\"]}").getBytes(StandardCharsets.UTF_8));
+        MoveList ml = JsonConverter.getMoveList(file);
+        assertEquals(1, ml.getSize());
+        Move move = ml.getPreviousMove();
+        assertTrue(move.isCheck());
+        assertEquals(12, move.getStart());
+        assertEquals("R", move.getCaptured().getName());
+        assertTrue(move.getCaptured().isMoved());
+        assertEquals("B", move.getPiece().getAllegiance());
+        assertEquals(1, JsonConverter.getNotationList(file).size());
+    }
+
+    @Test
+    public void testReadMissingMembers() throws IOException {
+        String file = "./data/testReadMissingMembers.json";
+        Files.write(Paths.get(file), "{\"moves\": [{\"start\": 1}]}".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> JsonConverter.getMoveList(file));
+        assertThrows(IOException.class, () -> JsonConverter.getNotationList(file));
+        String piece = "{\"allegiance\": \"W\", \"type\": \"P\", \"position\": 52, \"moved\": false}";
+        for (String members : new String[] {"\"start\": 52", "\"end\": 36"}) {
+            String json = "{\"moves\": [{\"piece\": " + piece + ", " + members + ", \"check\": false}]}";
+            Files.write(Paths.get(file), json.getBytes(StandardCharsets.UTF_8));
+            assertThrows(IOException.class, () -> JsonConverter.getMoveList(file));
+        }
+    }
+
+    @Test
+    public void testReadMissingPieceMembers() throws IOException {
+        String file = "./data/testReadMissingPieceMembers.json";
+        String[] pieces = {"{\"allegiance\": \"W\", \"type\": \"P\", \"moved\": false}",
+                "{\"allegiance\": \"W\", \"type\": \"P\", \"position\": 52}"};
+        for (String piece : pieces) {
+            String json = "{\"moves\": [{\"piece\": " + piece + ", \"start\": 52, \"end\": 36, \"check\": false}]}";
+            Files.write(Paths.get(file), json.getBytes(StandardCharsets.UTF_8));
+            assertThrows(IOException.class, () -> JsonConverter.getMoveList(file));
+        }
+        String piece = "{\"allegiance\": \"W\", \"type\": \"P\", \"position\": 52, \"moved\": false}";
+        String json = "{\"moves\": [{\"piece\": " + piece + ", \"start\": 52, \"end\": 36, \"check\": false, "
+                + "\"captured\": {\"allegiance\": \"B\", \"type\": \"N\", \"moved\": true}}]}";
+        Files.write(Paths.get(file), json.getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> JsonConverter.getMoveList(file));
+    }
+
+    @Test
+    public void testReadCutShort() throws IOException {
+        String file = "./data/testReadCutShort.json";
+        String piece = "{\"allegiance\": \"W\", \"type\": \"P\", \"position\": 52, \"moved\": false}";
+        String move = "{\"piece\": " + piece + ", \"start\": 52, \"end\": 36, \"check\": false, \"captured\": null}";
+        Files.write(Paths.get(file), ("{\"moves\": [" + move).getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> JsonConverter.getMoveList(file));
+        Files.write(Paths.get(file), ("{\"moves\": [" + move + "]}").getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, JsonConverter.getMoveList(file).getSize());
+        Files.write(Paths.get(file), "{\"notation\": [\"e4\", \"e5\"".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> JsonConverter.getNotationList(file));
+    }
+
     // make sure all fields on the move are equal, since you normally wouldn't need to do this
     private boolean moveEquals(Move x, Move y) {
         return x.getEnd() == y.getEnd() && x.getStart() == y.getStart() && x.isCheck()== y.isCheck()
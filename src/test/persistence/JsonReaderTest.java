@@ -0,0 +1,120 @@
+package persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonReaderTest {
+    private static JsonReader reader(String json) {
+        return new JsonReader(new StringReader(json));
+    }
+
+    @Test
+    public void testObject() throws IOException {
+        JsonReader reader = reader("{ \"name\" : \"value\", \"number\": -42, \"flag\": true, \"none\": null }");
+        reader.beginObject();
+        assertEquals("name", reader.nextName());
+        assertFalse(reader.nextNull());
+        assertEquals("value", reader.nextString());
+        assertEquals("number", reader.nextName());
+        assertEquals(-42, reader.nextInt());
+        assertEquals("flag", reader.nextName());
+        assertTrue(reader.nextBoolean());
+        assertEquals("none", reader.nextName());
+        assertTrue(reader.nextNull());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testArray() throws IOException {
+        JsonReader reader = reader("[1,2,\n\t3]");
+        reader.beginArray();
+        int sum = 0;
+        while (reader.hasNext()) {
+            sum += reader.nextInt();
+        }
+        reader.endArray();
+        assertEquals(6, sum);
+        reader = reader("[]");
+        reader.beginArray();
+        assertFalse(reader.hasNext());
+        reader.endArray();
+    }
+
+    @Test
+    public void testEscapes() throws IOException {
+        JsonReader reader = reader("[\"a\\\"b\\\\c\\/d\\n\\t\\u0041\"]");
+        reader.beginArray();
+        assertEquals("a\"b\\c/d\n\tA", reader.nextString());
+    }
+
+    @Test
+    public void testSkipValue() throws IOException {
+        JsonReader reader = reader("{\"skip\": {\"a\": [1, {\"b\": \"]}\"}, 2.5e3], \"c\": false}, \"keep\": 7}");
+        reader.beginObject();
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertEquals("keep", reader.nextName());
+        assertEquals(7, reader.nextInt());
+        reader.endObject();
+    }
+
+    @Test
+    public void testLongDocument() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 10000; i++) {
+            json.append(i).append(", ");
+        }
+        JsonReader reader = reader(json.append("\"end\"]").toString());
+        reader.beginArray();
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, reader.nextInt());
+        }
+        assertEquals("end", reader.nextString());
+        reader.endArray();
+    }
+
+    @Test
+    public void testIntegerLimits() throws IOException {
+        JsonReader reader = reader("[2147483647, -2147483648, 2147483648, 1.5]");
+        reader.beginArray();
+        assertEquals(Integer.MAX_VALUE, reader.nextInt());
+        assertEquals(Integer.MIN_VALUE, reader.nextInt());
+        assertThrows(IOException.class, reader::nextInt);
+        JsonReader decimal = reader("1.5");
+        assertThrows(IOException.class, decimal::nextInt);
+    }
+
+    @Test
+    public void testMalformed() {
+        assertThrows(IOException.class, () -> reader("[1]").beginObject());
+        assertThrows(IOException.class, () -> reader("\"open").nextString());
+        assertThrows(IOException.class, () -> reader("nope").nextBoolean());
+        assertThrows(IOException.class, () -> reader("nope").nextNull());
+        assertThrows(IOException.class, () -> reader("{\"a\": [1, 2").skipValue());
+        assertThrows(IOException.class, () -> reader("\"\\x\"").nextString());
+        assertThrows(IOException.class, () -> reader("").endArray());
+    }
+
+    @Test
+    public void testCutShort() throws IOException {
+        JsonReader reader = reader("{\"a\": [1, 2");
+        reader.beginObject();
+        assertTrue(reader.hasNext());
+        assertEquals("a", reader.nextName());
+        reader.beginArray();
+        assertEquals(1, reader.nextInt());
+        assertEquals(2, reader.nextInt());
+        assertThrows(IOException.class, reader::hasNext);
+        JsonReader complete = reader("[]");
+        complete.beginArray();
+        assertFalse(complete.hasNext());
+        complete.endArray();
+        assertFalse(complete.hasNext());
+    }
+}
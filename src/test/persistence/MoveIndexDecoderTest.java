@@ -0,0 +1,53 @@
+package persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static persistence.MoveIndexEncoderTest.encode;
+import static persistence.MoveIndexEncoderTest.randomGame;
+
+public class MoveIndexDecoderTest {
+    @Test
+    public void testNoGames() throws IOException {
+        MoveIndexDecoder decoder = new MoveIndexDecoder(new ByteArrayInputStream(encode(new ArrayList<>())));
+        assertNull(decoder.readMoves());
+        assertNull(decoder.readMoves());
+        decoder.close();
+    }
+
+    @Test
+    public void testBadHeader() throws IOException {
+        byte[] bytes = encode(new ArrayList<>());
+        bytes[0]++;
+        assertThrows(IOException.class, () -> new MoveIndexDecoder(new ByteArrayInputStream(bytes)));
+        bytes[0]--;
+        bytes[5]++;
+        assertThrows(IOException.class, () -> new MoveIndexDecoder(new ByteArrayInputStream(bytes)));
+        assertThrows(IOException.class, () -> new MoveIndexDecoder(new ByteArrayInputStream(new byte[2])));
+    }
+
+    @Test
+    public void testCutShort() throws IOException {
+        Random random = new Random(4);
+        List<int[]> games = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            games.add(randomGame(random, 100));
+        }
+        byte[] bytes = encode(games);
+        MoveIndexDecoder decoder = new MoveIndexDecoder(new ByteArrayInputStream(Arrays.copyOf(bytes,
+                bytes.length / 2)));
+        assertArrayEquals(games.get(0), decoder.readMoves());
+        assertThrows(IOException.class, () -> {
+            for (int i = 1; i < games.size(); i++) {
+                assertArrayEquals(games.get(i), decoder.readMoves());
+            }
+        });
+    }
+}
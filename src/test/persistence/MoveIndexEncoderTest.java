@@ -0,0 +1,119 @@
+package persistence;
+
+import model.GameBoard;
+import model.MoveGenerator;
+import model.MoveList;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static persistence.BinaryConverterTest.play;
+
+public class MoveIndexEncoderTest {
+    // EFFECTS: returns the moves of a game of at most plies plies where each move is picked at random by random from
+    // the legal moves, encoded as by MoveGenerator
+    static int[] randomGame(Random random, int plies) {
+        GameBoard board = new GameBoard();
+        int[] legal = new int[MoveGenerator.MAX_MOVES];
+        List<Integer> moves = new ArrayList<>();
+        for (int count = MoveGenerator.generate(board, legal); count > 0 && moves.size() < plies;
+                count = MoveGenerator.generate(board, legal)) {
+            moves.add(legal[random.nextInt(count)]);
+            board.makeMove(moves.get(moves.size() - 1));
+        }
+        return moves.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // EFFECTS: returns games written with a MoveIndexEncoder
+    static byte[] encode(List<int[]> games) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MoveIndexEncoder encoder = new MoveIndexEncoder(out)) {
+            for (int[] game : games) {
+                encoder.writeMoves(game);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random random = new Random(1);
+        List<int[]> games = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            games.add(randomGame(random, random.nextInt(300)));
+        }
+        games.add(new int[0]);
+        MoveIndexDecoder decoder = new MoveIndexDecoder(new ByteArrayInputStream(encode(games)));
+        for (int[] game : games) {
+            assertArrayEquals(game, decoder.readMoves());
+        }
+        assertNull(decoder.readMoves());
+        assertNull(decoder.readGame());
+    }
+
+    @Test
+    public void testEventLogDoesNotGrow() throws IOException {
+        Random random = new Random(6);
+        List<int[]> games = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            games.add(randomGame(random, 20));
+        }
+        int events = PgnReaderTest.countEvents();
+        MoveIndexDecoder decoder = new MoveIndexDecoder(new ByteArrayInputStream(encode(games)));
+        while (decoder.readMoves() != null) {
+            assertEquals(events, PgnReaderTest.countEvents());
+        }
+        assertEquals(events, PgnReaderTest.countEvents());
+    }
+
+    @Test
+    public void testMoveLists() throws IOException {
+        MoveList mate = play(53, 45, 12, 28, 54, 38, 3, 39);  // fool's mate
+        mate.wasCheckmate();
+        MoveList promotion = play(49, 33, 14, 30, 33, 25, 30, 38, 25, 17, 38, 46, 17, 8, 46, 55, 8, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MoveIndexEncoder encoder = new MoveIndexEncoder(out)) {
+            encoder.writeGame(mate);
+            encoder.writeGame(promotion);
+        }
+        MoveIndexDecoder decoder = new MoveIndexDecoder(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(mate.getNotationList(), decoder.readGame().getNotationList());
+        assertEquals(promotion.getNotationList(), decoder.readGame().getNotationList());
+        assertNull(decoder.readGame());
+    }
+
+    @Test
+    public void testBitsPerMove() throws IOException {
+        Random random = new Random(2);
+        List<int[]> games = new ArrayList<>();
+        int plies = 0;
+        for (int i = 0; i < 500; i++) {
+            games.add(randomGame(random, 100));
+            plies += games.get(i).length;
+        }
+        double bits = 8.0 * encode(games).length / plies;
+        assertTrue(bits > 4 && bits < 6, bits + " bits per move");
+    }
+
+    @Test
+    public void testRepeatedGamesAreLearned() throws IOException {
+        int[] game = randomGame(new Random(3), 16);
+        List<int[]> games = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            games.add(game);
+        }
+        assertTrue(encode(games).length * 8.0 / (1000 * 16) < 0.5);
+    }
+
+    @Test
+    public void testIllegalMove() {
+        int[] moves = {MoveGenerator.encode(52, 28, 0)};  // e2e5
+        assertThrows(IOException.class, () -> encode(List.of(moves)));
+    }
+}
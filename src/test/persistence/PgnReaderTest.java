@@ -0,0 +1,158 @@
+package persistence;
+
+import model.AlgebraicNotation;
+import model.Event;
+import model.EventLog;
+import model.GameBoard;
+import model.MoveGenerator;
+import model.MoveList;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PgnReaderTest {
+    private static final String GAMES = "[Event \"Club \\\"Open\\\" 2023\"]\n"
+            + "[White \"Anna\"]\n[Black \"Bo\"]\n[Result \"0-1\"]\n\n"
+            + "1. f3 {weak} e5 2.g4?? (2. e4 Qh4+ (2... Nc6) 3. g3) 2... Qh4# $4 0-1\n\n"
+            + "[Event \"Bad\"]\n\n1. e4 e5 2. Ke3 Nc6 1-0\n\n"
+            + "[Event \"Endgame\"]\n[SetUp \"1\"]\n[FEN \"4k3/8/8/8/8/8/4K3/R6R w - - 0 40\"]\n\n"
+            + "40. Rhd1 Ke7 ; rook to the d-file\n41. Ra7+ Ke6 *\n"
+            + "[Event \"No result\"]\n1. Nf3 Nf6 2. g3\n"
+            + "[Event \"Last\"]\n1.e4 c5 2.Nf3 d6 3.d4 cxd4 4.Nxd4 Nf6 5.Nc3 a6 1/2-1/2\n";
+
+    // EFFECTS: returns the number of events in the event log
+    static int countEvents() {
+        int count = 0;
+        for (Event event : EventLog.getInstance()) {
+            count++;
+        }
+        return count;
+    }
+
+    // EFFECTS: returns a reader of text, written to file first
+    private static PgnReader reader(String file, String text) throws IOException {
+        Files.write(Paths.get(file), text.getBytes(StandardCharsets.UTF_8));
+        return PgnReader.open(file);
+    }
+
+    @Test
+    public void testReadGames() throws IOException {
+        try (PgnReader reader = reader("./data/testPgnReader.pgn", GAMES)) {
+            MoveList game = reader.next();
+            assertEquals(Arrays.asList("f3", "e5", "g4", "Qh4#"), game.getNotationList());
+            assertEquals("Club \"Open\" 2023", reader.getTags().get("Event"));
+            assertEquals(Arrays.asList("Event", "White", "Black", "Result"), List.copyOf(reader.getTags().keySet()));
+            game = reader.next();
+            assertEquals(Arrays.asList("Rd1", "Ke7", "Ra7+", "Ke6"), game.getNotationList());
+            assertEquals("Endgame", reader.getTags().get("Event"));
+            assertEquals(1, reader.getSkippedGames());
+            assertEquals(Arrays.asList("Nf3", "Nf6", "g3"), reader.next().getNotationList());
+            assertEquals(10, reader.next().getSize());
+            assertEquals("Last", reader.getTags().get("Event"));
+            assertFalse(reader.hasNext());
+            assertThrows(NoSuchElementException.class, reader::next);
+        }
+    }
+
+    @Test
+    public void testSeparateGlyphs() throws IOException {
+        String text = "[Event \"Glyphs\"]\n\n1. e4 ! e5 ?! 2. Nf3 !! Nc6 ?? 3. Bb5 !? $1 a6 ? *\n";
+        try (PgnReader reader = reader("./data/testPgnGlyphs.pgn", text)) {
+            assertEquals(Arrays.asList("e4", "e5", "Nf3", "Nc6", "Bb5", "a6"), reader.next().getNotationList());
+            assertEquals(0, reader.getSkippedGames());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    public void testCommentAfterResult() throws IOException {
+        String text = "[Event \"First\"]\n\n1. e4 e5 1-0 {won on time}\n\n[Event \"Second\"]\n\n1. d4 *\n"
+                + "{annotated by the club} ; last line\n";
+        try (PgnReader reader = reader("./data/testPgnTrailingComment.pgn", text)) {
+            List<Integer> sizes = reader.stream().map(MoveList::getSize).collect(Collectors.toList());
+            assertEquals(Arrays.asList(2, 1), sizes);
+            assertEquals("Second", reader.getTags().get("Event"));
+            assertEquals(0, reader.getSkippedGames());
+        }
+    }
+
+    @Test
+    public void testStream() throws IOException {
+        try (PgnReader reader = reader("./data/testPgnStream.pgn", GAMES)) {
+            List<Integer> sizes = reader.stream().map(MoveList::getSize).collect(Collectors.toList());
+            assertEquals(Arrays.asList(4, 4, 3, 10), sizes);
+        }
+    }
+
+    @Test
+    public void testManyGames() throws IOException {
+        Random random = new Random(5);
+        StringBuilder text = new StringBuilder();
+        int[][] games = new int[300][];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = MoveIndexEncoderTest.randomGame(random, random.nextInt(200));
+            text.append("[Event \"Game ").append(i).append("\"]\n\n").append(movetext(games[i])).append(" *\n\n");
+        }
+        assertTrue(text.length() > 2 * 65536);  // more than the buffer of the reader
+        try (PgnReader reader = reader("./data/testPgnMany.pgn", text.toString())) {
+            for (int[] game : games) {
+                MoveList expected = BinaryConverter.toMoveList(game);
+                assertEquals(expected.getNotationList(), reader.next().getNotationList());
+            }
+            assertFalse(reader.hasNext());
+            assertEquals(0, reader.getSkippedGames());
+        }
+    }
+
+    @Test
+    public void testEventLogDoesNotGrow() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append(GAMES);
+        }
+        int events = countEvents();
+        try (PgnReader reader = reader("./data/testPgnEvents.pgn", text.toString())) {
+            assertEquals(800, reader.stream().count());
+        }
+        assertEquals(events, countEvents());
+    }
+
+    @Test
+    public void testEmptyAndMissing() throws IOException {
+        try (PgnReader reader = reader("./data/testPgnEmpty.pgn", "\n  \n")) {
+            assertFalse(reader.hasNext());
+        }
+        try (PgnReader reader = reader("./data/testPgnBadFen.pgn", "[FEN \"8/8 w\"]\n1. e4 *\n[Event \"x\"]\n*")) {
+            assertEquals(0, reader.next().getSize());
+            assertEquals("x", reader.getTags().get("Event"));
+            assertEquals(1, reader.getSkippedGames());
+        }
+        assertThrows(IOException.class, () -> PgnReader.open("./data/no/such/file.pgn"));
+        PgnReader closed = reader("./data/testPgnClosed.pgn", GAMES);
+        closed.close();
+        assertThrows(UncheckedIOException.class, closed::hasNext);
+    }
+
+    // EFFECTS: returns the moves of game, played from the starting position, as PGN movetext
+    private static String movetext(int[] game) {
+        GameBoard board = new GameBoard();
+        StringBuilder text = new StringBuilder();
+        for (int ply = 0; ply < game.length; ply++) {
+            text.append(ply % 2 == 0 ? (ply / 2 + 1) + ". " : "");
+            text.append(AlgebraicNotation.toSan(board, game[ply])).append(ply % 10 == 9 ? "\n" : " ");
+            board.makeMove(game[ply]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RangeEncoderTest {
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random random = new Random(7);
+        int[] totals = new int[10000];
+        int[] cumulatives = new int[totals.length];
+        int[] frequencies = new int[totals.length];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RangeEncoder encoder = new RangeEncoder(out);
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = 1 + random.nextInt((int) RangeEncoder.BOTTOM - 1);
+            cumulatives[i] = random.nextInt(totals[i]);
+            frequencies[i] = 1 + random.nextInt(totals[i] - cumulatives[i]);
+            encoder.encode(cumulatives[i], frequencies[i], totals[i]);
+        }
+        encoder.finish();
+        RangeDecoder decoder = new RangeDecoder(new ByteArrayInputStream(out.toByteArray()));
+        for (int i = 0; i < totals.length; i++) {
+            int threshold = decoder.threshold(totals[i]);
+            assertTrue(threshold >= cumulatives[i] && threshold < cumulatives[i] + frequencies[i]);
+            decoder.consume(cumulatives[i], frequencies[i]);
+        }
+    }
+
+    @Test
+    public void testSkewedSymbolsAreSmall() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RangeEncoder encoder = new RangeEncoder(out);
+        for (int i = 0; i < 8000; i++) {
+            encoder.encode(0, 1000, 1001);  // about 1/700 of a bit each
+        }
+        encoder.finish();
+        assertTrue(out.size() < 20);
+    }
+
+    @Test
+    public void testCutShort() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RangeEncoder encoder = new RangeEncoder(out);
+        for (int i = 0; i < 100; i++) {
+            encoder.encode(i, 1, 256);
+        }
+        encoder.finish();
+        byte[] bytes = out.toByteArray();
+        RangeDecoder decoder = new RangeDecoder(new ByteArrayInputStream(bytes, 0, bytes.length / 2));
+        assertThrows(IOException.class, () -> {
+            for (int i = 0; i < 100; i++) {
+                decoder.threshold(256);
+                decoder.consume(i, 1);
+            }
+        });
+        assertThrows(IOException.class, () -> new RangeDecoder(new ByteArrayInputStream(new byte[3])));
+    }
+}
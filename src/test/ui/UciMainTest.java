@@ -0,0 +1,218 @@
+package ui;
+
+import model.Event;
+import model.EventLog;
+import model.GameBoard;
+import model.MoveGenerator;
+import model.exceptions.InvalidFenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UciMainTest {
+    private static final long TIMEOUT = 20000;  // milliseconds to wait for an answer before failing
+
+    private PrintStream input;
+    private ByteArrayOutputStream output;
+    private Thread engine;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        PipedOutputStream commands = new PipedOutputStream();
+        PipedInputStream in = new PipedInputStream(commands);
+        input = new PrintStream(commands, true, "UTF-8");
+        output = new ByteArrayOutputStream();
+        UciMain uci = new UciMain(in, new PrintStream(output, true, "UTF-8"));
+        engine = new Thread(uci::run, "uci");
+        engine.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        input.println("quit");
+        engine.join(TIMEOUT);
+        assertFalse(engine.isAlive());
+    }
+
+    @Test
+    public void testHandshake() throws InterruptedException {
+        send("uci");
+        List<String> lines = await("uciok");
+        assertTrue(lines.contains("id name ChessBoard"));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("option name Hash type spin")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("option name Threads type spin")));
+        send("isready");
+        assertEquals("readyok", last(await("readyok")));
+    }
+
+    @Test
+    public void testStartposMoves() throws InterruptedException {
+        send("position startpos moves e2e4 e7e5");
+        send("go depth 3");
+        List<String> lines = await("bestmove");
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("info depth 3 ")));
+        assertTrue(legalMoves(playedFromStart("e2e4", "e7e5")).contains(bestMove(lines)));
+    }
+
+    @Test
+    public void testIllegalMoveKeepsPosition() throws InterruptedException, InvalidFenException {
+        String fen = "k7/8/8/8/8/8/8/K7 w - - 0 1";
+        send("position fen " + fen + " moves a1a3");
+        send("isready");
+        assertTrue(await("readyok").contains("info string illegal move a1a3"));
+        send("position fen not a position");
+        send("go depth 2");
+        List<String> lines = await("bestmove");
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("info string ") && !line.contains("illegal")));
+        assertTrue(legalMoves(GameBoard.fromFen(fen)).contains(bestMove(lines)));
+    }
+
+    @Test
+    public void testGoInfinite() throws InterruptedException {
+        send("position startpos");
+        send("go infinite");
+        await("info depth 2 ");
+        Thread.sleep(200);
+        assertFalse(output().contains("bestmove"));
+        send("stop");
+        assertTrue(legalMoves(playedFromStart()).contains(bestMove(await("bestmove"))));
+    }
+
+    @Test
+    public void testSetOptionOutOfRange() throws InterruptedException {
+        send("setoption name Hash value 0");
+        send("setoption name Hash value -5");
+        send("setoption name Threads value 0");
+        send("setoption name Threads value 1000");
+        send("setoption name Threads value many");
+        send("setoption name Contempt value 10");
+        send("isready");
+        List<String> lines = await("readyok");
+        assertTrue(lines.contains("info string expected setoption name <name> value <number>"));
+        assertTrue(lines.contains("info string unknown option Contempt"));
+        assertEquals(3, lines.size());
+        send("position startpos");
+        send("go depth 2");
+        assertTrue(legalMoves(playedFromStart()).contains(bestMove(await("bestmove"))));
+    }
+
+    @Test
+    public void testClock() throws InterruptedException {
+        send("position startpos moves e2e4");
+        send("isready");
+        await("readyok");
+        long start = System.currentTimeMillis();
+        send("go wtime 1000 btime 1000 winc 0 binc 0");
+        List<String> lines = await("bestmove");
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertTrue(legalMoves(playedFromStart("e2e4")).contains(bestMove(lines)));
+    }
+
+    @Test
+    public void testEventLogDoesNotGrow() throws InterruptedException {
+        send("isready");
+        await("readyok");
+        int events = countEvents();
+        for (int i = 0; i < 100; i++) {
+            send("position startpos moves e2e4 e7e5 g1f3");
+            send("position fen k7/8/8/8/8/8/8/K7 w - - 0 1 moves a1a2");
+        }
+        send("go depth 1");
+        await("bestmove");
+        assertEquals(events, countEvents());
+    }
+
+    // EFFECTS: sends command to the engine
+    private void send(String command) {
+        input.println(command);
+    }
+
+    // EFFECTS: returns the lines the engine has sent so far
+    private String output() {
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    // EFFECTS: waits until the engine has sent a line that starts with prefix and returns the lines sent so far;
+    // fails if that takes longer than TIMEOUT
+    private List<String> await(String prefix) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (System.currentTimeMillis() < deadline) {
+            List<String> lines = new ArrayList<>(Arrays.asList(output().split("\\R")));
+            lines.remove("");
+            if (lines.stream().anyMatch(line -> line.startsWith(prefix))) {
+                return lines;
+            }
+            Thread.sleep(5);
+        }
+        return fail("no " + prefix + " within " + TIMEOUT + " ms");
+    }
+
+    // EFFECTS: returns the move of the last bestmove line in lines
+    private static String bestMove(List<String> lines) {
+        String result = null;
+        for (String line : lines) {
+            if (line.startsWith("bestmove ")) {
+                result = line.split(" ")[1];
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the number of events in the event log
+    private static int countEvents() {
+        int count = 0;
+        for (Event event : EventLog.getInstance()) {
+            count++;
+        }
+        return count;
+    }
+
+    // EFFECTS: returns the last of lines
+    private static String last(List<String> lines) {
+        return lines.get(lines.size() - 1);
+    }
+
+    // EFFECTS: returns the board after moves, written in coordinate notation, are played from the starting position
+    private static GameBoard playedFromStart(String... moves) {
+        GameBoard board = GameBoard.startingPosition();
+        for (String move : moves) {
+            board.makeMove(encoded(board, move));
+        }
+        return board;
+    }
+
+    // EFFECTS: returns the legal move of board written as move in coordinate notation
+    private static int encoded(GameBoard board, String move) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generate(board, moves);
+        for (int i = 0; i < count; i++) {
+            if (MoveGenerator.toCoordinateNotation(moves[i]).equals(move)) {
+                return moves[i];
+            }
+        }
+        return fail("not a legal move: " + move);
+    }
+
+    // EFFECTS: returns the legal moves of board in coordinate notation
+    private static List<String> legalMoves(GameBoard board) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generate(board, moves);
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(MoveGenerator.toCoordinateNotation(moves[i]));
+        }
+        return result;
+    }
+}